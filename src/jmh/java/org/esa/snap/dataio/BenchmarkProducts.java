@@ -0,0 +1,120 @@
+/*
+ * Copyright (C) 2026 Brockmann Consult GmbH (info@brockmann-consult.de)
+ *
+ * This program is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option)
+ * any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License for
+ * more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, see http://www.gnu.org/licenses/
+ */
+package org.esa.snap.dataio;
+
+import org.esa.snap.core.dataio.DecodeQualification;
+import org.esa.snap.core.dataio.ProductReaderPlugIn;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Predicate;
+import java.util.logging.Logger;
+
+/**
+ * Access to the test products and reader plugins of the acceptance tests for the benchmarks. Each benchmark JVM
+ * only loads the {@link ReaderTestDefinitions}, configured by the same {@code snap.reader.tests.*} properties as for
+ * the acceptance tests, without their flight recording, reports and stores.
+ */
+class BenchmarkProducts {
+
+    private static final char PAIR_SEPARATOR = ':';
+
+    private static ReaderTestDefinitions definitions;
+
+    private BenchmarkProducts() {
+    }
+
+    static synchronized void initialize() throws Exception {
+        if (definitions != null) {
+            return;
+        }
+        ReaderTestDefinitions.initReaderLibraries();
+        final ReaderTestDefinitions loaded = ReaderTestDefinitions.load(Logger.getLogger(BenchmarkProducts.class.getSimpleName()));
+        if (loaded.getTestProductList().size() == 0) {
+            throw new IllegalStateException("No test products defined, check the properties " +
+                                            ReaderTestDefinitions.PROPERTYNAME_DATA_DIR + " and " +
+                                            ReaderTestDefinitions.PROPERTYNAME_CASS_NAME);
+        }
+        definitions = loaded;
+    }
+
+    /**
+     * @return the plugin and product pairs of the test definitions, each given as
+     * {@code <plugin class name>:<product id>}, for which the product is selected and available
+     */
+    static List<String> getPluginProductPairs() {
+        return getPluginProductPairs(decodeQualification -> true);
+    }
+
+    /**
+     * @return the pairs of the available products and the plugins which are their intended readers
+     */
+    static List<String> getIntendedPluginProductPairs() {
+        return getPluginProductPairs(decodeQualification -> decodeQualification == DecodeQualification.INTENDED);
+    }
+
+    private static List<String> getPluginProductPairs(Predicate<DecodeQualification> expectedQualification) {
+        final List<String> pairs = new ArrayList<>();
+        for (TestDefinition testDefinition : definitions.getTestDefinitionList()) {
+            final String pluginClassName = testDefinition.getProductReaderPlugin().getClass().getName();
+            for (ExpectedDataset expectedDataset : testDefinition.getExpectedDatasets()) {
+                if (expectedQualification.test(expectedDataset.getDecodeQualification()) &&
+                    isAvailable(definitions.getTestProductList().getById(expectedDataset.getId()))) {
+                    pairs.add(pluginClassName + PAIR_SEPARATOR + expectedDataset.getId());
+                }
+            }
+        }
+        return pairs;
+    }
+
+    static String getPluginClassName(String pair) {
+        return pair.substring(0, getSeparatorIndex(pair));
+    }
+
+    static String getProductId(String pair) {
+        return pair.substring(getSeparatorIndex(pair) + 1);
+    }
+
+    private static int getSeparatorIndex(String pair) {
+        final int separatorIndex = pair.indexOf(PAIR_SEPARATOR);
+        if (separatorIndex < 0) {
+            throw new IllegalArgumentException("Expected <plugin class name>:<product id> but got '" + pair + "'");
+        }
+        return separatorIndex;
+    }
+
+    static ProductReaderPlugIn getPlugin(String pluginClassName) {
+        for (TestDefinition testDefinition : definitions.getTestDefinitionList()) {
+            if (testDefinition.getProductReaderPlugin().getClass().getName().equals(pluginClassName)) {
+                return testDefinition.getProductReaderPlugin();
+            }
+        }
+        throw new IllegalArgumentException("No test definition for reader plugin " + pluginClassName);
+    }
+
+    static File getProductFile(String productId) {
+        final TestProduct testProduct = definitions.getTestProductList().getById(productId);
+        if (!isAvailable(testProduct)) {
+            throw new IllegalArgumentException("Test product " + productId + " is not available");
+        }
+        return definitions.resolveTestProductFile(testProduct);
+    }
+
+    private static boolean isAvailable(TestProduct testProduct) {
+        return testProduct != null && testProduct.isSelected() && testProduct.exists() && testProduct.isEnabled();
+    }
+}
@@ -0,0 +1,72 @@
+/*
+ * Copyright (C) 2026 Brockmann Consult GmbH (info@brockmann-consult.de)
+ *
+ * This program is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option)
+ * any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License for
+ * more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, see http://www.gnu.org/licenses/
+ */
+package org.esa.snap.dataio;
+
+import org.esa.snap.core.dataio.DecodeQualification;
+import org.esa.snap.core.dataio.ProductReaderPlugIn;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.File;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time of {@link ProductReaderPlugIn#getDecodeQualification(Object)} for each plugin and product pair of the test
+ * definitions, with the product given as {@link File} and as {@link java.nio.file.Path}. The pairs are set by
+ * {@link ReaderBenchmarks}. Repeated calls are served from the file system cache, so the benchmark measures the
+ * sniffing logic of the plugin rather than the disk.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DecodeQualificationBenchmark {
+
+    static final String PARAM_PLUGIN_AND_PRODUCT = "pluginAndProduct";
+
+    @Param({})
+    public String pluginAndProduct;
+
+    @Param({"File", "Path"})
+    public String input;
+
+    private ProductReaderPlugIn productReaderPlugin;
+    private Object productInput;
+
+    @Setup
+    public void setUp() throws Exception {
+        BenchmarkProducts.initialize();
+        productReaderPlugin = BenchmarkProducts.getPlugin(BenchmarkProducts.getPluginClassName(pluginAndProduct));
+        final File productFile = BenchmarkProducts.getProductFile(BenchmarkProducts.getProductId(pluginAndProduct));
+        productInput = "Path".equals(input) ? productFile.toPath() : productFile;
+    }
+
+    @Benchmark
+    public DecodeQualification getDecodeQualification() {
+        return productReaderPlugin.getDecodeQualification(productInput);
+    }
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright (C) 2026 Brockmann Consult GmbH (info@brockmann-consult.de)
+ *
+ * This program is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option)
+ * any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License for
+ * more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, see http://www.gnu.org/licenses/
+ */
+package org.esa.snap.dataio;
+
+import org.esa.snap.core.dataio.ProductReader;
+import org.esa.snap.core.dataio.ProductReaderPlugIn;
+import org.esa.snap.core.datamodel.Product;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time to open a product with a new reader instance of its intended plugin and to dispose it again. The cold mode
+ * measures the first open in each freshly forked JVM, including class loading and interpretation of the reader
+ * code. The warm mode measures the steady state after the JIT compiler has warmed up, which is the actual parsing
+ * cost. Only the classes of the plugins are loaded before the first open, as the test definitions are initialised.
+ */
+@State(Scope.Benchmark)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ReadProductNodesBenchmark {
+
+    static final String PARAM_INTENDED_PLUGIN_AND_PRODUCT = "intendedPluginAndProduct";
+
+    @Param({})
+    public String intendedPluginAndProduct;
+
+    private ProductReaderPlugIn productReaderPlugin;
+    private File productFile;
+
+    @Setup
+    public void setUp() throws Exception {
+        BenchmarkProducts.initialize();
+        productReaderPlugin = BenchmarkProducts.getPlugin(BenchmarkProducts.getPluginClassName(intendedPluginAndProduct));
+        productFile = BenchmarkProducts.getProductFile(BenchmarkProducts.getProductId(intendedPluginAndProduct));
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @Warmup(iterations = 0)
+    @Measurement(iterations = 1)
+    @Fork(5)
+    public int cold() throws IOException {
+        return openAndDispose();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @Warmup(iterations = 5, time = 2)
+    @Measurement(iterations = 5, time = 2)
+    @Fork(1)
+    public int warm() throws IOException {
+        return openAndDispose();
+    }
+
+    private int openAndDispose() throws IOException {
+        final ProductReader productReader = productReaderPlugin.createReaderInstance();
+        final Product product = productReader.readProductNodes(productFile, null);
+        try {
+            return product.getNumBands();
+        } finally {
+            product.dispose();
+        }
+    }
+}
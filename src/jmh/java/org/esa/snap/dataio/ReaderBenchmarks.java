@@ -0,0 +1,61 @@
+/*
+ * Copyright (C) 2026 Brockmann Consult GmbH (info@brockmann-consult.de)
+ *
+ * This program is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option)
+ * any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License for
+ * more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, see http://www.gnu.org/licenses/
+ */
+package org.esa.snap.dataio;
+
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.List;
+
+/**
+ * Runs the reader benchmarks with JMH. The arguments are the usual JMH command line options, e.g.
+ * {@code -rf json -rff result.json DecodeQualification}. The parameters naming the test products are filled in from
+ * the test definitions, unless given on the command line, e.g. {@code -p pluginAndProduct=<plugin>:<product id>}.
+ * The forked benchmark JVMs inherit the JVM options of this launcher, including the {@code snap.reader.tests.*}
+ * properties which select the products.
+ * <p>
+ * Started by {@code mvn verify -Pbenchmarks}.
+ */
+public class ReaderBenchmarks {
+
+    public static void main(String[] args) throws Exception {
+        final CommandLineOptions commandLineOptions = new CommandLineOptions(args);
+        BenchmarkProducts.initialize();
+
+        final ChainedOptionsBuilder options = new OptionsBuilder().parent(commandLineOptions);
+        if (!commandLineOptions.getParameter(DecodeQualificationBenchmark.PARAM_PLUGIN_AND_PRODUCT).hasValue()) {
+            final List<String> pluginProductPairs = BenchmarkProducts.getPluginProductPairs();
+            if (pluginProductPairs.isEmpty()) {
+                System.err.println("No test products available for benchmarking");
+                System.exit(1);
+            }
+            options.param(DecodeQualificationBenchmark.PARAM_PLUGIN_AND_PRODUCT, pluginProductPairs.toArray(new String[0]));
+        }
+        if (!commandLineOptions.getParameter(ReadProductNodesBenchmark.PARAM_INTENDED_PLUGIN_AND_PRODUCT).hasValue()) {
+            final List<String> intendedPluginProductPairs = BenchmarkProducts.getIntendedPluginProductPairs();
+            if (intendedPluginProductPairs.isEmpty()) {
+                System.err.println("No test products available for which a reader plugin is intended");
+                System.exit(1);
+            }
+            options.param(ReadProductNodesBenchmark.PARAM_INTENDED_PLUGIN_AND_PRODUCT,
+                          intendedPluginProductPairs.toArray(new String[0]));
+        }
+        new Runner(options.build()).run();
+        System.exit(0);
+    }
+}
@@ -0,0 +1,178 @@
+/*
+ * Copyright (C) 2026 Brockmann Consult GmbH (info@brockmann-consult.de)
+ *
+ * This program is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option)
+ * any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License for
+ * more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, see http://www.gnu.org/licenses/
+ */
+package org.esa.snap.dataio;
+
+import org.esa.snap.core.dataio.ProductReaderPlugIn;
+import org.esa.snap.core.dataio.ProductSubsetDef;
+import org.esa.snap.core.datamodel.Band;
+import org.esa.snap.core.datamodel.Product;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time to open a product with a spatial or band subset and to fetch all pixels of the subset at full resolution.
+ * Compared with the full product, it shows which readers only decode the requested region and bands and which
+ * decode the whole scene anyway. The subsets are
+ * <ul>
+ * <li>{@code corner} and {@code centre}: a region of {@value #REGION_SIZE} x {@value #REGION_SIZE} pixels at the
+ * upper left corner and in the centre of the scene</li>
+ * <li>{@code area1} and {@code area10}: a region in the centre covering 1% and 10% of the scene</li>
+ * <li>{@code singleBand}: the first band of the whole scene</li>
+ * </ul>
+ * Each read uses a new reader instance of the intended plugin, so no tile is served from the tile cache. Virtual and
+ * filter bands are not fetched, as their pixels are computed rather than decoded. The bands of multi-size products
+ * have no common region, so the spatial subsets fail for them in the setup.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 10)
+@Fork(1)
+public class SubsetReadBenchmark {
+
+    static final String SUBSET_FULL = "full";
+    static final String SUBSET_CORNER = "corner";
+    static final String SUBSET_CENTRE = "centre";
+    static final String SUBSET_AREA_1 = "area1";
+    static final String SUBSET_AREA_10 = "area10";
+    static final String SUBSET_SINGLE_BAND = "singleBand";
+    static final int REGION_SIZE = 1000;
+
+    @Param({})
+    public String intendedPluginAndProduct;
+
+    @Param({SUBSET_FULL, SUBSET_CORNER, SUBSET_CENTRE, SUBSET_AREA_1, SUBSET_AREA_10, SUBSET_SINGLE_BAND})
+    public String subset;
+
+    private ProductReaderPlugIn productReaderPlugin;
+    private File productFile;
+    private ProductSubsetDef subsetDef;
+
+    @Setup
+    public void setUp() throws Exception {
+        BenchmarkProducts.initialize();
+        productReaderPlugin = BenchmarkProducts.getPlugin(BenchmarkProducts.getPluginClassName(intendedPluginAndProduct));
+        productFile = BenchmarkProducts.getProductFile(BenchmarkProducts.getProductId(intendedPluginAndProduct));
+        final Product product = productReaderPlugin.createReaderInstance().readProductNodes(productFile, null);
+        try {
+            if (product.isMultiSize() && isSpatialSubset(subset)) {
+                throw new IllegalStateException("Subset '" + subset + "' is not supported for the multi-size product " +
+                                                BenchmarkProducts.getProductId(intendedPluginAndProduct) +
+                                                ", its bands have no common region");
+            }
+            final String firstBandName = product.getNumBands() > 0 ? product.getBandAt(0).getName() : null;
+            subsetDef = createSubsetDef(subset, product.getSceneRasterWidth(), product.getSceneRasterHeight(), firstBandName);
+        } finally {
+            product.dispose();
+        }
+    }
+
+    private static boolean isSpatialSubset(String subset) {
+        return !SUBSET_FULL.equals(subset) && !SUBSET_SINGLE_BAND.equals(subset);
+    }
+
+    /**
+     * @return the subset of the given name or {@code null} for the full product
+     */
+    static ProductSubsetDef createSubsetDef(String subset, int width, int height, String firstBandName) {
+        final ProductSubsetDef subsetDef = new ProductSubsetDef();
+        switch (subset) {
+            case SUBSET_FULL:
+                return null;
+            case SUBSET_CORNER:
+                subsetDef.setRegion(SubsetRegions.corner(width, height, REGION_SIZE));
+                break;
+            case SUBSET_CENTRE:
+                subsetDef.setRegion(SubsetRegions.centre(width, height, REGION_SIZE));
+                break;
+            case SUBSET_AREA_1:
+                subsetDef.setRegion(SubsetRegions.area(width, height, 0.01));
+                break;
+            case SUBSET_AREA_10:
+                subsetDef.setRegion(SubsetRegions.area(width, height, 0.1));
+                break;
+            case SUBSET_SINGLE_BAND:
+                if (firstBandName == null) {
+                    throw new IllegalArgumentException("Product has no band");
+                }
+                subsetDef.setNodeNames(new String[]{firstBandName});
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown subset '" + subset + "'");
+        }
+        return subsetDef;
+    }
+
+    private Product openSubset() throws IOException {
+        return productReaderPlugin.createReaderInstance().readProductNodes(productFile, subsetDef);
+    }
+
+    @Benchmark
+    public int readProductNodes() throws IOException {
+        final Product product = openSubset();
+        try {
+            return product.getNumBands();
+        } finally {
+            product.dispose();
+        }
+    }
+
+    @Benchmark
+    public long readPixels(OpenedSubset openedSubset) {
+        long bytes = 0;
+        for (Band band : openedSubset.product.getBands()) {
+            if (RasterThroughput.isReadByReader(band)) {
+                bytes += RasterThroughput.read(band.getSourceImage()).getBytes();
+            }
+        }
+        return bytes;
+    }
+
+    /**
+     * The subset opened before each pixel read, so only fetching the pixels is timed.
+     */
+    @State(Scope.Thread)
+    public static class OpenedSubset {
+
+        private Product product;
+
+        @Setup(Level.Invocation)
+        public void open(SubsetReadBenchmark benchmark) throws IOException {
+            product = benchmark.openSubset();
+        }
+
+        @TearDown(Level.Invocation)
+        public void dispose() {
+            product.dispose();
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package org.esa.snap.dataio;
 
 
+import org.esa.snap.core.dataio.ProductReader;
 import org.esa.snap.core.datamodel.Band;
 import org.esa.snap.core.datamodel.FlagCoding;
 import org.esa.snap.core.datamodel.GeoCoding;
@@ -355,13 +356,25 @@ public class ContentAssert {
     }
 
     public void assertProductContent() {
-        assertExpectedProductProperties(expectedContent, productId, product);
-        testExpectedGeoCoding(expectedContent, productId, product);
-        testExpectedFlagCoding(expectedContent, productId, product);
-        testExpectedIndexCoding(expectedContent, productId, product);
-        testExpectedTiePointGrids(expectedContent, productId, product);
-        testExpectedBands(expectedContent, productId, product);
-        testExpectedMasks(expectedContent, productId, product);
-        testExpectedMetadata(expectedContent, productId, product);
+        assertSection("productProperties", () -> assertExpectedProductProperties(expectedContent, productId, product));
+        assertSection("geoCoding", () -> testExpectedGeoCoding(expectedContent, productId, product));
+        assertSection("flagCodings", () -> testExpectedFlagCoding(expectedContent, productId, product));
+        assertSection("indexCodings", () -> testExpectedIndexCoding(expectedContent, productId, product));
+        assertSection("tiePointGrids", () -> testExpectedTiePointGrids(expectedContent, productId, product));
+        assertSection("bands", () -> testExpectedBands(expectedContent, productId, product));
+        assertSection("masks", () -> testExpectedMasks(expectedContent, productId, product));
+        assertSection("metadata", () -> testExpectedMetadata(expectedContent, productId, product));
+    }
+
+    private void assertSection(String section, Runnable assertion) {
+        final ProductReader productReader = product.getProductReader();
+        final String plugin = productReader != null && productReader.getReaderPlugIn() != null
+                ? productReader.getReaderPlugIn().getClass().getName() : null;
+        final ReaderTestEvent event = ReaderTestEvent.start(productId, plugin, "content." + section);
+        try {
+            assertion.run();
+        } finally {
+            event.commit();
+        }
     }
 }
@@ -0,0 +1,88 @@
+/*
+ * Copyright (C) 2026 Brockmann Consult GmbH (info@brockmann-consult.de)
+ *
+ * This program is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option)
+ * any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License for
+ * more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, see http://www.gnu.org/licenses/
+ */
+
+package org.esa.snap.dataio;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Java Flight Recorder event spanning one phase of testing a product, e.g. reading the product nodes or asserting a
+ * section of the expected content. In a recording these events can be correlated with garbage collections, file I/O
+ * and lock contention of the same time span and thread.
+ * <p>
+ * Events are only recorded while a flight recording is running, otherwise they cost next to nothing.
+ */
+@Name("org.esa.snap.dataio.ReaderTestPhase")
+@Label("Reader Test Phase")
+@Category({"SNAP", "Reader Tests"})
+@Description("A phase of testing a product with a product reader")
+public class ReaderTestEvent extends Event {
+
+    @Label("Product Id")
+    String productId;
+
+    @Label("Reader Plugin")
+    String plugin;
+
+    @Label("Phase")
+    String phase;
+
+    @Label("Bytes")
+    @DataAmount
+    long bytes;
+
+    @Label("Tiles")
+    int tiles;
+
+    /**
+     * Creates the event and starts its time span. It is recorded when {@link #commit()} is called.
+     *
+     * @param plugin the class name of the reader plugin, may be {@code null}
+     */
+    public static ReaderTestEvent start(String productId, String plugin, String phase) {
+        final ReaderTestEvent event = new ReaderTestEvent();
+        event.productId = productId;
+        event.plugin = plugin;
+        event.phase = phase;
+        event.begin();
+        return event;
+    }
+
+    /**
+     * @return whether these events are recorded, e.g. to skip determining field values which are costly to compute
+     */
+    public static boolean isRecording() {
+        return EventType.getEventType(ReaderTestEvent.class).isEnabled();
+    }
+
+    public void setPlugin(String plugin) {
+        this.plugin = plugin;
+    }
+
+    public void setBytes(long bytes) {
+        this.bytes = bytes;
+    }
+
+    public void setTiles(int tiles) {
+        this.tiles = tiles;
+    }
+}
@@ -20,6 +20,7 @@ import org.esa.snap.core.dataio.DecodeQualification;
 import org.esa.snap.core.dataio.ProductReaderPlugIn;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -50,6 +51,10 @@ class TestDefinition {
         return result;
     }
 
+    List<ExpectedDataset> getExpectedDatasets() {
+        return Collections.unmodifiableList(expectedDatasetsList);
+    }
+
     ExpectedContent getExpectedContent(String productId) {
         final ExpectedDataset expectedDataset = expectedDatasetsMap.get(productId);
         if (expectedDataset != null) {
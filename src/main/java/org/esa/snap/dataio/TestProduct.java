@@ -15,6 +15,7 @@ class TestProduct {
     private String[] disabledForPlatforms;
 
     private transient boolean exists = true;
+    private transient boolean selected = true;
 
     String getId() {
         return id;
@@ -40,6 +41,17 @@ class TestProduct {
         return exists;
     }
 
+    void setSelected(boolean selected) {
+        this.selected = selected;
+    }
+
+    /**
+     * @return {@code false} if the product is left to another test run, e.g. another CI shard
+     */
+    boolean isSelected() {
+        return selected;
+    }
+
     boolean isDifferent(TestProduct other) {
         if (!(id.equals(other.getId()) &&
                 relativePath.equals(other.getRelativePath()))) {
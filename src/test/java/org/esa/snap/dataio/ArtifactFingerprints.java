@@ -0,0 +1,230 @@
+/*
+ * Copyright (C) 2026 Brockmann Consult GmbH (info@brockmann-consult.de)
+ *
+ * This program is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option)
+ * any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License for
+ * more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, see http://www.gnu.org/licenses/
+ */
+
+package org.esa.snap.dataio;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystemNotFoundException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.CodeSource;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Creates fingerprints of test data and reader artifacts. They are used to detect whether a persisted result of a
+ * previous run is still valid.
+ */
+class ArtifactFingerprints {
+
+    private static final Map<String, String> CODE_SOURCE_FINGERPRINTS = new ConcurrentHashMap<>();
+
+    private ArtifactFingerprints() {
+    }
+
+    /**
+     * Fingerprint of a product file or directory, made of size and modification time. For a directory all files
+     * below it are included with their relative paths, their content is not read to keep this cheap on network
+     * storage.
+     *
+     * @return the fingerprint or {@code null} if the path does not exist
+     */
+    static String ofProductPath(Path path) {
+        try {
+            final BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+            final StringBuilder sb = new StringBuilder();
+            sb.append(attributes.size()).append('@').append(attributes.lastModifiedTime().toMillis());
+            if (attributes.isDirectory()) {
+                final List<String> files = new ArrayList<>();
+                for (Path file : listFiles(path)) {
+                    files.add(getRelativePath(path, file) + ":" + file.toFile().length() + "@" + file.toFile().lastModified());
+                }
+                sb.append('/').append(sha256(String.join(";", files).getBytes(StandardCharsets.UTF_8)));
+            }
+            return sb.toString();
+        } catch (IOException | UncheckedIOException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Fingerprint of the code source the given class is loaded from, i.e. the checksum of its jar or of all files
+     * below its class directory. It is computed once per code source and shared by all classes loaded from it.
+     *
+     * @return the fingerprint or {@code null} if the origin of the class cannot be determined
+     */
+    static String ofClassOrigin(Class<?> clazz) {
+        final Path location = getCodeSourcePath(clazz);
+        return location != null ? ofCodeSource(location) : null;
+    }
+
+    /**
+     * @return the jar or class directory the given class is loaded from or {@code null} if it cannot be determined
+     */
+    static Path getCodeSourcePath(Class<?> clazz) {
+        final CodeSource codeSource = clazz.getProtectionDomain().getCodeSource();
+        if (codeSource == null || codeSource.getLocation() == null) {
+            return null;
+        }
+        try {
+            return Paths.get(codeSource.getLocation().toURI()).toAbsolutePath().normalize();
+        } catch (URISyntaxException | IllegalArgumentException | FileSystemNotFoundException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Fingerprint of the entries of the class path, i.e. of the libraries the readers and this module depend on,
+     * like snap-core, snap-engine and shared reader libraries. When running in surefire, the test class path is
+     * taken instead of the class path of the booter jar.
+     *
+     * @param excludedLocations class path entries which are left out, e.g. the jars of the readers themselves
+     */
+    static String ofClassPath(Set<Path> excludedLocations) {
+        final String classPath = System.getProperty("surefire.test.class.path", System.getProperty("java.class.path"));
+        final List<String> parts = new ArrayList<>();
+        for (String entry : classPath.split(File.pathSeparator)) {
+            if (entry.isEmpty()) {
+                continue;
+            }
+            final Path location = Paths.get(entry).toAbsolutePath().normalize();
+            if (!excludedLocations.contains(location) && Files.exists(location)) {
+                parts.add(location.getFileName() + "=" + ofCodeSource(location));
+            }
+        }
+        return sha256(String.join(";", parts).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String ofCodeSource(Path location) {
+        return CODE_SOURCE_FINGERPRINTS.computeIfAbsent(location.toString(), key -> {
+            try {
+                return ofContent(location);
+            } catch (IOException | UncheckedIOException e) {
+                return null;
+            }
+        });
+    }
+
+    /**
+     * Checksum of the content of a file, or of all files below a directory together with their relative paths.
+     */
+    static String ofContent(Path path) throws IOException {
+        final MessageDigest digest = createDigest();
+        if (!Files.isDirectory(path)) {
+            update(digest, path);
+            return toHex(digest.digest());
+        }
+        for (Path file : listFiles(path)) {
+            digest.update(getRelativePath(path, file).getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+            update(digest, file);
+        }
+        return toHex(digest.digest());
+    }
+
+    /**
+     * @return the regular files below the directory, sorted by path
+     */
+    private static List<Path> listFiles(Path dir) throws IOException {
+        try (Stream<Path> stream = Files.walk(dir)) {
+            return stream.filter(Files::isRegularFile).sorted().collect(Collectors.toList());
+        }
+    }
+
+    private static String getRelativePath(Path dir, Path file) {
+        return dir.relativize(file).toString().replace(File.separatorChar, '/');
+    }
+
+    private static void update(MessageDigest digest, Path file) throws IOException {
+        try (InputStream inputStream = Files.newInputStream(file)) {
+            final byte[] buffer = new byte[64 * 1024];
+            int count;
+            while ((count = inputStream.read(buffer)) > 0) {
+                digest.update(buffer, 0, count);
+            }
+        }
+    }
+
+    /**
+     * Fingerprint of everything a reader test definition depends on: the jar of the reader plugin, its
+     * {@code -data.json} and expected product resources, and the libraries on the class path.
+     *
+     * @param classPathFingerprint the fingerprint of the class path without the reader jars, see {@link #ofClassPath}
+     * @return the fingerprint or {@code null} if one of the parts cannot be determined
+     */
+    static String ofReaderTestDefinition(Class<?> readerPlugInClass, String dataResourceName, String[] productIds,
+                                         String classPathFingerprint) throws IOException {
+        final List<String> parts = new ArrayList<>();
+        parts.add(ofClassOrigin(readerPlugInClass));
+        parts.add(classPathFingerprint);
+        parts.add(ofResource(readerPlugInClass, dataResourceName));
+        for (String productId : productIds) {
+            parts.add(productId + "=" + ofResource(readerPlugInClass, productId + ".json"));
+        }
+        if (parts.contains(null)) {
+            return null;
+        }
+        return sha256(String.join(";", parts).getBytes());
+    }
+
+    /**
+     * Checksum of a class path resource relative to the given class.
+     *
+     * @return the checksum or {@code null} if the resource does not exist
+     */
+    static String ofResource(Class<?> clazz, String resourceName) throws IOException {
+        try (InputStream inputStream = clazz.getResourceAsStream(resourceName)) {
+            if (inputStream == null) {
+                return null;
+            }
+            return sha256(inputStream.readAllBytes());
+        }
+    }
+
+    static String sha256(byte[] bytes) {
+        return toHex(createDigest().digest(bytes));
+    }
+
+    private static MessageDigest createDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not supported", e);
+        }
+    }
+
+    private static String toHex(byte[] digest) {
+        final StringBuilder sb = new StringBuilder();
+        for (byte b : digest) {
+            sb.append(String.format("%02x", b));
+        }
+        return sb.toString();
+    }
+}
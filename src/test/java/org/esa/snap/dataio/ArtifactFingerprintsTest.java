@@ -0,0 +1,109 @@
+package org.esa.snap.dataio;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+
+import static org.junit.Assert.*;
+
+public class ArtifactFingerprintsTest {
+
+    private static final String PROBE_CLASS_NAME = Probe.class.getName();
+    private static final String PROBE_RESOURCE_NAME = PROBE_CLASS_NAME.replace('.', '/') + ".class";
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void testOfClassOrigin_classDirectory() throws Exception {
+        final File classDir = temporaryFolder.newFolder("classes");
+        writeProbeClass(classDir.toPath().resolve(PROBE_RESOURCE_NAME));
+        final Path otherClass = classDir.toPath().resolve("org/esa/snap/dataio/other/OtherReader.class");
+        Files.createDirectories(otherClass.getParent());
+        Files.write(otherClass, new byte[]{1, 2, 3});
+        final String contentFingerprint = ArtifactFingerprints.ofContent(classDir.toPath());
+
+        try (URLClassLoader classLoader = new URLClassLoader(new URL[]{classDir.toURI().toURL()}, null)) {
+            final Class<?> probeClass = classLoader.loadClass(PROBE_CLASS_NAME);
+            assertNotSame(Probe.class, probeClass);
+            assertEquals(contentFingerprint, ArtifactFingerprints.ofClassOrigin(probeClass));
+
+            Files.write(otherClass, new byte[]{1, 2, 4});
+            assertNotEquals(contentFingerprint, ArtifactFingerprints.ofContent(classDir.toPath()));
+            assertEquals("computed once per code source", contentFingerprint, ArtifactFingerprints.ofClassOrigin(probeClass));
+        }
+    }
+
+    @Test
+    public void testOfClassOrigin_jar() throws Exception {
+        final File jarFile = new File(temporaryFolder.getRoot(), "reader.jar");
+        try (JarOutputStream outputStream = new JarOutputStream(Files.newOutputStream(jarFile.toPath()))) {
+            outputStream.putNextEntry(new JarEntry(PROBE_RESOURCE_NAME));
+            writeProbeClass(outputStream);
+            outputStream.closeEntry();
+        }
+
+        try (URLClassLoader classLoader = new URLClassLoader(new URL[]{jarFile.toURI().toURL()}, null)) {
+            final Class<?> probeClass = classLoader.loadClass(PROBE_CLASS_NAME);
+            assertEquals(ArtifactFingerprints.sha256(Files.readAllBytes(jarFile.toPath())), ArtifactFingerprints.ofClassOrigin(probeClass));
+        }
+    }
+
+    @Test
+    public void testOfContent_includesRelativePaths() throws IOException {
+        final File dir1 = temporaryFolder.newFolder("dir1");
+        final File dir2 = temporaryFolder.newFolder("dir2");
+        Files.createDirectories(dir1.toPath().resolve("a"));
+        Files.createDirectories(dir2.toPath().resolve("b"));
+        Files.write(dir1.toPath().resolve("a/file.txt"), "content".getBytes());
+        Files.write(dir2.toPath().resolve("b/file.txt"), "content".getBytes());
+
+        assertNotEquals(ArtifactFingerprints.ofContent(dir1.toPath()), ArtifactFingerprints.ofContent(dir2.toPath()));
+    }
+
+    @Test
+    public void testOfProductPath_nestedFileChanged() throws IOException {
+        final File productDir = temporaryFolder.newFolder("product.SAFE");
+        final Path measurement = productDir.toPath().resolve("measurement/s1-iw1.tiff");
+        Files.createDirectories(measurement.getParent());
+        Files.write(measurement, "pixels".getBytes());
+        final String fingerprint = ArtifactFingerprints.ofProductPath(productDir.toPath());
+
+        Files.write(measurement, "more pixels".getBytes());
+
+        assertNotNull(fingerprint);
+        assertNotEquals(fingerprint, ArtifactFingerprints.ofProductPath(productDir.toPath()));
+        assertNull(ArtifactFingerprints.ofProductPath(productDir.toPath().resolve("missing")));
+    }
+
+    private static void writeProbeClass(Path file) throws IOException {
+        Files.createDirectories(file.getParent());
+        try (OutputStream outputStream = Files.newOutputStream(file)) {
+            writeProbeClass(outputStream);
+        }
+    }
+
+    private static void writeProbeClass(OutputStream outputStream) throws IOException {
+        try (InputStream inputStream = ArtifactFingerprintsTest.class.getResourceAsStream("/" + PROBE_RESOURCE_NAME)) {
+            assertNotNull(inputStream);
+            inputStream.transferTo(outputStream);
+        }
+    }
+
+    /**
+     * Loaded from a class directory or jar created by the tests.
+     */
+    public static class Probe {
+    }
+}
@@ -0,0 +1,128 @@
+/*
+ * Copyright (C) 2026 Brockmann Consult GmbH (info@brockmann-consult.de)
+ *
+ * This program is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option)
+ * any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License for
+ * more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, see http://www.gnu.org/licenses/
+ */
+
+package org.esa.snap.dataio;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.core.type.TypeReference;
+import org.esa.snap.core.dataio.DecodeQualification;
+import org.esa.snap.core.dataio.ProductReaderPlugIn;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Persistent cache of {@link ProductReaderPlugIn#getDecodeQualification(Object)} results. An entry is only valid as
+ * long as the fingerprints of the product and of the jar providing the plugin are unchanged.
+ */
+class DecodeQualificationCache {
+
+    private static final TypeReference<Map<String, Entry>> ENTRIES_TYPE = new TypeReference<>() {
+    };
+
+    private final File cacheFile;
+    private final Map<String, Entry> entries;
+    private int hitCount;
+
+    DecodeQualificationCache(File cacheFile) {
+        this.cacheFile = cacheFile;
+        this.entries = new ConcurrentHashMap<>();
+    }
+
+    void load() throws IOException {
+        final Map<String, Entry> loadedEntries = JsonFiles.read(cacheFile, ENTRIES_TYPE);
+        if (loadedEntries != null) {
+            entries.putAll(loadedEntries);
+        }
+    }
+
+    void save() throws IOException {
+        JsonFiles.write(cacheFile, new TreeMap<>(entries));
+    }
+
+    File getCacheFile() {
+        return cacheFile;
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    synchronized int getHitCount() {
+        return hitCount;
+    }
+
+    /**
+     * @param productFingerprint the {@link ArtifactFingerprints#ofProductPath(java.nio.file.Path) fingerprint} of the
+     *                           product, determined once per run, as it walks all files of a product directory
+     * @return the cached entry or {@code null} if there is none or it is outdated
+     */
+    Entry get(ProductReaderPlugIn readerPlugIn, File productFile, String productFingerprint) {
+        final String pluginFingerprint = ArtifactFingerprints.ofClassOrigin(readerPlugIn.getClass());
+        if (pluginFingerprint == null || productFingerprint == null) {
+            return null;
+        }
+        final Entry entry = entries.get(createKey(readerPlugIn, productFile));
+        if (entry == null || !pluginFingerprint.equals(entry.pluginFingerprint) || !productFingerprint.equals(entry.productFingerprint)) {
+            return null;
+        }
+        synchronized (this) {
+            hitCount++;
+        }
+        return entry;
+    }
+
+    void put(ProductReaderPlugIn readerPlugIn, File productFile, String productFingerprint,
+             DecodeQualification decodeQualification, long timeDiff) {
+        final String pluginFingerprint = ArtifactFingerprints.ofClassOrigin(readerPlugIn.getClass());
+        if (pluginFingerprint == null || productFingerprint == null) {
+            return;
+        }
+        final Entry entry = new Entry();
+        entry.pluginFingerprint = pluginFingerprint;
+        entry.productFingerprint = productFingerprint;
+        entry.decodeQualification = decodeQualification.name();
+        entry.timeDiff = timeDiff;
+        entries.put(createKey(readerPlugIn, productFile), entry);
+    }
+
+    private static String createKey(ProductReaderPlugIn readerPlugIn, File productFile) {
+        return readerPlugIn.getClass().getName() + "|" + productFile.getAbsolutePath();
+    }
+
+    static class Entry {
+
+        @JsonProperty
+        private String pluginFingerprint;
+        @JsonProperty
+        private String productFingerprint;
+        @JsonProperty
+        private String decodeQualification;
+        @JsonProperty
+        private long timeDiff;
+
+        DecodeQualification getDecodeQualification() {
+            return DecodeQualification.valueOf(decodeQualification);
+        }
+
+        long getTimeDiff() {
+            return timeDiff;
+        }
+    }
+}
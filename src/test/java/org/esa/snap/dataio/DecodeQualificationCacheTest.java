@@ -0,0 +1,89 @@
+package org.esa.snap.dataio;
+
+import eu.esa.opt.dataio.landsat.geotiff.LandsatGeotiffReaderPlugin;
+import org.esa.snap.core.dataio.DecodeQualification;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+
+import static org.junit.Assert.*;
+
+public class DecodeQualificationCacheTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private LandsatGeotiffReaderPlugin readerPlugin;
+    private File productFile;
+    private File cacheFile;
+
+    @Before
+    public void setUp() throws IOException {
+        readerPlugin = new LandsatGeotiffReaderPlugin();
+        productFile = temporaryFolder.newFile("product.txt");
+        Files.write(productFile.toPath(), "some content".getBytes());
+        cacheFile = new File(temporaryFolder.getRoot(), "cache/decode-qualification-cache.json");
+    }
+
+    @Test
+    public void testGet_empty() {
+        final DecodeQualificationCache cache = new DecodeQualificationCache(cacheFile);
+
+        assertNull(cache.get(readerPlugin, productFile, fingerprintProduct()));
+        assertEquals(0, cache.getHitCount());
+    }
+
+    @Test
+    public void testPutAndGet() {
+        final DecodeQualificationCache cache = new DecodeQualificationCache(cacheFile);
+        cache.put(readerPlugin, productFile, fingerprintProduct(), DecodeQualification.SUITABLE, 42);
+
+        final DecodeQualificationCache.Entry entry = cache.get(readerPlugin, productFile, fingerprintProduct());
+        assertNotNull(entry);
+        assertEquals(DecodeQualification.SUITABLE, entry.getDecodeQualification());
+        assertEquals(42, entry.getTimeDiff());
+        assertEquals(1, cache.getHitCount());
+    }
+
+    @Test
+    public void testGet_productChanged() throws IOException {
+        final DecodeQualificationCache cache = new DecodeQualificationCache(cacheFile);
+        cache.put(readerPlugin, productFile, fingerprintProduct(), DecodeQualification.INTENDED, 42);
+
+        Files.write(productFile.toPath(), "some other content".getBytes());
+
+        assertNull(cache.get(readerPlugin, productFile, fingerprintProduct()));
+    }
+
+    @Test
+    public void testSaveAndLoad() throws IOException {
+        final DecodeQualificationCache cache = new DecodeQualificationCache(cacheFile);
+        cache.put(readerPlugin, productFile, fingerprintProduct(), DecodeQualification.UNABLE, 7);
+        cache.save();
+        assertTrue(cacheFile.isFile());
+
+        final DecodeQualificationCache loadedCache = new DecodeQualificationCache(cacheFile);
+        loadedCache.load();
+        assertEquals(1, loadedCache.size());
+        final DecodeQualificationCache.Entry entry = loadedCache.get(readerPlugin, productFile, fingerprintProduct());
+        assertNotNull(entry);
+        assertEquals(DecodeQualification.UNABLE, entry.getDecodeQualification());
+    }
+
+    @Test
+    public void testLoad_missingFile() throws IOException {
+        final DecodeQualificationCache cache = new DecodeQualificationCache(cacheFile);
+        cache.load();
+
+        assertEquals(0, cache.size());
+    }
+
+    private String fingerprintProduct() {
+        return ArtifactFingerprints.ofProductPath(productFile.toPath());
+    }
+}
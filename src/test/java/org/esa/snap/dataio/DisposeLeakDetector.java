@@ -0,0 +1,156 @@
+/*
+ * Copyright (C) 2026 Brockmann Consult GmbH (info@brockmann-consult.de)
+ *
+ * This program is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option)
+ * any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License for
+ * more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, see http://www.gnu.org/licenses/
+ */
+
+package org.esa.snap.dataio;
+
+import org.esa.snap.core.datamodel.Band;
+import org.esa.snap.core.datamodel.Product;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Finds products which stay reachable after {@link Product#dispose()}. Before a product is disposed, weak references
+ * to the product, its bands and their source images are taken. Once all code reading the product has returned, the
+ * garbage collector is forced to run and every object still reachable is reported as leaked, together with the raw
+ * storage size of the leaked bands as estimate of the retained memory.
+ * <p>
+ * Forcing garbage collections is slow, so the detection is only done if enabled.
+ */
+class DisposeLeakDetector {
+
+    private static final int MAX_GC_ATTEMPTS = 5;
+
+    private final Map<String, List<TrackedObject>> trackedObjects;
+    private final Map<String, Integer> leakCounts;
+
+    DisposeLeakDetector() {
+        trackedObjects = new ConcurrentHashMap<>();
+        leakCounts = new TreeMap<>();
+    }
+
+    /**
+     * Takes weak references to the product and its parts. Must be called before the product is disposed.
+     */
+    void track(String productId, Product product) {
+        final List<TrackedObject> objects = trackedObjects.computeIfAbsent(productId.toLowerCase(), key -> Collections.synchronizedList(new ArrayList<>()));
+        final String plugin = product.getProductReader() != null && product.getProductReader().getReaderPlugIn() != null
+                ? product.getProductReader().getReaderPlugIn().getClass().getName() : "unknown reader";
+        objects.add(new TrackedObject(plugin, "product", product, null, 0));
+        for (Band band : product.getBands()) {
+            objects.add(new TrackedObject(plugin, "band " + band.getName(), band, band.getName(), band.getRawStorageSize()));
+            if (band.isSourceImageSet()) {
+                objects.add(new TrackedObject(plugin, "source image of band " + band.getName(), band.getSourceImage(),
+                                              band.getName(), band.getRawStorageSize()));
+            }
+        }
+    }
+
+    /**
+     * Forces garbage collections and reports the tracked objects of the product which are still reachable. The
+     * tracked objects are forgotten afterwards.
+     */
+    Leaks check(String productId) {
+        final List<TrackedObject> objects = trackedObjects.remove(productId.toLowerCase());
+        final Leaks leaks = new Leaks();
+        if (objects == null) {
+            return leaks;
+        }
+        for (int i = 0; i < MAX_GC_ATTEMPTS && !isCollected(objects); i++) {
+            System.gc();
+        }
+        final Set<String> leakingPlugins = new HashSet<>();
+        final Set<String> leakedBands = new HashSet<>();
+        for (TrackedObject object : objects) {
+            if (object.reference.get() != null) {
+                leaks.descriptions.add(object.description + " read by " + object.plugin);
+                leakingPlugins.add(object.plugin);
+                if (object.bandName != null && leakedBands.add(object.bandName)) {
+                    leaks.retainedSizeEstimate += object.rawStorageSize;
+                }
+            }
+        }
+        synchronized (leakCounts) {
+            for (String plugin : leakingPlugins) {
+                leakCounts.merge(plugin, 1, Integer::sum);
+            }
+        }
+        return leaks;
+    }
+
+    /**
+     * @return the number of products with leaked objects by reader plugin class name
+     */
+    Map<String, Integer> getLeakCounts() {
+        synchronized (leakCounts) {
+            return new TreeMap<>(leakCounts);
+        }
+    }
+
+    private static boolean isCollected(List<TrackedObject> objects) {
+        for (TrackedObject object : objects) {
+            if (object.reference.get() != null) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static class TrackedObject {
+
+        private final String plugin;
+        private final String description;
+        private final WeakReference<Object> reference;
+        private final String bandName;
+        private final long rawStorageSize;
+
+        private TrackedObject(String plugin, String description, Object object, String bandName, long rawStorageSize) {
+            this.plugin = plugin;
+            this.description = description;
+            this.reference = new WeakReference<>(object);
+            this.bandName = bandName;
+            this.rawStorageSize = rawStorageSize;
+        }
+    }
+
+    static class Leaks {
+
+        private final List<String> descriptions = new ArrayList<>();
+        private long retainedSizeEstimate;
+
+        boolean isEmpty() {
+            return descriptions.isEmpty();
+        }
+
+        List<String> getDescriptions() {
+            return descriptions;
+        }
+
+        /**
+         * @return the summed raw storage size of the bands which leaked themselves or with their source image
+         */
+        long getRetainedSizeEstimate() {
+            return retainedSizeEstimate;
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package org.esa.snap.dataio;
+
+import org.esa.snap.core.datamodel.Product;
+import org.esa.snap.core.datamodel.ProductData;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class DisposeLeakDetectorTest {
+
+    private DisposeLeakDetector detector;
+
+    @Before
+    public void setUp() {
+        detector = new DisposeLeakDetector();
+    }
+
+    @Test
+    public void testCheck_disposedProduct() {
+        Product product = createProduct();
+        detector.track("PROD_1", product);
+        product.dispose();
+        product = null;
+
+        final DisposeLeakDetector.Leaks leaks = detector.check("PROD_1");
+
+        assertTrue(leaks.getDescriptions().toString(), leaks.isEmpty());
+        assertEquals(0, leaks.getRetainedSizeEstimate());
+        assertTrue(detector.getLeakCounts().isEmpty());
+    }
+
+    @Test
+    public void testCheck_reachableProduct() {
+        final Product product = createProduct();
+        detector.track("PROD_1", product);
+        product.dispose();
+
+        final DisposeLeakDetector.Leaks leaks = detector.check("prod_1");
+
+        assertFalse(leaks.isEmpty());
+        assertTrue(leaks.getDescriptions().contains("product read by unknown reader"));
+        assertTrue(leaks.getDescriptions().contains("band b1 read by unknown reader"));
+        assertEquals(2 * 10 * 20 * 2, leaks.getRetainedSizeEstimate());
+        assertEquals(Integer.valueOf(1), detector.getLeakCounts().get("unknown reader"));
+        assertNotNull(product);
+    }
+
+    @Test
+    public void testCheck_untrackedProduct() {
+        assertTrue(detector.check("PROD_2").isEmpty());
+    }
+
+    private static Product createProduct() {
+        final Product product = new Product("test", "TEST", 10, 20);
+        product.addBand("b1", ProductData.TYPE_INT16);
+        product.addBand("b2", ProductData.TYPE_UINT16);
+        return product;
+    }
+}
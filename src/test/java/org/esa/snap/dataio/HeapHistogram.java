@@ -0,0 +1,86 @@
+/*
+ * Copyright (C) 2026 Brockmann Consult GmbH (info@brockmann-consult.de)
+ *
+ * This program is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option)
+ * any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License for
+ * more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, see http://www.gnu.org/licenses/
+ */
+
+package org.esa.snap.dataio;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Instances and bytes per class of the live objects on the heap, as printed by {@code jcmd <pid> GC.class_histogram}.
+ * Taking a histogram forces a full garbage collection.
+ */
+class HeapHistogram {
+
+    private static final Pattern LINE_PATTERN = Pattern.compile("^\\s*\\d+:\\s+(\\d+)\\s+(\\d+)\\s+(\\S+).*$");
+
+    private final Map<String, long[]> classCounts;
+
+    private HeapHistogram(Map<String, long[]> classCounts) {
+        this.classCounts = classCounts;
+    }
+
+    static HeapHistogram take() throws JMException {
+        final ObjectName diagnosticCommand = new ObjectName("com.sun.management:type=DiagnosticCommand");
+        final Object histogram = ManagementFactory.getPlatformMBeanServer().invoke(diagnosticCommand, "gcClassHistogram",
+                                                                                   new Object[]{new String[0]},
+                                                                                   new String[]{String[].class.getName()});
+        return parse(String.valueOf(histogram));
+    }
+
+    static HeapHistogram parse(String histogram) {
+        final Map<String, long[]> classCounts = new HashMap<>();
+        for (String line : histogram.split("\\R")) {
+            final Matcher matcher = LINE_PATTERN.matcher(line);
+            if (matcher.matches()) {
+                classCounts.put(matcher.group(3), new long[]{Long.parseLong(matcher.group(1)), Long.parseLong(matcher.group(2))});
+            }
+        }
+        return new HeapHistogram(classCounts);
+    }
+
+    long getBytes(String className) {
+        final long[] counts = classCounts.get(className);
+        return counts != null ? counts[1] : 0;
+    }
+
+    /**
+     * @return the classes whose instances grew most in bytes since the given earlier histogram, largest growth first
+     */
+    List<String> getLargestGrowth(HeapHistogram earlier, int maxClassCount) {
+        final List<Map.Entry<String, long[]>> growth = new ArrayList<>();
+        for (Map.Entry<String, long[]> entry : classCounts.entrySet()) {
+            final long[] earlierCounts = earlier.classCounts.getOrDefault(entry.getKey(), new long[2]);
+            final long[] difference = {entry.getValue()[0] - earlierCounts[0], entry.getValue()[1] - earlierCounts[1]};
+            if (difference[1] > 0) {
+                growth.add(Map.entry(entry.getKey(), difference));
+            }
+        }
+        growth.sort((entry1, entry2) -> Long.compare(entry2.getValue()[1], entry1.getValue()[1]));
+        final List<String> lines = new ArrayList<>();
+        for (Map.Entry<String, long[]> entry : growth.subList(0, Math.min(maxClassCount, growth.size()))) {
+            lines.add(String.format("+%d bytes, +%d instances of %s", entry.getValue()[1], entry.getValue()[0], entry.getKey()));
+        }
+        return lines;
+    }
+}
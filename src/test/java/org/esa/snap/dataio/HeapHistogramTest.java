@@ -0,0 +1,50 @@
+package org.esa.snap.dataio;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class HeapHistogramTest {
+
+    private static final String EARLIER = String.join("\n",
+            " num     #instances         #bytes  class name (module)",
+            "-------------------------------------------------------",
+            "   1:          1200        4800000  [B (java.base@21)",
+            "   2:           300          12000  java.lang.String (java.base@21)",
+            "   3:            10            640  org.esa.snap.core.datamodel.Band",
+            "Total          1510        4812640");
+
+    private static final String LATER = String.join("\n",
+            " num     #instances         #bytes  class name (module)",
+            "-------------------------------------------------------",
+            "   1:          1250        9800000  [B (java.base@21)",
+            "   2:            30           1920  org.esa.snap.core.datamodel.Band",
+            "   3:           290          11600  java.lang.String (java.base@21)",
+            "   4:             2             96  org.esa.snap.core.datamodel.Product",
+            "Total          1572        9813616");
+
+    @Test
+    public void testParse() {
+        final HeapHistogram histogram = HeapHistogram.parse(EARLIER);
+        assertEquals(4800000, histogram.getBytes("[B"));
+        assertEquals(640, histogram.getBytes("org.esa.snap.core.datamodel.Band"));
+        assertEquals(0, histogram.getBytes("org.esa.snap.core.datamodel.Product"));
+    }
+
+    @Test
+    public void testGetLargestGrowth() {
+        final List<String> growth = HeapHistogram.parse(LATER).getLargestGrowth(HeapHistogram.parse(EARLIER), 2);
+        assertEquals(Arrays.asList("+5000000 bytes, +50 instances of [B",
+                                   "+1280 bytes, +20 instances of org.esa.snap.core.datamodel.Band"), growth);
+    }
+
+    @Test
+    public void testGetLargestGrowth_onlyGrowingClasses() {
+        final List<String> growth = HeapHistogram.parse(LATER).getLargestGrowth(HeapHistogram.parse(EARLIER), 10);
+        assertEquals(3, growth.size());
+        assertEquals("+96 bytes, +2 instances of org.esa.snap.core.datamodel.Product", growth.get(2));
+    }
+}
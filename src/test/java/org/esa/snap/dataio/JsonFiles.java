@@ -0,0 +1,125 @@
+/*
+ * Copyright (C) 2026 Brockmann Consult GmbH (info@brockmann-consult.de)
+ *
+ * This program is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option)
+ * any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License for
+ * more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, see http://www.gnu.org/licenses/
+ */
+
+package org.esa.snap.dataio;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.esa.snap.core.util.SystemUtils;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Reads and writes the JSON files the reader tests keep between runs, like the {@link ProductCostStore}, and the
+ * JSON Lines of the {@link ReadTimesReport}. None of the tests depends on these files, so failing to access them is
+ * only logged.
+ */
+final class JsonFiles {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private JsonFiles() {
+    }
+
+    interface FileOperation {
+
+        void run() throws IOException;
+    }
+
+    /**
+     * @return the file given by the property or, if not set, the file of the given name in the reader tests
+     * directory of the SNAP application data
+     */
+    static File getStoreFile(String filePropertyName, String defaultFileName) {
+        final String filePath = System.getProperty(filePropertyName);
+        if (filePath != null) {
+            return new File(filePath);
+        }
+        return new File(SystemUtils.getApplicationDataDir(), "reader-tests/" + defaultFileName);
+    }
+
+    /**
+     * @return the content of the file or {@code null} if the file does not exist
+     */
+    static <T> T read(File file, TypeReference<T> type) throws IOException {
+        return file.isFile() ? MAPPER.readValue(file, type) : null;
+    }
+
+    /**
+     * @return the content of the file or {@code null} if the file does not exist
+     */
+    static <T> T read(File file, Class<T> type) throws IOException {
+        return file.isFile() ? MAPPER.readValue(file, type) : null;
+    }
+
+    /**
+     * @return the values of the non-blank lines of a JSON Lines file
+     */
+    static <T> List<T> readLines(File file, Class<T> type) throws IOException {
+        final List<T> values = new ArrayList<>();
+        for (String line : Files.readAllLines(file.toPath(), StandardCharsets.UTF_8)) {
+            if (!line.isBlank()) {
+                values.add(MAPPER.readValue(line, type));
+            }
+        }
+        return values;
+    }
+
+    /**
+     * Writes the value pretty printed, the parent directory is created if needed.
+     */
+    static void write(File file, Object value) throws IOException {
+        createParentDirectory(file);
+        MAPPER.writerWithDefaultPrettyPrinter().writeValue(file, value);
+    }
+
+    /**
+     * @return the value as a single line of JSON
+     */
+    static String toLine(Object value) throws IOException {
+        return MAPPER.writeValueAsString(value);
+    }
+
+    static void createParentDirectory(File file) throws IOException {
+        final File parentDir = file.getAbsoluteFile().getParentFile();
+        if (!parentDir.isDirectory() && !parentDir.mkdirs()) {
+            throw new IOException("Could not create directory " + parentDir);
+        }
+    }
+
+    /**
+     * Runs the operation and logs a warning if it fails.
+     *
+     * @param action what is done with the file, e.g. "read product costs", used for the warning
+     * @return whether the operation succeeded
+     */
+    static boolean run(FileOperation operation, String action, File file, Logger logger) {
+        try {
+            operation.run();
+            return true;
+        } catch (IOException e) {
+            logger.log(Level.WARNING, "Could not " + action + " " + file.getAbsolutePath(), e);
+            return false;
+        }
+    }
+}
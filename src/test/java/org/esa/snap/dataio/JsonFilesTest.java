@@ -0,0 +1,70 @@
+package org.esa.snap.dataio;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.logging.Logger;
+
+import static org.junit.Assert.*;
+
+public class JsonFilesTest {
+
+    private static final TypeReference<Map<String, Long>> COSTS_TYPE = new TypeReference<>() {
+    };
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void testWriteAndRead() throws IOException {
+        final File file = new File(temporaryFolder.getRoot(), "stores/costs.json");
+        final Map<String, Long> costs = new TreeMap<>();
+        costs.put("prod_1", 1200L);
+        JsonFiles.write(file, costs);
+
+        assertTrue(file.isFile());
+        assertEquals(costs, JsonFiles.read(file, COSTS_TYPE));
+    }
+
+    @Test
+    public void testRead_missingFile() throws IOException {
+        final File file = new File(temporaryFolder.getRoot(), "missing.json");
+
+        assertNull(JsonFiles.read(file, COSTS_TYPE));
+        assertNull(JsonFiles.read(file, Map.class));
+    }
+
+    @Test
+    public void testReadLines() throws IOException {
+        final File file = temporaryFolder.newFile("report.jsonl");
+        Files.write(file.toPath(), ("{\"productId\":\"PROD_1\"}\n\n" + JsonFiles.toLine(Map.of("productId", "PROD_2")) + "\n")
+                .getBytes(StandardCharsets.UTF_8));
+
+        final List<Map> rows = JsonFiles.readLines(file, Map.class);
+
+        assertEquals(2, rows.size());
+        assertEquals("PROD_1", rows.get(0).get("productId"));
+        assertEquals("PROD_2", rows.get(1).get("productId"));
+    }
+
+    @Test
+    public void testRun_failureIsLogged() {
+        final File file = new File(temporaryFolder.getRoot(), "costs.json");
+        final Logger logger = Logger.getLogger(JsonFilesTest.class.getSimpleName());
+        logger.setUseParentHandlers(false);
+
+        assertTrue(JsonFiles.run(() -> JsonFiles.write(file, Map.of()), "write product costs", file, logger));
+        assertFalse(JsonFiles.run(() -> {
+            throw new IOException("disk full");
+        }, "write product costs", file, logger));
+    }
+}
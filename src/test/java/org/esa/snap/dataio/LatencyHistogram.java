@@ -0,0 +1,97 @@
+/*
+ * Copyright (C) 2026 Brockmann Consult GmbH (info@brockmann-consult.de)
+ *
+ * This program is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option)
+ * any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License for
+ * more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, see http://www.gnu.org/licenses/
+ */
+
+package org.esa.snap.dataio;
+
+import java.util.Arrays;
+
+/**
+ * Histogram of latencies with a relative precision of better than 2%, in the manner of an HDR histogram. Values below
+ * {@value #SUB_BUCKET_COUNT} are counted exactly, larger values in buckets whose width doubles with each power of two,
+ * so the memory needed stays small for any range of values. Percentiles are reported as the highest value of the
+ * bucket they fall into, the maximum is kept exactly.
+ */
+class LatencyHistogram {
+
+    private static final int SUB_BUCKET_COUNT = 128;
+    private static final int HALF_SUB_BUCKET_COUNT = SUB_BUCKET_COUNT / 2;
+    private static final int SUB_BUCKET_BITS = Integer.numberOfTrailingZeros(HALF_SUB_BUCKET_COUNT);
+
+    private long[] counts;
+    private long totalCount;
+    private long max;
+
+    LatencyHistogram() {
+        counts = new long[SUB_BUCKET_COUNT];
+    }
+
+    synchronized void record(long value) {
+        if (value < 0) {
+            throw new IllegalArgumentException("Negative value " + value);
+        }
+        final int index = getIndex(value);
+        if (index >= counts.length) {
+            counts = Arrays.copyOf(counts, index + HALF_SUB_BUCKET_COUNT);
+        }
+        counts[index]++;
+        totalCount++;
+        max = Math.max(max, value);
+    }
+
+    synchronized long getCount() {
+        return totalCount;
+    }
+
+    synchronized long getMax() {
+        return max;
+    }
+
+    /**
+     * @param percentile between 0 and 100
+     * @return the value below or at which the given percentage of the recorded values lie, 0 if nothing was recorded
+     */
+    synchronized long getValueAtPercentile(double percentile) {
+        if (totalCount == 0) {
+            return 0;
+        }
+        final long countAtPercentile = Math.max(1, (long) Math.ceil(percentile / 100.0 * totalCount));
+        long count = 0;
+        for (int index = 0; index < counts.length; index++) {
+            count += counts[index];
+            if (count >= countAtPercentile) {
+                return Math.min(getHighestValue(index), max);
+            }
+        }
+        return max;
+    }
+
+    static int getIndex(long value) {
+        if (value < SUB_BUCKET_COUNT) {
+            return (int) value;
+        }
+        final int shift = 63 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+        return SUB_BUCKET_COUNT + (shift - 1) * HALF_SUB_BUCKET_COUNT + (int) (value >> shift) - HALF_SUB_BUCKET_COUNT;
+    }
+
+    static long getHighestValue(int index) {
+        if (index < SUB_BUCKET_COUNT) {
+            return index;
+        }
+        final int shift = (index - SUB_BUCKET_COUNT) / HALF_SUB_BUCKET_COUNT + 1;
+        final long subBucket = (index - SUB_BUCKET_COUNT) % HALF_SUB_BUCKET_COUNT + HALF_SUB_BUCKET_COUNT;
+        return ((subBucket + 1) << shift) - 1;
+    }
+}
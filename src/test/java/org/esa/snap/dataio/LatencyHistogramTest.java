@@ -0,0 +1,56 @@
+package org.esa.snap.dataio;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class LatencyHistogramTest {
+
+    @Test
+    public void testPercentiles() {
+        final LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 1; i <= 1000; i++) {
+            histogram.record(i * 1000L);
+        }
+
+        assertEquals(1000, histogram.getCount());
+        assertEquals(1000000, histogram.getMax());
+        assertEquals(500000, histogram.getValueAtPercentile(50), 500000 * 0.02);
+        assertEquals(900000, histogram.getValueAtPercentile(90), 900000 * 0.02);
+        assertEquals(990000, histogram.getValueAtPercentile(99), 990000 * 0.02);
+        assertEquals(1000000, histogram.getValueAtPercentile(100));
+    }
+
+    @Test
+    public void testPercentiles_smallValuesAreExact() {
+        final LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(3);
+        histogram.record(7);
+        histogram.record(7);
+        histogram.record(120);
+
+        assertEquals(7, histogram.getValueAtPercentile(50));
+        assertEquals(120, histogram.getValueAtPercentile(99));
+    }
+
+    @Test
+    public void testPercentiles_empty() {
+        final LatencyHistogram histogram = new LatencyHistogram();
+        assertEquals(0, histogram.getCount());
+        assertEquals(0, histogram.getValueAtPercentile(99));
+    }
+
+    @Test
+    public void testBuckets() {
+        for (long value : new long[]{0, 127, 128, 129, 255, 256, 1000, 123456789, Long.MAX_VALUE}) {
+            final long highestValue = LatencyHistogram.getHighestValue(LatencyHistogram.getIndex(value));
+            assertTrue(value + " <= " + highestValue, value <= highestValue);
+            assertTrue(value + " ~ " + highestValue, highestValue - value <= value / 50);
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testRecord_negative() {
+        new LatencyHistogram().record(-1);
+    }
+}
@@ -0,0 +1,128 @@
+/*
+ * Copyright (C) 2026 Brockmann Consult GmbH (info@brockmann-consult.de)
+ *
+ * This program is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option)
+ * any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License for
+ * more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, see http://www.gnu.org/licenses/
+ */
+
+package org.esa.snap.dataio;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Samples the {@link NativeMemoryUsage} in the background while a product is read to find its peak. The peak and
+ * the residual memory after the product has been disposed are recorded relative to the memory used at the start.
+ * <p>
+ * Short allocations between two samples are missed, so the peak is a lower bound. The memory is per process, so it
+ * can only be attributed to a single product if products are not tested in parallel in the same JVM.
+ */
+class NativeMemoryMonitor {
+
+    static final long SAMPLING_INTERVAL_MILLIS = 10;
+    private static final int MAX_GC_ROUNDS = 10;
+
+    private final NativeMemoryUsage start;
+    private final ScheduledExecutorService sampler;
+    private volatile long peakBufferBytes;
+    private volatile long peakResidentSetSize;
+    private NativeMemoryUsage end;
+
+    private NativeMemoryMonitor(NativeMemoryUsage start) {
+        this.start = start;
+        this.peakBufferBytes = start.getBufferBytes();
+        this.peakResidentSetSize = start.getResidentSetSize();
+        this.sampler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            final Thread thread = new Thread(runnable, "native-memory-monitor");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    static NativeMemoryMonitor start() {
+        final NativeMemoryMonitor monitor = new NativeMemoryMonitor(NativeMemoryUsage.sample());
+        monitor.sampler.scheduleAtFixedRate(() -> monitor.update(NativeMemoryUsage.sample()),
+                                            SAMPLING_INTERVAL_MILLIS, SAMPLING_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+        return monitor;
+    }
+
+    /**
+     * Stops sampling and takes the final sample. Unreferenced direct buffers are only released by the garbage
+     * collector, so it is run before to get the memory actually retained.
+     */
+    void stop() {
+        sampler.shutdownNow();
+        try {
+            sampler.awaitTermination(1, TimeUnit.SECONDS);
+            end = sampleAfterGarbageCollection();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            end = NativeMemoryUsage.sample();
+        }
+        update(end);
+    }
+
+    /**
+     * The memory of collected direct buffers is freed afterwards by a cleaner thread, so the garbage collector is
+     * run until the buffer memory does not decrease anymore.
+     */
+    private static NativeMemoryUsage sampleAfterGarbageCollection() throws InterruptedException {
+        NativeMemoryUsage usage = NativeMemoryUsage.sample();
+        for (int i = 0; i < MAX_GC_ROUNDS; i++) {
+            System.gc();
+            Thread.sleep(SAMPLING_INTERVAL_MILLIS);
+            final NativeMemoryUsage collectedUsage = NativeMemoryUsage.sample();
+            if (i > 0 && collectedUsage.getBufferBytes() >= usage.getBufferBytes()) {
+                return collectedUsage;
+            }
+            usage = collectedUsage;
+        }
+        return usage;
+    }
+
+    private void update(NativeMemoryUsage usage) {
+        peakBufferBytes = Math.max(peakBufferBytes, usage.getBufferBytes());
+        peakResidentSetSize = Math.max(peakResidentSetSize, usage.getResidentSetSize());
+    }
+
+    long getPeakBufferBytes() {
+        return peakBufferBytes - start.getBufferBytes();
+    }
+
+    long getResidualBufferBytes() {
+        return end.getBufferBytes() - start.getBufferBytes();
+    }
+
+    /**
+     * @return the peak increase of the resident set size or -1 if it is not available
+     */
+    long getPeakResidentSetSize() {
+        return start.getResidentSetSize() >= 0 ? peakResidentSetSize - start.getResidentSetSize() : -1;
+    }
+
+    /**
+     * @return the increase of the resident set size after stopping or -1 if it is not available
+     */
+    long getResidualResidentSetSize() {
+        return start.getResidentSetSize() >= 0 ? end.getResidentSetSize() - start.getResidentSetSize() : -1;
+    }
+
+    void setAttributes(ProductTestResult result) {
+        result.setAttribute(ProductTestResult.ATTRIBUTE_BUFFER_MEMORY_PEAK, getPeakBufferBytes());
+        result.setAttribute(ProductTestResult.ATTRIBUTE_BUFFER_MEMORY_RESIDUAL, getResidualBufferBytes());
+        if (start.getResidentSetSize() >= 0) {
+            result.setAttribute(ProductTestResult.ATTRIBUTE_RSS_PEAK, getPeakResidentSetSize());
+            result.setAttribute(ProductTestResult.ATTRIBUTE_RSS_RESIDUAL, getResidualResidentSetSize());
+        }
+    }
+}
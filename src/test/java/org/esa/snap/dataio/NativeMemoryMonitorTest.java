@@ -0,0 +1,39 @@
+package org.esa.snap.dataio;
+
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+
+import static org.junit.Assert.*;
+
+public class NativeMemoryMonitorTest {
+
+    private static final int BUFFER_SIZE = 8 * 1024 * 1024;
+
+    @Test
+    public void testPeakAndResidual() throws InterruptedException {
+        final NativeMemoryMonitor monitor = NativeMemoryMonitor.start();
+        ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+        final ByteBuffer retainedBuffer = ByteBuffer.allocateDirect(BUFFER_SIZE / 2);
+        Thread.sleep(10 * NativeMemoryMonitor.SAMPLING_INTERVAL_MILLIS);
+        buffer = null;
+        monitor.stop();
+
+        assertTrue(monitor.getPeakBufferBytes() >= BUFFER_SIZE + retainedBuffer.capacity());
+        assertTrue(monitor.getResidualBufferBytes() >= retainedBuffer.capacity());
+        assertTrue(monitor.getResidualBufferBytes() < BUFFER_SIZE + retainedBuffer.capacity());
+        assertNull(buffer);
+    }
+
+    @Test
+    public void testSetAttributes() {
+        final NativeMemoryMonitor monitor = NativeMemoryMonitor.start();
+        monitor.stop();
+        final ProductTestResult result = new ProductTestResult("PROD_1");
+
+        monitor.setAttributes(result);
+
+        assertEquals(monitor.getPeakBufferBytes(), result.getAttribute(ProductTestResult.ATTRIBUTE_BUFFER_MEMORY_PEAK));
+        assertEquals(monitor.getResidualBufferBytes(), result.getAttribute(ProductTestResult.ATTRIBUTE_BUFFER_MEMORY_RESIDUAL));
+    }
+}
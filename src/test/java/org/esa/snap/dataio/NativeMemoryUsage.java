@@ -0,0 +1,109 @@
+/*
+ * Copyright (C) 2026 Brockmann Consult GmbH (info@brockmann-consult.de)
+ *
+ * This program is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option)
+ * any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License for
+ * more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, see http://www.gnu.org/licenses/
+ */
+
+package org.esa.snap.dataio;
+
+import java.io.IOException;
+import java.lang.management.BufferPoolMXBean;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+
+/**
+ * Memory of this JVM outside the Java heap: the direct and mapped NIO buffers as reported by the
+ * {@link BufferPoolMXBean}s and the resident set size of the process from {@code /proc/self/status}. Native
+ * libraries like HDF, NetCDF or OpenJPEG allocate memory which only shows up in the resident set size.
+ */
+class NativeMemoryUsage {
+
+    private static final Path PROC_SELF_STATUS = Paths.get("/proc/self/status");
+    private static final String RESIDENT_SET_SIZE_KEY = "VmRSS:";
+
+    private final long directBytes;
+    private final long mappedBytes;
+    private final long residentSetSize;
+
+    NativeMemoryUsage(long directBytes, long mappedBytes, long residentSetSize) {
+        this.directBytes = directBytes;
+        this.mappedBytes = mappedBytes;
+        this.residentSetSize = residentSetSize;
+    }
+
+    static NativeMemoryUsage sample() {
+        long directBytes = 0;
+        long mappedBytes = 0;
+        for (BufferPoolMXBean bufferPool : ManagementFactory.getPlatformMXBeans(BufferPoolMXBean.class)) {
+            if ("direct".equals(bufferPool.getName())) {
+                directBytes += Math.max(0, bufferPool.getMemoryUsed());
+            } else if (bufferPool.getName().startsWith("mapped")) {
+                mappedBytes += Math.max(0, bufferPool.getMemoryUsed());
+            }
+        }
+        return new NativeMemoryUsage(directBytes, mappedBytes, readResidentSetSize());
+    }
+
+    /**
+     * @return the resident set size of this process in bytes or -1 if it is not available
+     */
+    static long readResidentSetSize() {
+        if (!Files.isReadable(PROC_SELF_STATUS)) {
+            return -1;
+        }
+        try {
+            return parseResidentSetSize(Files.readAllLines(PROC_SELF_STATUS, StandardCharsets.US_ASCII));
+        } catch (IOException | RuntimeException e) {
+            return -1;
+        }
+    }
+
+    /**
+     * Parses the {@code VmRSS} line of {@code /proc/self/status}, which is given in kB.
+     */
+    static long parseResidentSetSize(List<String> lines) {
+        for (String line : lines) {
+            if (line.startsWith(RESIDENT_SET_SIZE_KEY)) {
+                final String[] parts = line.substring(RESIDENT_SET_SIZE_KEY.length()).trim().split("\\s+");
+                return Long.parseLong(parts[0]) * 1024;
+            }
+        }
+        return -1;
+    }
+
+    long getDirectBytes() {
+        return directBytes;
+    }
+
+    long getMappedBytes() {
+        return mappedBytes;
+    }
+
+    /**
+     * @return the summed direct and mapped buffers
+     */
+    long getBufferBytes() {
+        return directBytes + mappedBytes;
+    }
+
+    /**
+     * @return the resident set size in bytes or -1 if it is not available
+     */
+    long getResidentSetSize() {
+        return residentSetSize;
+    }
+}
@@ -0,0 +1,34 @@
+package org.esa.snap.dataio;
+
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.Assert.*;
+
+public class NativeMemoryUsageTest {
+
+    @Test
+    public void testParseResidentSetSize() {
+        assertEquals(123456 * 1024L, NativeMemoryUsage.parseResidentSetSize(Arrays.asList("Name:\tjava", "VmPeak:\t 4000000 kB",
+                                                                                          "VmRSS:\t  123456 kB", "Threads:\t42")));
+    }
+
+    @Test
+    public void testParseResidentSetSize_missing() {
+        assertEquals(-1, NativeMemoryUsage.parseResidentSetSize(Collections.singletonList("Name:\tjava")));
+    }
+
+    @Test
+    public void testSample_countsDirectBuffers() {
+        final NativeMemoryUsage start = NativeMemoryUsage.sample();
+        final ByteBuffer buffer = ByteBuffer.allocateDirect(4 * 1024 * 1024);
+
+        final NativeMemoryUsage usage = NativeMemoryUsage.sample();
+
+        assertTrue(usage.getDirectBytes() - start.getDirectBytes() >= buffer.capacity());
+        assertEquals(usage.getDirectBytes() + usage.getMappedBytes(), usage.getBufferBytes());
+    }
+}
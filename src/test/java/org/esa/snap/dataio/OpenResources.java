@@ -0,0 +1,123 @@
+/*
+ * Copyright (C) 2026 Brockmann Consult GmbH (info@brockmann-consult.de)
+ *
+ * This program is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option)
+ * any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License for
+ * more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, see http://www.gnu.org/licenses/
+ */
+
+package org.esa.snap.dataio;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * The files opened by this JVM, as listed in {@code /proc/self/fd}, and its live threads. Comparing a sample taken
+ * before reading a product with one taken after the product has been disposed shows file handles and threads the
+ * reader did not release.
+ * <p>
+ * Both are per process, so leaks can only be attributed to a single product if products are not tested in
+ * parallel, e.g. in worker JVMs. On systems without {@code /proc} only threads are compared.
+ */
+class OpenResources {
+
+    private static final Path PROC_SELF_FD = Paths.get("/proc/self/fd");
+
+    private final List<String> openFiles;
+    private final Map<Long, String> threads;
+
+    OpenResources(List<String> openFiles, Map<Long, String> threads) {
+        this.openFiles = openFiles;
+        this.threads = threads;
+    }
+
+    static OpenResources sample() {
+        final Map<Long, String> threads = new HashMap<>();
+        for (Thread thread : Thread.getAllStackTraces().keySet()) {
+            if (thread.isAlive()) {
+                threads.put(thread.threadId(), thread.getName());
+            }
+        }
+        return new OpenResources(listOpenFiles(), threads);
+    }
+
+    /**
+     * @return the targets of the open file descriptors, e.g. file paths or {@code socket:[1234]}, or {@code null}
+     * if they cannot be listed
+     */
+    private static List<String> listOpenFiles() {
+        if (!Files.isDirectory(PROC_SELF_FD)) {
+            return null;
+        }
+        final List<String> openFiles = new ArrayList<>();
+        try (DirectoryStream<Path> fds = Files.newDirectoryStream(PROC_SELF_FD)) {
+            for (Path fd : fds) {
+                try {
+                    openFiles.add(Files.readSymbolicLink(fd).toString());
+                } catch (IOException e) {
+                    // closed while listing, e.g. the descriptor of the directory stream itself
+                }
+            }
+        } catch (IOException e) {
+            return null;
+        }
+        return openFiles;
+    }
+
+    /**
+     * @param ignored pattern of file paths not to report, e.g. JAR files opened by class loading
+     * @return the files opened since the earlier sample, once per additional descriptor
+     */
+    List<String> getLeakedFiles(OpenResources earlier, Pattern ignored) {
+        if (openFiles == null || earlier.openFiles == null) {
+            return Collections.emptyList();
+        }
+        final Map<String, Integer> earlierCounts = new HashMap<>();
+        for (String openFile : earlier.openFiles) {
+            earlierCounts.merge(openFile, 1, Integer::sum);
+        }
+        final List<String> leakedFiles = new ArrayList<>();
+        for (String openFile : openFiles) {
+            final Integer earlierCount = earlierCounts.get(openFile);
+            if (earlierCount != null && earlierCount > 0) {
+                earlierCounts.put(openFile, earlierCount - 1);
+            } else if (!ignored.matcher(openFile).matches()) {
+                leakedFiles.add(openFile);
+            }
+        }
+        Collections.sort(leakedFiles);
+        return leakedFiles;
+    }
+
+    /**
+     * @param ignored pattern of thread names not to report, e.g. threads of shared pools started on demand
+     * @return the names of the threads started since the earlier sample and still alive
+     */
+    List<String> getLeakedThreads(OpenResources earlier, Pattern ignored) {
+        final List<String> leakedThreads = new ArrayList<>();
+        for (Map.Entry<Long, String> thread : threads.entrySet()) {
+            if (!earlier.threads.containsKey(thread.getKey()) && !ignored.matcher(thread.getValue()).matches()) {
+                leakedThreads.add(thread.getValue());
+            }
+        }
+        Collections.sort(leakedThreads);
+        return leakedThreads;
+    }
+}
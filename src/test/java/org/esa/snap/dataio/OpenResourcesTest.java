@@ -0,0 +1,83 @@
+package org.esa.snap.dataio;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.regex.Pattern;
+
+import static org.junit.Assert.*;
+
+public class OpenResourcesTest {
+
+    private static final Pattern NOTHING = Pattern.compile("");
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void testGetLeakedFiles() {
+        final OpenResources before = new OpenResources(Arrays.asList("/data/a.nc", "socket:[12]"), Collections.emptyMap());
+        final OpenResources after = new OpenResources(Arrays.asList("/data/a.nc", "/data/a.nc", "/data/b.nc", "/opt/lib/x.jar"),
+                                                      Collections.emptyMap());
+
+        assertEquals(Arrays.asList("/data/a.nc", "/data/b.nc"), after.getLeakedFiles(before, Pattern.compile(".*\\.jar")));
+    }
+
+    @Test
+    public void testGetLeakedFiles_notAvailable() {
+        final OpenResources before = new OpenResources(null, Collections.emptyMap());
+        final OpenResources after = new OpenResources(Collections.singletonList("/data/a.nc"), Collections.emptyMap());
+
+        assertTrue(after.getLeakedFiles(before, NOTHING).isEmpty());
+    }
+
+    @Test
+    public void testGetLeakedThreads() {
+        final Map<Long, String> threadsBefore = new HashMap<>();
+        threadsBefore.put(1L, "main");
+        threadsBefore.put(20L, "reader-pool-1");
+        final Map<Long, String> threadsAfter = new HashMap<>(threadsBefore);
+        threadsAfter.remove(20L);
+        threadsAfter.put(21L, "reader-pool-2");
+        threadsAfter.put(22L, "SunTileScheduler0Standard1");
+
+        final OpenResources before = new OpenResources(null, threadsBefore);
+        final OpenResources after = new OpenResources(null, threadsAfter);
+
+        assertEquals(Collections.singletonList("reader-pool-2"), after.getLeakedThreads(before, Pattern.compile("SunTileScheduler.*")));
+    }
+
+    @Test
+    public void testSample() throws IOException, InterruptedException {
+        final File file = temporaryFolder.newFile("leaked.bin");
+        final CountDownLatch stopped = new CountDownLatch(1);
+        final OpenResources before = OpenResources.sample();
+        final Thread thread = new Thread(() -> {
+            try {
+                stopped.await();
+            } catch (InterruptedException ignored) {
+            }
+        }, "leaked-thread");
+        thread.start();
+        try (FileInputStream ignored = new FileInputStream(file)) {
+            final OpenResources after = OpenResources.sample();
+
+            assertEquals(Collections.singletonList("leaked-thread"), after.getLeakedThreads(before, NOTHING));
+            if (new File("/proc/self/fd").isDirectory()) {
+                assertEquals(Collections.singletonList(file.getCanonicalPath()), after.getLeakedFiles(before, NOTHING));
+            }
+        } finally {
+            stopped.countDown();
+            thread.join();
+        }
+    }
+}
@@ -0,0 +1,205 @@
+/*
+ * Copyright (C) 2026 Brockmann Consult GmbH (info@brockmann-consult.de)
+ *
+ * This program is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option)
+ * any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License for
+ * more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, see http://www.gnu.org/licenses/
+ */
+package org.esa.snap.dataio;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.logging.Logger;
+
+/**
+ * Reference times of the read time phases per product. For each product and phase the times of the last
+ * {@value #MAX_SAMPLES} accepted runs are kept and their median is used as baseline, so a single noisy run does not
+ * shift the baseline much.
+ * <p>
+ * A run is accepted, i.e. its times become new samples, either with
+ * {@code -Dsnap.reader.tests.baseline.accept=true} or afterwards from its JSON Lines report (see
+ * {@link ReadTimesReport}), products with errors are left out:
+ * <pre>
+ *     java -cp &lt;test classpath&gt; org.esa.snap.dataio.PerformanceBaseline &lt;baseline file&gt; &lt;report file&gt;
+ * </pre>
+ */
+class PerformanceBaseline {
+
+    static final String PROPERTYNAME_BASELINE_FILE = "snap.reader.tests.baseline.file";
+    static final String PROPERTYNAME_BASELINE_RELATIVE_THRESHOLD = "snap.reader.tests.baseline.relativeThreshold";
+    static final String PROPERTYNAME_BASELINE_ABSOLUTE_THRESHOLD = "snap.reader.tests.baseline.absoluteThreshold";
+    static final String PROPERTYNAME_BASELINE_FAIL_ON_REGRESSION = "snap.reader.tests.baseline.failOnRegression";
+    static final String PROPERTYNAME_BASELINE_ACCEPT = "snap.reader.tests.baseline.accept";
+    static final int MAX_SAMPLES = 5;
+
+    private static final TypeReference<TreeMap<String, TreeMap<String, List<Long>>>> SAMPLES_TYPE = new TypeReference<>() {
+    };
+
+    private final File baselineFile;
+    private final Map<String, TreeMap<String, List<Long>>> samples;
+    private final Map<String, Map<String, Long>> acceptedTimes;
+
+    PerformanceBaseline(File baselineFile) {
+        this.baselineFile = baselineFile;
+        this.samples = new TreeMap<>();
+        this.acceptedTimes = new TreeMap<>();
+    }
+
+    void load() throws IOException {
+        final Map<String, TreeMap<String, List<Long>>> loadedSamples = JsonFiles.read(baselineFile, SAMPLES_TYPE);
+        if (loadedSamples != null) {
+            samples.putAll(loadedSamples);
+        }
+    }
+
+    /**
+     * Adds the accepted times to the samples and writes the baseline file.
+     */
+    synchronized void save() throws IOException {
+        for (Map.Entry<String, Map<String, Long>> productTimes : acceptedTimes.entrySet()) {
+            final TreeMap<String, List<Long>> productSamples = samples.computeIfAbsent(productTimes.getKey(), key -> new TreeMap<>());
+            for (Map.Entry<String, Long> phaseTime : productTimes.getValue().entrySet()) {
+                final List<Long> phaseSamples = productSamples.computeIfAbsent(phaseTime.getKey(), key -> new ArrayList<>());
+                phaseSamples.add(phaseTime.getValue());
+                while (phaseSamples.size() > MAX_SAMPLES) {
+                    phaseSamples.remove(0);
+                }
+            }
+        }
+        acceptedTimes.clear();
+        JsonFiles.write(baselineFile, samples);
+    }
+
+    File getBaselineFile() {
+        return baselineFile;
+    }
+
+    int size() {
+        return samples.size();
+    }
+
+    /**
+     * @return the median of the accepted times or -1 if there is no baseline for the product and phase
+     */
+    synchronized long getBaseline(String productId, String phase) {
+        final Map<String, List<Long>> productSamples = samples.get(toKey(productId));
+        if (productSamples == null || productSamples.get(phase) == null || productSamples.get(phase).isEmpty()) {
+            return -1;
+        }
+        final List<Long> sorted = new ArrayList<>(productSamples.get(phase));
+        sorted.sort(null);
+        final int middle = sorted.size() / 2;
+        if (sorted.size() % 2 == 1) {
+            return sorted.get(middle);
+        }
+        return (sorted.get(middle - 1) + sorted.get(middle)) / 2;
+    }
+
+    /**
+     * Compares the phase times of the result with the baseline. A phase regressed if it took longer than the
+     * baseline by more than the relative threshold and by more than the absolute threshold, the latter avoiding
+     * alarms for phases of a few milliseconds.
+     *
+     * @param relativeThreshold allowed increase relative to the baseline, e.g. 0.5 for 50%
+     * @param absoluteThreshold allowed increase in milliseconds
+     * @return a description of each regressed phase
+     */
+    List<String> findRegressions(ProductTestResult result, double relativeThreshold, long absoluteThreshold) {
+        final List<String> regressions = new ArrayList<>();
+        for (String phase : ProductTestResult.PHASES) {
+            final long baseline = getBaseline(result.getProductId(), phase);
+            if (baseline < 0 || !result.hasPhaseTime(phase)) {
+                continue;
+            }
+            final long time = result.getPhaseTime(phase);
+            final long increase = time - baseline;
+            if (increase > absoluteThreshold && increase > baseline * relativeThreshold) {
+                final String percentage = baseline > 0 ? String.format(Locale.ENGLISH, " (+%.0f%%)", 100.0 * increase / baseline) : "";
+                regressions.add(String.format("%s of %s took %d ms, baseline is %d ms%s",
+                                              phase, result.getProductId(), time, baseline, percentage));
+            }
+        }
+        return regressions;
+    }
+
+    /**
+     * Reports phases which took considerably longer than the baseline, as error if
+     * {@value #PROPERTYNAME_BASELINE_FAIL_ON_REGRESSION} is set and otherwise as warning. If the run is accepted as
+     * new baseline, its times are added to the baseline samples and regressions are only logged.
+     */
+    void compare(ProductTestResult result, Logger logger) {
+        final double relativeThreshold = Double.parseDouble(System.getProperty(PROPERTYNAME_BASELINE_RELATIVE_THRESHOLD, "0.5"));
+        final long absoluteThreshold = Long.getLong(PROPERTYNAME_BASELINE_ABSOLUTE_THRESHOLD, 100);
+        final boolean accept = Boolean.getBoolean(PROPERTYNAME_BASELINE_ACCEPT);
+        final boolean failOnRegression = Boolean.getBoolean(PROPERTYNAME_BASELINE_FAIL_ON_REGRESSION) && !accept;
+        for (String regression : findRegressions(result, relativeThreshold, absoluteThreshold)) {
+            if (failOnRegression) {
+                result.addError(new AssertionError("Performance regression: " + regression));
+            } else {
+                logger.warning("Performance regression: " + regression);
+            }
+        }
+        if (accept) {
+            accept(result);
+        }
+    }
+
+    /**
+     * Accepts the phase times of the result as samples for the baseline, they are added when saving.
+     */
+    synchronized void accept(ProductTestResult result) {
+        final Map<String, Long> phaseTimes = new TreeMap<>();
+        for (String phase : ProductTestResult.PHASES) {
+            if (result.hasPhaseTime(phase)) {
+                phaseTimes.put(phase, result.getPhaseTime(phase));
+            }
+        }
+        if (!phaseTimes.isEmpty()) {
+            acceptedTimes.put(toKey(result.getProductId()), phaseTimes);
+        }
+    }
+
+    private static String toKey(String productId) {
+        return productId.toLowerCase();
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            System.err.println("Usage: PerformanceBaseline <baseline file> <JSON Lines report file>");
+            System.exit(1);
+        }
+        final PerformanceBaseline baseline = new PerformanceBaseline(new File(args[0]));
+        baseline.load();
+        int acceptedCount = 0;
+        for (Map<?, ?> row : JsonFiles.readLines(new File(args[1]), Map.class)) {
+            if (row.get("errors") instanceof Number && ((Number) row.get("errors")).intValue() > 0) {
+                continue;
+            }
+            final ProductTestResult result = new ProductTestResult(String.valueOf(row.get("productId")));
+            for (String phase : ProductTestResult.PHASES) {
+                if (row.get(phase) instanceof Number) {
+                    result.setPhaseTime(phase, ((Number) row.get(phase)).longValue());
+                }
+            }
+            baseline.accept(result);
+            acceptedCount++;
+        }
+        baseline.save();
+        System.out.println("Accepted " + acceptedCount + " products as baseline in " + baseline.getBaselineFile().getAbsolutePath());
+    }
+}
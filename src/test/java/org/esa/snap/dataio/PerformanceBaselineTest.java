@@ -0,0 +1,104 @@
+package org.esa.snap.dataio;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class PerformanceBaselineTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private File baselineFile;
+
+    @Before
+    public void setUp() {
+        baselineFile = new File(temporaryFolder.getRoot(), "baseline/read-times.json");
+    }
+
+    @Test
+    public void testGetBaseline_isMedianOfAcceptedRuns() throws IOException {
+        for (long readNodesTime : new long[]{300, 100, 200}) {
+            final PerformanceBaseline baseline = new PerformanceBaseline(baselineFile);
+            baseline.load();
+            baseline.accept(createResult("PROD_1", readNodesTime));
+            baseline.save();
+        }
+
+        final PerformanceBaseline baseline = new PerformanceBaseline(baselineFile);
+        baseline.load();
+        assertEquals(1, baseline.size());
+        assertEquals(200, baseline.getBaseline("prod_1", ProductTestResult.PHASE_READ_NODES));
+        assertEquals(-1, baseline.getBaseline("PROD_1", ProductTestResult.PHASE_GET_STX));
+        assertEquals(-1, baseline.getBaseline("PROD_2", ProductTestResult.PHASE_READ_NODES));
+    }
+
+    @Test
+    public void testSave_keepsOnlyLastSamples() throws IOException {
+        final PerformanceBaseline baseline = new PerformanceBaseline(baselineFile);
+        for (int i = 0; i < PerformanceBaseline.MAX_SAMPLES; i++) {
+            baseline.accept(createResult("PROD_1", 1000));
+            baseline.save();
+        }
+        baseline.accept(createResult("PROD_1", 10));
+        baseline.save();
+        assertEquals(1000, baseline.getBaseline("PROD_1", ProductTestResult.PHASE_READ_NODES));
+        for (int i = 0; i < PerformanceBaseline.MAX_SAMPLES / 2; i++) {
+            baseline.accept(createResult("PROD_1", 10));
+            baseline.save();
+        }
+        assertEquals(10, baseline.getBaseline("PROD_1", ProductTestResult.PHASE_READ_NODES));
+    }
+
+    @Test
+    public void testFindRegressions() throws IOException {
+        final PerformanceBaseline baseline = new PerformanceBaseline(baselineFile);
+        baseline.accept(createResult("PROD_1", 1000));
+        baseline.accept(createResult("PROD_2", 20));
+        // accepted times count only after saving
+        assertTrue(baseline.findRegressions(createResult("PROD_1", 5000), 0.5, 100).isEmpty());
+        baseline.save();
+
+        assertTrue(baseline.findRegressions(createResult("PROD_1", 1400), 0.5, 100).isEmpty());
+        final List<String> regressions = baseline.findRegressions(createResult("PROD_1", 1600), 0.5, 100);
+        assertEquals(1, regressions.size());
+        assertTrue(regressions.get(0), regressions.get(0).contains("readNodes of PROD_1 took 1600 ms, baseline is 1000 ms"));
+        // below the absolute threshold
+        assertTrue(baseline.findRegressions(createResult("PROD_2", 90), 0.5, 100).isEmpty());
+        // unknown product
+        assertTrue(baseline.findRegressions(createResult("PROD_3", 90000), 0.5, 100).isEmpty());
+    }
+
+    @Test
+    public void testMain_acceptsReport() throws IOException {
+        final File reportFile = temporaryFolder.newFile("read-times.jsonl");
+        final ProductTestResult failedResult = createResult("PROD_2", 50);
+        failedResult.addError(new AssertionError("failed"));
+        try (ReadTimesReport report = new ReadTimesReport(reportFile, null)) {
+            report.write(createResult("PROD_1", 300));
+            report.write(failedResult);
+        }
+
+        PerformanceBaseline.main(new String[]{baselineFile.getPath(), reportFile.getPath()});
+
+        final PerformanceBaseline baseline = new PerformanceBaseline(baselineFile);
+        baseline.load();
+        assertEquals(1, baseline.size());
+        assertEquals(300, baseline.getBaseline("PROD_1", ProductTestResult.PHASE_READ_NODES));
+        assertEquals(5, baseline.getBaseline("PROD_1", ProductTestResult.PHASE_FIND_READER));
+    }
+
+    private static ProductTestResult createResult(String productId, long readNodesTime) {
+        final ProductTestResult result = new ProductTestResult(productId);
+        result.setPhaseTime(ProductTestResult.PHASE_FIND_READER, 5);
+        result.setPhaseTime(ProductTestResult.PHASE_READ_NODES, readNodesTime);
+        return result;
+    }
+}
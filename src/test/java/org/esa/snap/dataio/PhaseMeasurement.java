@@ -0,0 +1,96 @@
+/*
+ * Copyright (C) 2026 Brockmann Consult GmbH (info@brockmann-consult.de)
+ *
+ * This program is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option)
+ * any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License for
+ * more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, see http://www.gnu.org/licenses/
+ */
+
+package org.esa.snap.dataio;
+
+import org.esa.snap.core.util.StopWatch;
+
+/**
+ * Measures one phase of a product test: the wall clock time, the {@link ThreadUsage}, the {@link ProcessIoUsage} and
+ * a {@link ReaderTestEvent} for flight recordings. The results are stored in a {@link ProductTestResult} when the phase is stopped.
+ */
+class PhaseMeasurement {
+
+    private final String phase;
+    private final ReaderTestEvent event;
+    private final ThreadUsage startUsage;
+    private final ProcessIoUsage startIoUsage;
+    private final StopWatch stopWatch;
+    private ThreadUsage usage;
+    private ProcessIoUsage ioUsage;
+
+    private PhaseMeasurement(String productId, String plugin, String phase, boolean threadUsage) {
+        this.phase = phase;
+        this.event = ReaderTestEvent.start(productId, plugin, phase);
+        this.startUsage = threadUsage ? ThreadUsage.sample() : null;
+        this.startIoUsage = ProcessIoUsage.sample();
+        this.stopWatch = new StopWatch();
+        this.stopWatch.start();
+    }
+
+    /**
+     * @param plugin      the class name of the reader plugin, may be {@code null} if not known yet
+     * @param threadUsage whether the {@link ThreadUsage} is measured, only if no other product is tested at the same
+     *                    time, as the tile scheduler threads are shared
+     */
+    static PhaseMeasurement start(String productId, String plugin, String phase, boolean threadUsage) {
+        return new PhaseMeasurement(productId, plugin, phase, threadUsage);
+    }
+
+    void setPlugin(String plugin) {
+        event.setPlugin(plugin);
+    }
+
+    void setBytes(long bytes) {
+        event.setBytes(bytes);
+    }
+
+    void setTiles(int tiles) {
+        event.setTiles(tiles);
+    }
+
+    /**
+     * Stops the measurement and sets the time of the phase and its usage and I/O attributes in the given result.
+     */
+    void stop(ProductTestResult result) {
+        stopWatch.stop();
+        usage = startUsage != null ? ThreadUsage.sample().since(startUsage) : null;
+        final ProcessIoUsage endIoUsage = ProcessIoUsage.sample();
+        ioUsage = startIoUsage != null && endIoUsage != null ? endIoUsage.since(startIoUsage) : null;
+        event.commit();
+        result.setPhaseTime(phase, stopWatch.getTimeDiff());
+        if (usage != null) {
+            usage.setAttributes(result, phase);
+        }
+        if (ioUsage != null) {
+            ioUsage.setAttributes(result, phase);
+        }
+    }
+
+    /**
+     * @return the usage of the stopped phase or {@code null} if not measured
+     */
+    ThreadUsage getUsage() {
+        return usage;
+    }
+
+    /**
+     * @return the I/O of the stopped phase or {@code null} if not available
+     */
+    ProcessIoUsage getIoUsage() {
+        return ioUsage;
+    }
+}
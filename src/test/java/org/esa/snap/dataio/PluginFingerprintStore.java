@@ -0,0 +1,192 @@
+/*
+ * Copyright (C) 2026 Brockmann Consult GmbH (info@brockmann-consult.de)
+ *
+ * This program is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option)
+ * any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License for
+ * more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, see http://www.gnu.org/licenses/
+ */
+package org.esa.snap.dataio;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import org.esa.snap.core.dataio.ProductReaderPlugIn;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.logging.Logger;
+
+/**
+ * Persists the fingerprints of the reader test definitions tested successfully, keyed by the reader plugin class
+ * name. A definition whose fingerprint did not change since then does not need to be tested again.
+ * <p>
+ * The fingerprint of a definition covers the reader, its test data and the libraries on the class path.
+ */
+class PluginFingerprintStore {
+
+    private static final TypeReference<TreeMap<String, String>> FINGERPRINTS_TYPE = new TypeReference<>() {
+    };
+
+    private final File storeFile;
+    private final Map<String, String> fingerprints;
+    private final Map<String, String> currentFingerprints;
+    private final Set<String> unchangedPlugins;
+
+    PluginFingerprintStore(File storeFile) {
+        this.storeFile = storeFile;
+        this.fingerprints = new TreeMap<>();
+        this.currentFingerprints = new HashMap<>();
+        this.unchangedPlugins = new HashSet<>();
+    }
+
+    void load() throws IOException {
+        final Map<String, String> loadedFingerprints = JsonFiles.read(storeFile, FINGERPRINTS_TYPE);
+        if (loadedFingerprints != null) {
+            fingerprints.putAll(loadedFingerprints);
+        }
+    }
+
+    void save() throws IOException {
+        JsonFiles.write(storeFile, fingerprints);
+    }
+
+    File getStoreFile() {
+        return storeFile;
+    }
+
+    int size() {
+        return fingerprints.size();
+    }
+
+    /**
+     * @return {@code true} if the given fingerprint is known and equals the stored one
+     */
+    boolean isUnchanged(String pluginClassName, String fingerprint) {
+        return fingerprint != null && fingerprint.equals(fingerprints.get(pluginClassName));
+    }
+
+    void put(String pluginClassName, String fingerprint) {
+        if (fingerprint != null) {
+            fingerprints.put(pluginClassName, fingerprint);
+        }
+    }
+
+    /**
+     * Fingerprints the reader of each test definition, its test data and the class path. Readers unchanged since the
+     * last successful run are remembered, reading their products is skipped.
+     *
+     * @param readerPlugIns all reader plugins, their jars are left out of the class path fingerprint
+     */
+    void fingerprint(List<ProductReaderPlugIn> readerPlugIns, TestDefinitionList testDefinitions, Logger logger) throws IOException {
+        final String classPathFingerprint = getClassPathFingerprint(readerPlugIns);
+        for (TestDefinition testDefinition : testDefinitions) {
+            final Class<? extends ProductReaderPlugIn> readerPlugInClass = testDefinition.getProductReaderPlugin().getClass();
+            final String dataResourceName = ReaderTestDefinitions.getReaderTestResourceName(readerPlugInClass.getName(), "-data.json");
+            final String[] ids = testDefinition.getAllProducts().stream().map(TestProduct::getId).toArray(String[]::new);
+            final String fingerprint = ArtifactFingerprints.ofReaderTestDefinition(readerPlugInClass, dataResourceName, ids,
+                                                                                   classPathFingerprint);
+            if (putCurrent(readerPlugInClass.getName(), fingerprint)) {
+                logger.info(readerPlugInClass.getSimpleName() + " unchanged since last successful run, reading its products is skipped");
+            }
+        }
+    }
+
+    /**
+     * Sets the fingerprint the reader has in this run.
+     *
+     * @return whether it equals the stored fingerprint, then the reader is remembered as unchanged
+     */
+    boolean putCurrent(String pluginClassName, String fingerprint) {
+        currentFingerprints.put(pluginClassName, fingerprint);
+        if (isUnchanged(pluginClassName, fingerprint)) {
+            unchangedPlugins.add(pluginClassName);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * @return whether the reader of the definition, its test data and the libraries on the class path are unchanged
+     * since the last successful run
+     */
+    boolean isUnchanged(TestDefinition testDefinition) {
+        return unchangedPlugins.contains(testDefinition.getProductReaderPlugin().getClass().getName());
+    }
+
+    /**
+     * @return whether the readers of all definitions listing the product are unchanged, so reading the product is
+     * skipped. Its decode qualifications are still tested, as a changed reader may claim the product.
+     */
+    boolean isUnchanged(TestProduct testProduct, TestDefinitionList testDefinitions) {
+        if (unchangedPlugins.isEmpty()) {
+            return false;
+        }
+        boolean listed = false;
+        for (TestDefinition testDefinition : testDefinitions) {
+            if (containsProduct(testDefinition, testProduct.getId())) {
+                if (!isUnchanged(testDefinition)) {
+                    return false;
+                }
+                listed = true;
+            }
+        }
+        return listed;
+    }
+
+    /**
+     * Takes over the current fingerprints of the readers of which all products were selected. The others, e.g. left
+     * out due to sharding or the time budget, keep their previous fingerprint.
+     *
+     * @param testProducts the global product list, which holds the selection of products listed by several definitions
+     */
+    void acceptSelected(TestDefinitionList testDefinitions, ProductList testProducts) {
+        for (TestDefinition testDefinition : testDefinitions) {
+            boolean allSelected = true;
+            for (TestProduct testProduct : testDefinition.getAllProducts()) {
+                final TestProduct globalProduct = testProducts.getById(testProduct.getId());
+                allSelected &= globalProduct != null && globalProduct.isSelected();
+            }
+            if (allSelected) {
+                final String pluginClassName = testDefinition.getProductReaderPlugin().getClass().getName();
+                put(pluginClassName, currentFingerprints.get(pluginClassName));
+            }
+        }
+    }
+
+    /**
+     * @return the fingerprint of the class path without the jars of the reader plugins, which are fingerprinted per
+     * reader, so a change of one reader does not cause all others to be tested again
+     */
+    private static String getClassPathFingerprint(List<ProductReaderPlugIn> readerPlugIns) {
+        final Set<Path> readerLocations = new HashSet<>();
+        for (ProductReaderPlugIn readerPlugIn : readerPlugIns) {
+            final Path location = ArtifactFingerprints.getCodeSourcePath(readerPlugIn.getClass());
+            if (location != null) {
+                readerLocations.add(location);
+            }
+        }
+        return ArtifactFingerprints.ofClassPath(readerLocations);
+    }
+
+    private static boolean containsProduct(TestDefinition testDefinition, String productId) {
+        for (TestProduct product : testDefinition.getAllProducts()) {
+            if (product.getId().equals(productId)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,109 @@
+package org.esa.snap.dataio;
+
+import eu.esa.opt.dataio.landsat.geotiff.LandsatGeotiffReaderPlugin;
+import org.esa.snap.core.dataio.ProductReaderPlugIn;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class PluginFingerprintStoreTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private File storeFile;
+
+    @Before
+    public void setUp() {
+        storeFile = new File(temporaryFolder.getRoot(), "fingerprints/plugin-fingerprints.json");
+    }
+
+    @Test
+    public void testIsUnchanged_unknownPlugin() {
+        final PluginFingerprintStore store = new PluginFingerprintStore(storeFile);
+
+        assertFalse(store.isUnchanged("org.esa.SomePlugIn", "abc"));
+    }
+
+    @Test
+    public void testSaveAndLoad() throws IOException {
+        final PluginFingerprintStore store = new PluginFingerprintStore(storeFile);
+        store.put("org.esa.SomePlugIn", "abc");
+        store.put("org.esa.OtherPlugIn", null);
+        store.save();
+
+        final PluginFingerprintStore loaded = new PluginFingerprintStore(storeFile);
+        loaded.load();
+
+        assertEquals(1, loaded.size());
+        assertTrue(loaded.isUnchanged("org.esa.SomePlugIn", "abc"));
+        assertFalse(loaded.isUnchanged("org.esa.SomePlugIn", "abd"));
+        assertFalse(loaded.isUnchanged("org.esa.SomePlugIn", null));
+        assertFalse(loaded.isUnchanged("org.esa.OtherPlugIn", null));
+    }
+
+    @Test
+    public void testAcceptSelected_productSharedByDefinitions() {
+        final ProductReaderPlugIn somePlugIn = new LandsatGeotiffReaderPlugin() {
+        };
+        final ProductReaderPlugIn otherPlugIn = new LandsatGeotiffReaderPlugin() {
+        };
+        final ProductReaderPlugIn thirdPlugIn = new LandsatGeotiffReaderPlugin() {
+        };
+        final ProductList productList = new ProductList();
+        final TestDefinitionList testDefinitions = new TestDefinitionList();
+        testDefinitions.add(createDefinition(somePlugIn, productList, "SHARED_1", "SOME_1"));
+        testDefinitions.add(createDefinition(otherPlugIn, productList, "SHARED_1"));
+        testDefinitions.add(createDefinition(thirdPlugIn, productList, "THIRD_1"));
+        productList.getById("SHARED_1").setSelected(false);
+
+        final PluginFingerprintStore store = new PluginFingerprintStore(storeFile);
+        assertFalse(store.putCurrent(somePlugIn.getClass().getName(), "abc"));
+        assertFalse(store.putCurrent(otherPlugIn.getClass().getName(), "def"));
+        assertFalse(store.putCurrent(thirdPlugIn.getClass().getName(), "ghi"));
+        store.acceptSelected(testDefinitions, productList);
+
+        assertFalse(store.isUnchanged(somePlugIn.getClass().getName(), "abc"));
+        assertFalse(store.isUnchanged(otherPlugIn.getClass().getName(), "def"));
+        assertTrue(store.isUnchanged(thirdPlugIn.getClass().getName(), "ghi"));
+    }
+
+    @Test
+    public void testPutCurrent_unchanged() {
+        final PluginFingerprintStore store = new PluginFingerprintStore(storeFile);
+        store.put("org.esa.SomePlugIn", "abc");
+
+        assertTrue(store.putCurrent("org.esa.SomePlugIn", "abc"));
+        assertFalse(store.putCurrent("org.esa.OtherPlugIn", "abc"));
+    }
+
+    /**
+     * Each definition gets its own instances of the products, like when loaded from the data files of the readers.
+     * Only the first instance of an id goes into the global product list.
+     */
+    private static TestDefinition createDefinition(ProductReaderPlugIn readerPlugIn, ProductList productList, String... productIds) {
+        final TestDefinition testDefinition = new TestDefinition();
+        testDefinition.setProductReaderPlugin(readerPlugIn);
+        final List<TestProduct> testProducts = new ArrayList<>();
+        for (String productId : productIds) {
+            final TestProduct testProduct = new TestProduct();
+            testProduct.setId(productId);
+            testProducts.add(testProduct);
+            if (productList.getById(productId) == null) {
+                final TestProduct globalProduct = new TestProduct();
+                globalProduct.setId(productId);
+                productList.add(globalProduct);
+            }
+        }
+        testDefinition.addTestProducts(testProducts);
+        return testDefinition;
+    }
+}
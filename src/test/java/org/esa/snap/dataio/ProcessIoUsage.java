@@ -0,0 +1,110 @@
+/*
+ * Copyright (C) 2026 Brockmann Consult GmbH (info@brockmann-consult.de)
+ *
+ * This program is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option)
+ * any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License for
+ * more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, see http://www.gnu.org/licenses/
+ */
+
+package org.esa.snap.dataio;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+
+/**
+ * Bytes read and number of read calls of this JVM as counted by Linux in {@code /proc/self/io}. The difference of
+ * two samples gives the I/O of a phase of a product test, which also covers reads done by native libraries like
+ * HDF or NetCDF. Seeks are not counted by the kernel and each sample itself adds a read call of a few hundred bytes.
+ * <p>
+ * The counters are per process, so the I/O can only be attributed to a single product if products are not tested
+ * in parallel, e.g. in worker JVMs. On other systems the counters are not available and nothing is recorded.
+ */
+class ProcessIoUsage {
+
+    private static final Path PROC_SELF_IO = Paths.get("/proc/self/io");
+
+    private final long readBytes;
+    private final long readCalls;
+
+    ProcessIoUsage(long readBytes, long readCalls) {
+        this.readBytes = readBytes;
+        this.readCalls = readCalls;
+    }
+
+    /**
+     * @return the current counters or {@code null} if they are not available
+     */
+    static ProcessIoUsage sample() {
+        if (!Files.isReadable(PROC_SELF_IO)) {
+            return null;
+        }
+        try {
+            return parse(Files.readAllLines(PROC_SELF_IO, StandardCharsets.US_ASCII));
+        } catch (IOException | RuntimeException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Parses the lines of {@code /proc/self/io}, of which {@code rchar} and {@code syscr} are used.
+     */
+    static ProcessIoUsage parse(List<String> lines) {
+        long readBytes = -1;
+        long readCalls = -1;
+        for (String line : lines) {
+            final int separatorIndex = line.indexOf(':');
+            if (separatorIndex < 0) {
+                continue;
+            }
+            final String name = line.substring(0, separatorIndex).trim();
+            if ("rchar".equals(name)) {
+                readBytes = Long.parseLong(line.substring(separatorIndex + 1).trim());
+            } else if ("syscr".equals(name)) {
+                readCalls = Long.parseLong(line.substring(separatorIndex + 1).trim());
+            }
+        }
+        if (readBytes < 0 || readCalls < 0) {
+            throw new IllegalArgumentException("No rchar and syscr counters found");
+        }
+        return new ProcessIoUsage(readBytes, readCalls);
+    }
+
+    /**
+     * @return the I/O between the given earlier sample and this one
+     */
+    ProcessIoUsage since(ProcessIoUsage start) {
+        return new ProcessIoUsage(Math.max(0, readBytes - start.readBytes), Math.max(0, readCalls - start.readCalls));
+    }
+
+    ProcessIoUsage plus(ProcessIoUsage other) {
+        return new ProcessIoUsage(readBytes + other.readBytes, readCalls + other.readCalls);
+    }
+
+    long getReadBytes() {
+        return readBytes;
+    }
+
+    long getReadCalls() {
+        return readCalls;
+    }
+
+    /**
+     * Sets the I/O as attributes of the result, named after the given phase like the {@link ThreadUsage} attributes.
+     */
+    void setAttributes(ProductTestResult result, String phase) {
+        result.setAttribute(ProductTestResult.getAttributeName(phase, ProductTestResult.ATTRIBUTE_READ_BYTES), readBytes);
+        result.setAttribute(ProductTestResult.getAttributeName(phase, ProductTestResult.ATTRIBUTE_READ_CALLS), readCalls);
+    }
+}
@@ -0,0 +1,55 @@
+package org.esa.snap.dataio;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Arrays;
+
+import static org.junit.Assert.*;
+import static org.junit.Assume.assumeNotNull;
+
+public class ProcessIoUsageTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void testParse() {
+        final ProcessIoUsage usage = ProcessIoUsage.parse(Arrays.asList("rchar: 3980", "wchar: 12", "syscr: 9", "syscw: 1",
+                                                                        "read_bytes: 4096", "write_bytes: 0"));
+        assertEquals(3980, usage.getReadBytes());
+        assertEquals(9, usage.getReadCalls());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testParse_missingCounters() {
+        ProcessIoUsage.parse(Arrays.asList("wchar: 12", "syscw: 1"));
+    }
+
+    @Test
+    public void testSince_countsFileReads() throws IOException {
+        final ProcessIoUsage start = ProcessIoUsage.sample();
+        assumeNotNull(start);
+        final File file = temporaryFolder.newFile("data.bin");
+        Files.write(file.toPath(), new byte[100000]);
+
+        assertEquals(100000, Files.readAllBytes(file.toPath()).length);
+        final ProcessIoUsage usage = ProcessIoUsage.sample().since(start);
+
+        assertTrue(usage.getReadBytes() >= 100000);
+        assertTrue(usage.getReadCalls() >= 1);
+    }
+
+    @Test
+    public void testSetAttributes() {
+        final ProductTestResult result = new ProductTestResult("PROD_1");
+        new ProcessIoUsage(2000, 10).since(new ProcessIoUsage(500, 4)).setAttributes(result, ProductTestResult.PHASE_GET_VIEW_DATA);
+
+        assertEquals(1500L, result.getAttribute("getViewDataReadBytes"));
+        assertEquals(6L, result.getAttribute("getViewDataReadCalls"));
+    }
+}
@@ -0,0 +1,263 @@
+/*
+ * Copyright (C) 2026 Brockmann Consult GmbH (info@brockmann-consult.de)
+ *
+ * This program is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option)
+ * any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License for
+ * more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, see http://www.gnu.org/licenses/
+ */
+
+package org.esa.snap.dataio;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.core.type.TypeReference;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Persists the wall time spent on each test product. The times recorded in the current run are summed up per
+ * product and {@link Phase phase}. When the store is saved they replace the values of the previous run only for the
+ * phases which ran completely, the other phases keep their previous value, e.g. in runs testing only changed readers
+ * or taking decode qualifications from the cache. Products not tested in the current run keep their previous value.
+ * <p>
+ * The part of the cost spent while no other product was tested, like measuring the read times, is kept separately
+ * as sequential cost, so the wall time of a parallel run can be estimated.
+ * <p>
+ * Together with the cost the outcomes of the last {@value #MAX_OUTCOMES} runs testing the product are kept, as
+ * {@code P} for passed and {@code F} for failed, the most recent last.
+ */
+class ProductCostStore {
+
+    static final long UNKNOWN_COST = -1;
+    static final int MAX_OUTCOMES = 10;
+
+    private static final char PASSED = 'P';
+    private static final char FAILED = 'F';
+
+    private static final TypeReference<Map<String, Entry>> ENTRIES_TYPE = new TypeReference<>() {
+    };
+
+    private final File storeFile;
+    private final Map<String, Entry> previousEntries;
+    private final Map<String, Map<Phase, Long>> currentCosts;
+    private final Map<String, Set<Phase>> currentPartialPhases;
+    private final Set<String> currentFailures;
+
+    ProductCostStore(File storeFile) {
+        this.storeFile = storeFile;
+        this.previousEntries = new ConcurrentHashMap<>();
+        this.currentCosts = new ConcurrentHashMap<>();
+        this.currentPartialPhases = new ConcurrentHashMap<>();
+        this.currentFailures = ConcurrentHashMap.newKeySet();
+    }
+
+    void load() throws IOException {
+        final Map<String, Entry> entries = JsonFiles.read(storeFile, ENTRIES_TYPE);
+        if (entries != null) {
+            previousEntries.putAll(entries);
+        }
+    }
+
+    void save() throws IOException {
+        final Map<String, Entry> entries = new TreeMap<>(previousEntries);
+        for (Map.Entry<String, Map<Phase, Long>> currentCost : currentCosts.entrySet()) {
+            final String key = currentCost.getKey();
+            final Entry previousEntry = previousEntries.get(key);
+            final String previousOutcomes = previousEntry != null && previousEntry.outcomes != null ? previousEntry.outcomes : "";
+            final String outcomes = previousOutcomes + (currentFailures.contains(key) ? FAILED : PASSED);
+            final Entry entry = createEntry(previousEntry, currentCost.getValue(),
+                                            currentPartialPhases.getOrDefault(key, Collections.emptySet()));
+            entry.outcomes = outcomes.substring(Math.max(0, outcomes.length() - MAX_OUTCOMES));
+            entries.put(key, entry);
+        }
+        JsonFiles.write(storeFile, entries);
+    }
+
+    /**
+     * Takes the costs of the phases which ran completely in the current run, the costs of partly run phases only if
+     * they exceed the previous ones and the previous costs of phases which did not run.
+     */
+    private static Entry createEntry(Entry previousEntry, Map<Phase, Long> currentPhaseCosts, Set<Phase> partialPhases) {
+        final boolean complete = currentPhaseCosts.size() == Phase.values().length && partialPhases.isEmpty();
+        final Map<Phase, Long> phaseCosts = new EnumMap<>(Phase.class);
+        if (!complete && previousEntry != null && previousEntry.phaseCosts != null) {
+            phaseCosts.putAll(previousEntry.phaseCosts);
+        }
+        for (Map.Entry<Phase, Long> currentPhaseCost : currentPhaseCosts.entrySet()) {
+            final Phase phase = currentPhaseCost.getKey();
+            if (partialPhases.contains(phase)) {
+                phaseCosts.merge(phase, currentPhaseCost.getValue(), Math::max);
+            } else {
+                phaseCosts.put(phase, currentPhaseCost.getValue());
+            }
+        }
+        final Entry entry = new Entry();
+        entry.phaseCosts = phaseCosts;
+        for (Map.Entry<Phase, Long> phaseCost : phaseCosts.entrySet()) {
+            entry.cost += phaseCost.getValue();
+            if (phaseCost.getKey().isSequential()) {
+                entry.sequentialCost += phaseCost.getValue();
+            }
+        }
+        if (!complete && previousEntry != null && previousEntry.phaseCosts == null) {
+            // stored before the costs were kept per phase, the previous total is the best guess for the missing phases
+            entry.cost = Math.max(entry.cost, previousEntry.cost);
+            entry.sequentialCost = Math.max(entry.sequentialCost, previousEntry.sequentialCost);
+        }
+        return entry;
+    }
+
+    File getStoreFile() {
+        return storeFile;
+    }
+
+    int size() {
+        return previousEntries.size();
+    }
+
+    /**
+     * @return the cost in milliseconds recorded by the previous run or {@link #UNKNOWN_COST}
+     */
+    long getCost(String productId) {
+        final Entry entry = previousEntries.get(toKey(productId));
+        return entry != null ? entry.cost : UNKNOWN_COST;
+    }
+
+    /**
+     * @return the recorded cost of the product or the given cost if it is unknown
+     */
+    long getCost(String productId, long unknownCost) {
+        final long cost = getCost(productId);
+        return cost != UNKNOWN_COST ? cost : unknownCost;
+    }
+
+    /**
+     * @return the mean recorded cost of the given products or {@link #UNKNOWN_COST} if none of them is known
+     */
+    long getMeanCost(List<TestProduct> testProducts) {
+        long sum = 0;
+        int knownCount = 0;
+        for (TestProduct testProduct : testProducts) {
+            final long cost = getCost(testProduct.getId());
+            if (cost != UNKNOWN_COST) {
+                sum += cost;
+                knownCount++;
+            }
+        }
+        return knownCount > 0 ? sum / knownCount : UNKNOWN_COST;
+    }
+
+    /**
+     * @return the part of the cost recorded by the previous run which was spent while no other product was tested,
+     * 0 if unknown
+     */
+    long getSequentialCost(String productId) {
+        final Entry entry = previousEntries.get(toKey(productId));
+        return entry != null ? entry.sequentialCost : 0;
+    }
+
+    void addCost(String productId, Phase phase, long millis) {
+        currentCosts.computeIfAbsent(toKey(productId), key -> new ConcurrentHashMap<>()).merge(phase, millis, Long::sum);
+    }
+
+    /**
+     * Marks the phase of the product as only partly run, e.g. as some of its results were taken from a cache. The
+     * cost recorded for it in the current run only replaces a larger previous cost.
+     */
+    void addPartialPhase(String productId, Phase phase) {
+        currentPartialPhases.computeIfAbsent(toKey(productId), key -> ConcurrentHashMap.newKeySet()).add(phase);
+    }
+
+    /**
+     * @return the number of failed runs among the recorded outcomes of the product
+     */
+    int getRecentFailures(String productId) {
+        final Entry entry = previousEntries.get(toKey(productId));
+        if (entry == null || entry.outcomes == null) {
+            return 0;
+        }
+        int failures = 0;
+        for (char outcome : entry.outcomes.toCharArray()) {
+            if (outcome == FAILED) {
+                failures++;
+            }
+        }
+        return failures;
+    }
+
+    /**
+     * Marks the product as failed in the current run. The outcome is only stored for products with a recorded cost.
+     */
+    void addFailure(String productId) {
+        currentFailures.add(toKey(productId));
+    }
+
+    /**
+     * Orders the given items by the recorded cost of their product, longest first. Items of unknown cost are put
+     * in front, as they might be the longest ones. The order of items with equal cost is preserved.
+     */
+    <T> List<T> sortLongestFirst(List<T> items, Function<T, String> productIdFunction) {
+        final List<T> sorted = new ArrayList<>(items);
+        sorted.sort(Comparator.comparingLong((T item) -> {
+            final long cost = getCost(productIdFunction.apply(item));
+            return cost == UNKNOWN_COST ? Long.MAX_VALUE : cost;
+        }).reversed());
+        return sorted;
+    }
+
+    private static String toKey(String productId) {
+        return productId.toLowerCase();
+    }
+
+    /**
+     * The phases the cost of a product is recorded for.
+     */
+    enum Phase {
+        DECODE_QUALIFICATION(false),
+        CONTENT(false),
+        READ_TIMES(true);
+
+        private final boolean sequential;
+
+        Phase(boolean sequential) {
+            this.sequential = sequential;
+        }
+
+        /**
+         * @return whether the phase runs while no other product is tested
+         */
+        boolean isSequential() {
+            return sequential;
+        }
+    }
+
+    static class Entry {
+
+        @JsonProperty
+        private long cost;
+        @JsonProperty
+        private long sequentialCost;
+        @JsonProperty
+        private Map<Phase, Long> phaseCosts;
+        @JsonProperty
+        private String outcomes;
+    }
+}
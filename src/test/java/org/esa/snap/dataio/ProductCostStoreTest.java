@@ -0,0 +1,233 @@
+package org.esa.snap.dataio;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Function;
+
+import static org.junit.Assert.*;
+
+public class ProductCostStoreTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private File storeFile;
+
+    @Before
+    public void setUp() {
+        storeFile = new File(temporaryFolder.getRoot(), "costs/product-costs.json");
+    }
+
+    @Test
+    public void testGetCost_unknown() {
+        final ProductCostStore store = new ProductCostStore(storeFile);
+
+        assertEquals(ProductCostStore.UNKNOWN_COST, store.getCost("PROD_1"));
+    }
+
+    @Test
+    public void testSaveAndLoad() throws IOException {
+        final ProductCostStore store = new ProductCostStore(storeFile);
+        store.addCost("PROD_1", ProductCostStore.Phase.CONTENT, 200);
+        store.addCost("prod_1", ProductCostStore.Phase.CONTENT, 300);
+        store.addCost("PROD_2", ProductCostStore.Phase.CONTENT, 50);
+        // costs of the current run are only used by the next run
+        assertEquals(ProductCostStore.UNKNOWN_COST, store.getCost("PROD_1"));
+        store.save();
+
+        final ProductCostStore loaded = new ProductCostStore(storeFile);
+        loaded.load();
+
+        assertEquals(2, loaded.size());
+        assertEquals(500, loaded.getCost("PROD_1"));
+        assertEquals(50, loaded.getCost("Prod_2"));
+    }
+
+    @Test
+    public void testSaveAndLoad_sequentialCost() throws IOException {
+        final ProductCostStore store = new ProductCostStore(storeFile);
+        store.addCost("PROD_1", ProductCostStore.Phase.CONTENT, 200);
+        store.addCost("PROD_1", ProductCostStore.Phase.READ_TIMES, 300);
+        store.addCost("PROD_2", ProductCostStore.Phase.CONTENT, 50);
+        store.save();
+
+        final ProductCostStore loaded = new ProductCostStore(storeFile);
+        loaded.load();
+
+        assertEquals(500, loaded.getCost("PROD_1"));
+        assertEquals(300, loaded.getSequentialCost("PROD_1"));
+        assertEquals(0, loaded.getSequentialCost("PROD_2"));
+        assertEquals(0, loaded.getSequentialCost("PROD_3"));
+    }
+
+    @Test
+    public void testSave_keepsCostsOfUntestedProducts() throws IOException {
+        final ProductCostStore first = new ProductCostStore(storeFile);
+        first.addCost("PROD_1", ProductCostStore.Phase.CONTENT, 200);
+        first.addCost("PROD_2", ProductCostStore.Phase.CONTENT, 50);
+        first.save();
+
+        final ProductCostStore second = new ProductCostStore(storeFile);
+        second.load();
+        second.addCost("PROD_2", ProductCostStore.Phase.CONTENT, 70);
+        second.save();
+
+        final ProductCostStore third = new ProductCostStore(storeFile);
+        third.load();
+        assertEquals(200, third.getCost("PROD_1"));
+        assertEquals(70, third.getCost("PROD_2"));
+    }
+
+    @Test
+    public void testSave_keepsCostsOfPhasesNotRun() throws IOException {
+        final ProductCostStore first = new ProductCostStore(storeFile);
+        first.addCost("PROD_1", ProductCostStore.Phase.DECODE_QUALIFICATION, 10);
+        first.addCost("PROD_1", ProductCostStore.Phase.CONTENT, 200);
+        first.addCost("PROD_1", ProductCostStore.Phase.READ_TIMES, 300);
+        first.save();
+
+        // e.g. an unchanged product, only its decode qualifications are evaluated
+        final ProductCostStore second = new ProductCostStore(storeFile);
+        second.load();
+        second.addCost("PROD_1", ProductCostStore.Phase.DECODE_QUALIFICATION, 20);
+        second.save();
+
+        final ProductCostStore third = new ProductCostStore(storeFile);
+        third.load();
+        assertEquals(520, third.getCost("PROD_1"));
+        assertEquals(300, third.getSequentialCost("PROD_1"));
+    }
+
+    @Test
+    public void testSave_completeRunReplacesCosts() throws IOException {
+        final ProductCostStore first = new ProductCostStore(storeFile);
+        first.addCost("PROD_1", ProductCostStore.Phase.DECODE_QUALIFICATION, 10);
+        first.addCost("PROD_1", ProductCostStore.Phase.CONTENT, 200);
+        first.addCost("PROD_1", ProductCostStore.Phase.READ_TIMES, 300);
+        first.save();
+
+        final ProductCostStore second = new ProductCostStore(storeFile);
+        second.load();
+        second.addCost("PROD_1", ProductCostStore.Phase.DECODE_QUALIFICATION, 5);
+        second.addCost("PROD_1", ProductCostStore.Phase.CONTENT, 100);
+        second.addCost("PROD_1", ProductCostStore.Phase.READ_TIMES, 150);
+        second.save();
+
+        final ProductCostStore third = new ProductCostStore(storeFile);
+        third.load();
+        assertEquals(255, third.getCost("PROD_1"));
+        assertEquals(150, third.getSequentialCost("PROD_1"));
+    }
+
+    @Test
+    public void testSave_partialPhase() throws IOException {
+        final ProductCostStore first = new ProductCostStore(storeFile);
+        first.addCost("PROD_1", ProductCostStore.Phase.DECODE_QUALIFICATION, 100);
+        first.save();
+
+        // some decode qualifications are taken from the cache
+        final ProductCostStore second = new ProductCostStore(storeFile);
+        second.load();
+        second.addCost("PROD_1", ProductCostStore.Phase.DECODE_QUALIFICATION, 10);
+        second.addPartialPhase("PROD_1", ProductCostStore.Phase.DECODE_QUALIFICATION);
+        second.save();
+
+        final ProductCostStore third = new ProductCostStore(storeFile);
+        third.load();
+        assertEquals(100, third.getCost("PROD_1"));
+        third.addCost("PROD_1", ProductCostStore.Phase.DECODE_QUALIFICATION, 150);
+        third.addPartialPhase("prod_1", ProductCostStore.Phase.DECODE_QUALIFICATION);
+        third.save();
+
+        final ProductCostStore fourth = new ProductCostStore(storeFile);
+        fourth.load();
+        assertEquals(150, fourth.getCost("PROD_1"));
+    }
+
+    @Test
+    public void testSave_keepsCostsStoredWithoutPhases() throws IOException {
+        Files.createDirectories(storeFile.getParentFile().toPath());
+        Files.write(storeFile.toPath(), "{\"prod_1\":{\"cost\":500,\"sequentialCost\":300,\"outcomes\":\"P\"}}"
+                .getBytes(StandardCharsets.UTF_8));
+        final ProductCostStore first = new ProductCostStore(storeFile);
+        first.load();
+        first.addCost("PROD_1", ProductCostStore.Phase.DECODE_QUALIFICATION, 20);
+        first.save();
+
+        final ProductCostStore second = new ProductCostStore(storeFile);
+        second.load();
+        assertEquals(500, second.getCost("PROD_1"));
+        assertEquals(300, second.getSequentialCost("PROD_1"));
+    }
+
+    @Test
+    public void testLoad_missingFile() throws IOException {
+        final ProductCostStore store = new ProductCostStore(storeFile);
+        store.load();
+
+        assertEquals(0, store.size());
+    }
+
+    @Test
+    public void testSortLongestFirst() throws IOException {
+        final ProductCostStore first = new ProductCostStore(storeFile);
+        first.addCost("SHORT", ProductCostStore.Phase.CONTENT, 10);
+        first.addCost("LONG", ProductCostStore.Phase.CONTENT, 1000);
+        first.addCost("MEDIUM", ProductCostStore.Phase.CONTENT, 100);
+        first.save();
+
+        final ProductCostStore store = new ProductCostStore(storeFile);
+        store.load();
+        final List<String> sorted = store.sortLongestFirst(Arrays.asList("SHORT", "MEDIUM", "NEW", "LONG"), Function.identity());
+
+        assertEquals(Arrays.asList("NEW", "LONG", "MEDIUM", "SHORT"), sorted);
+    }
+
+    @Test
+    public void testRecentFailures() throws IOException {
+        final ProductCostStore first = new ProductCostStore(storeFile);
+        first.addCost("PROD_1", ProductCostStore.Phase.CONTENT, 100);
+        first.addFailure("PROD_1");
+        first.addCost("PROD_2", ProductCostStore.Phase.CONTENT, 100);
+        first.save();
+
+        final ProductCostStore second = new ProductCostStore(storeFile);
+        second.load();
+        assertEquals(1, second.getRecentFailures("PROD_1"));
+        assertEquals(0, second.getRecentFailures("PROD_2"));
+        assertEquals(0, second.getRecentFailures("PROD_3"));
+        second.addCost("PROD_1", ProductCostStore.Phase.CONTENT, 100);
+        second.addFailure("prod_1");
+        second.save();
+
+        final ProductCostStore third = new ProductCostStore(storeFile);
+        third.load();
+        assertEquals(2, third.getRecentFailures("PROD_1"));
+    }
+
+    @Test
+    public void testRecentFailures_limitedToLastRuns() throws IOException {
+        for (int i = 0; i < ProductCostStore.MAX_OUTCOMES + 2; i++) {
+            final ProductCostStore store = new ProductCostStore(storeFile);
+            store.load();
+            store.addCost("PROD_1", ProductCostStore.Phase.CONTENT, 100);
+            if (i < 2) {
+                store.addFailure("PROD_1");
+            }
+            store.save();
+        }
+
+        final ProductCostStore store = new ProductCostStore(storeFile);
+        store.load();
+        assertEquals(0, store.getRecentFailures("PROD_1"));
+    }
+}
@@ -16,52 +16,58 @@
 
 package org.esa.snap.dataio;
 
-
-import com.bc.ceres.glayer.support.ImageLayer;
-import com.bc.ceres.grender.support.DefaultViewport;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import eu.esa.snap.hdf.HDFLoader;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
 import org.esa.snap.core.dataio.DecodeQualification;
 import org.esa.snap.core.dataio.ProductIO;
 import org.esa.snap.core.dataio.ProductReader;
 import org.esa.snap.core.dataio.ProductReaderPlugIn;
-import org.esa.snap.core.datamodel.Band;
 import org.esa.snap.core.datamodel.Product;
-import org.esa.snap.core.datamodel.Stx;
 import org.esa.snap.core.util.StopWatch;
-import org.esa.snap.core.util.SystemUtils;
-import org.esa.snap.dataio.netcdf.NetCdfActivator;
-import org.esa.snap.lib.openjpeg.activator.OpenJPEGInstaller;
-import org.esa.snap.vfs.NioPaths;
-import org.esa.snap.vfs.activator.VFSPlugInActivator;
 import org.junit.AfterClass;
 import org.junit.BeforeClass;
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.ErrorCollector;
+import org.junit.rules.RuleChain;
+import org.junit.rules.TestWatcher;
+import org.junit.runner.Description;
 import org.junit.runner.RunWith;
 
-import java.awt.Rectangle;
-import java.awt.image.Raster;
-import java.awt.image.RenderedImage;
+import javax.management.JMException;
 import java.io.File;
 import java.io.FileOutputStream;
 import java.io.IOException;
-import java.net.URL;
+import java.text.ParseException;
 import java.text.SimpleDateFormat;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Calendar;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.GregorianCalendar;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
 import java.util.TimeZone;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.FutureTask;
+import java.util.function.Function;
 import java.util.logging.ConsoleHandler;
 import java.util.logging.Handler;
 import java.util.logging.Level;
 import java.util.logging.LogManager;
 import java.util.logging.Logger;
 import java.util.logging.StreamHandler;
+import java.util.regex.Pattern;
 
 import static org.hamcrest.CoreMatchers.equalTo;
 import static org.hamcrest.CoreMatchers.is;
@@ -71,47 +77,163 @@ import static org.junit.Assert.fail;
 @RunWith(ReaderTestRunner.class)
 public class ProductReaderAcceptanceTest {
 
-    private static final String PROPERTYNAME_DATA_DIR = "snap.reader.tests.data.dir";
-    private static final String PROPERTYNAME_FAIL_ON_MISSING_DATA = "snap.reader.tests.failOnMissingData";
     private static final String PROPERTYNAME_FAIL_ON_INTENDED = "snap.reader.tests.failOnMultipleIntendedReaders";
     private static final String PROPERTYNAME_LOG_FILE_PATH = "snap.reader.tests.log.file";
-    private static final String PROPERTYNAME_CASS_NAME = "snap.reader.tests.class.name";
-    private static final boolean FAIL_ON_MISSING_DATA = Boolean.parseBoolean(System.getProperty(PROPERTYNAME_FAIL_ON_MISSING_DATA, "true"));
+    static final String PROPERTYNAME_PARALLELISM = "snap.reader.tests.parallelism";
+    private static final String PROPERTYNAME_DECODE_QUALI_PARALLELISM = "snap.reader.tests.decodeQualification.parallelism";
+    private static final String PROPERTYNAME_REUSE_PRODUCT_SESSIONS = "snap.reader.tests.reuseProductSessions";
+    private static final String PROPERTYNAME_DECODE_QUALI_CACHE = "snap.reader.tests.decodeQualification.cache";
+    private static final String PROPERTYNAME_DECODE_QUALI_CACHE_FILE = "snap.reader.tests.decodeQualification.cache.file";
+    private static final String PROPERTYNAME_DECODE_QUALI_REVALIDATE = "snap.reader.tests.decodeQualification.revalidate";
+    private static final String PROPERTYNAME_PRODUCT_COSTS = "snap.reader.tests.productCosts";
+    private static final String PROPERTYNAME_PRODUCT_COSTS_FILE = "snap.reader.tests.productCosts.file";
+    private static final String PROPERTYNAME_SHARD = "snap.reader.tests.shard";
+    private static final String PROPERTYNAME_TIME_BUDGET = "snap.reader.tests.timeBudget";
+    private static final String PROPERTYNAME_TIME_BUDGET_RESERVE = "snap.reader.tests.timeBudget.reserve";
+    private static final String PROPERTYNAME_TIME_BUDGET_UNKNOWN_COST = "snap.reader.tests.timeBudget.unknownCost";
+    private static final String PROPERTYNAME_CHANGED_ONLY = "snap.reader.tests.changedOnly";
+    private static final String PROPERTYNAME_REPORT_FILE = "snap.reader.tests.report.file";
+    private static final String PROPERTYNAME_REPORT_FORMAT = "snap.reader.tests.report.format";
+    private static final String PROPERTYNAME_WORKERS = "snap.reader.tests.workers";
+    private static final String PROPERTYNAME_WORKERS_MAX_PRODUCTS = "snap.reader.tests.workers.maxProducts";
+    private static final String PROPERTYNAME_WORKERS_MAX_RSS = "snap.reader.tests.workers.maxRss";
+    private static final String PROPERTYNAME_WORKERS_PRODUCT_TIMEOUT = "snap.reader.tests.workers.productTimeout";
+    private static final String PROPERTYNAME_WORKERS_JVM_OPTIONS = "snap.reader.tests.workers.jvmOptions";
+    private static final String PROPERTYNAME_CHANGED_ONLY_FILE = "snap.reader.tests.changedOnly.file";
+    private static final String PROPERTYNAME_SHARD_STRATEGY = "snap.reader.tests.shard.strategy";
+    private static final String PROPERTYNAME_SHARD_COSTS_FILE = "snap.reader.tests.shard.costsFile";
+    private static final String PROPERTYNAME_SHARD_RESULT_FILE = "snap.reader.tests.shard.resultFile";
+    static final String PROPERTYNAME_JFR = "snap.reader.tests.jfr";
+    private static final String PROPERTYNAME_LEAK_DETECTION = "snap.reader.tests.leakDetection";
+    private static final String PROPERTYNAME_LEAK_DETECTION_HISTOGRAM = "snap.reader.tests.leakDetection.histogram";
+    private static final String PROPERTYNAME_RESOURCE_LEAKS = "snap.reader.tests.resourceLeaks";
+    private static final String PROPERTYNAME_RESOURCE_LEAKS_IGNORED_FILES = "snap.reader.tests.resourceLeaks.ignoredFiles";
+    private static final String PROPERTYNAME_RESOURCE_LEAKS_IGNORED_THREADS = "snap.reader.tests.resourceLeaks.ignoredThreads";
+    private static final boolean FAIL_ON_MISSING_DATA = ReaderTestDefinitions.isFailOnMissingData();
+    private static final int PARALLELISM = Integer.getInteger(PROPERTYNAME_PARALLELISM, 1);
+    private static final int DECODE_QUALI_PARALLELISM = Integer.getInteger(PROPERTYNAME_DECODE_QUALI_PARALLELISM, PARALLELISM);
+    private static final boolean REUSE_PRODUCT_SESSIONS = Boolean.parseBoolean(System.getProperty(PROPERTYNAME_REUSE_PRODUCT_SESSIONS, "true"));
+    private static final boolean DECODE_QUALI_REVALIDATE = Boolean.getBoolean(PROPERTYNAME_DECODE_QUALI_REVALIDATE);
+    private static final boolean LEAK_DETECTION_HISTOGRAM = Boolean.getBoolean(PROPERTYNAME_LEAK_DETECTION_HISTOGRAM);
+    private static final int LEAK_DETECTION_HISTOGRAM_CLASS_COUNT = 10;
+    private static final String RESOURCE_LEAKS_WARN = "warn";
+    private static final String RESOURCE_LEAKS_FAIL = "fail";
+    private static final String RESOURCE_LEAKS = System.getProperty(PROPERTYNAME_RESOURCE_LEAKS);
+    private static final Pattern RESOURCE_LEAKS_IGNORED_FILES = Pattern.compile(
+            System.getProperty(PROPERTYNAME_RESOURCE_LEAKS_IGNORED_FILES, ".*\\.(jar|jfr)|/dev/.*"));
+    private static final Pattern RESOURCE_LEAKS_IGNORED_THREADS = Pattern.compile(
+            System.getProperty(PROPERTYNAME_RESOURCE_LEAKS_IGNORED_THREADS,
+                               "reader-test-.*|SunTileScheduler.*|ForkJoinPool\\.commonPool-.*|Attach Listener|process reaper|JFR .*"));
+    private static final int RESOURCE_LEAKS_MAX_WAIT_COUNT = 10;
+    private static final long RESOURCE_LEAKS_WAIT_MILLIS = 100;
     private static final String INDENT = "\t";
-    private static final ProductList testProductList = new ProductList();
+    private static ProductList testProductList;
+    private static final ProductSessions productSessions = new ProductSessions();
+    private static boolean sessionsPrefetched;
     private static final int DECODE_QUALI_LOG_THRESHOLD = 50;
+    private static final int DECODE_QUALI_WORST_TAIL_COUNT = 10;
     private static TestDefinitionList testDefinitionList;
-    private static File dataRootDir;
+    private static DecodeQualificationCache decodeQualificationCache;
+    private static final Map<String, String> productFingerprints = new ConcurrentHashMap<>();
+    private static ProductCostStore productCostStore;
+    private static ShardResult shardResult;
+    private static File shardResultFile;
+    private static ReaderTestDefinitions readerTestDefinitions;
     private static Logger logger;
+    private static boolean initialized;
+    private static volatile boolean testsFailed;
+    private static PluginFingerprintStore pluginFingerprintStore;
+    private static WorkerPool workerPool;
+    private static ReadTimesReport readTimesReport;
+    private static PerformanceBaseline performanceBaseline;
+    private static ReadTimesMeasurement readTimesMeasurement;
+    private static Recording flightRecording;
+    private static DisposeLeakDetector disposeLeakDetector;
     private static final SimpleDateFormat DATE_FORMAT = new SimpleDateFormat("dd-MMM-yyyy HH:mm", Locale.ENGLISH);
     private static final Calendar CALENDAR = GregorianCalendar.getInstance(TimeZone.getTimeZone("UTC"), Locale.ENGLISH);
 
-    @Rule
     public ErrorCollector errorCollector = new ErrorCollector();
 
+    @Rule
+    public RuleChain ruleChain = RuleChain.outerRule(new TestWatcher() {
+        @Override
+        protected void failed(Throwable e, Description description) {
+            markTestsFailed();
+        }
+    }).around(errorCollector);
+
     @BeforeClass
     public static void initialize() throws Exception {
+        if (initialized) {
+            return;
+        }
         initLogger();
-        SystemUtils.init3rdPartyLibs(ProductReaderAcceptanceTest.class);
+        startFlightRecording();
+        ReaderTestDefinitions.initReaderLibraries();
 
         logFailOnMissingDataMessage();
+        logProductSessionMessage();
 
-        VFSPlugInActivator.activate();
+        loadTestDefinitions();
+        initPluginFingerprintStore();
+        if (pluginFingerprintStore != null) {
+            pluginFingerprintStore.fingerprint(readerTestDefinitions.getReaderPlugIns(), testDefinitionList, logger);
+        }
 
-        assertTestDataDirectory();
-        loadProductReaderTestDefinitions();
+        initDecodeQualificationCache();
+        initProductCostStore();
+        selectProductShard();
+        selectWithinTimeBudget();
 
-        createGlobalProductList();
+        initWorkerPool();
+        initReadTimesReport();
+        initPerformanceBaseline();
+        initProductSessionChecks();
+        ReadTimesMeasurement.logSkippedMeasurements(PARALLELISM, workerPool != null, logger);
+        initialized = true;
+    }
 
-        OpenJPEGInstaller.install();
+    /**
+     * Initialises a worker JVM of the {@link WorkerPool}, which only tests the products it is asked for. The test
+     * definitions are loaded, but the products are selected and the stores are read and written by the coordinator.
+     */
+    static void initializeWorker() throws Exception {
+        if (initialized) {
+            return;
+        }
+        initLogger();
+        startFlightRecording();
+        ReaderTestDefinitions.initReaderLibraries();
+        loadTestDefinitions();
+        initProductSessionChecks();
+        initialized = true;
+    }
 
-        NetCdfActivator.activate();
+    private static void loadTestDefinitions() throws IOException {
+        readerTestDefinitions = ReaderTestDefinitions.load(logger);
+        testDefinitionList = readerTestDefinitions.getTestDefinitionList();
+        testProductList = readerTestDefinitions.getTestProductList();
+    }
 
-        HDFLoader.ensureHDF5Initialised();
+    private static void initProductSessionChecks() {
+        initLeakDetection();
+        initResourceLeakDetection();
+        readTimesMeasurement = new ReadTimesMeasurement(PARALLELISM == 1, ProductReaderAcceptanceTest::disposeProduct, logger);
     }
 
     @AfterClass
     public static void tearDown() {
+        if (workerPool != null) {
+            workerPool.close();
+        }
+        closeReadTimesReport();
+        saveDecodeQualificationCache();
+        savePerformanceBaseline();
+        saveProductCostStore();
+        savePluginFingerprintStore();
+        writeShardResult();
+        logLeakingReaders();
+        stopFlightRecording();
         logInfoWithStars("Finished / " + DATE_FORMAT.format(CALENDAR.getTime()));
     }
 
@@ -120,13 +242,11 @@ public class ProductReaderAcceptanceTest {
         logInfoWithStars("Testing OneIntendedReader");
         boolean duplicates = false;
         for (TestProduct testProduct : testProductList) {
+            if (!testProduct.isSelected()) {
+                continue;
+            }
             if (testProduct.exists() && testProduct.isEnabled()) {
-                List<ProductReaderPlugIn> intendedPlugins = new ArrayList<>();
-                for (TestDefinition testDefinition : testDefinitionList) {
-                    if (DecodeQualification.INTENDED == getExpectedDecodeQualification(testDefinition, testProduct)) {
-                        intendedPlugins.add(testDefinition.getProductReaderPlugin());
-                    }
-                }
+                List<ProductReaderPlugIn> intendedPlugins = getIntendedPlugins(testProduct);
                 boolean hasMoreThanPlugin = intendedPlugins.size() > 1;
                 if (hasMoreThanPlugin) {
                     logger.info(INDENT + testProduct.getId());
@@ -144,93 +264,257 @@ public class ProductReaderAcceptanceTest {
         }
     }
 
+    static List<ProductReaderPlugIn> getIntendedPlugins(TestProduct testProduct) {
+        final List<ProductReaderPlugIn> intendedPlugins = new ArrayList<>();
+        for (TestDefinition testDefinition : testDefinitionList) {
+            if (DecodeQualification.INTENDED == getExpectedDecodeQualification(testDefinition, testProduct)) {
+                intendedPlugins.add(testDefinition.getProductReaderPlugin());
+            }
+        }
+        return intendedPlugins;
+    }
+
     @Test
     public void testPluginDecodeQualifications() {
         logInfoWithStars("Testing DecodeQualification");
         final StopWatch stopWatchTotal = new StopWatch();
         stopWatchTotal.start();
         int testCounter = 0;
-        final StopWatch stopWatch = new StopWatch();
 
         logger.info("");
         logger.info(INDENT + "Number of test products: " + testProductList.size());
         logger.info(INDENT + "Number of ReaderPlugIns: " + testDefinitionList.size());
         logger.info(INDENT + "Logging only decode qualification tests >" + DECODE_QUALI_LOG_THRESHOLD + "ms");
-        logger.info("");
 
-        for (TestDefinition testDefinition : testDefinitionList) {
-            final ProductReaderPlugIn productReaderPlugin = testDefinition.getProductReaderPlugin();
-            logger.info(INDENT + productReaderPlugin.getClass().getName());
-
-            for (TestProduct testProduct : testProductList) {
-                if (testProduct.exists() && testProduct.isEnabled()) {
-                    final File productFile = getTestProductFile(testProduct);
-
-                    final DecodeQualification expected = getExpectedDecodeQualification(testDefinition, testProduct);
-                    stopWatch.start();
-                    final DecodeQualification decodeQualification = productReaderPlugin.getDecodeQualification(productFile);
-                    stopWatch.stop();
-                    final boolean decodeQualificationIsDefined = expected != null;
-                    if (decodeQualificationIsDefined) {
-                        final String reason = productReaderPlugin.getClass().getName() + ": " + testProduct.getId();
-                        errorCollector.checkThat(reason, decodeQualification, equalTo(expected));
-                        if (stopWatch.getTimeDiff() > DECODE_QUALI_LOG_THRESHOLD) {
-                            logger.info(INDENT + INDENT + stopWatch.getTimeDiffString() + " - [" + expected + "] " + testProduct.getId());
+        try (ProductTestExecutor executor = new ProductTestExecutor(DECODE_QUALI_PARALLELISM)) {
+            if (executor.isParallel()) {
+                logger.info(INDENT + "Evaluating decode qualifications with " + executor.getParallelism() + " threads");
+            }
+            logger.info("");
+
+            final Map<String, LatencyHistogram> latencyHistograms = new HashMap<>();
+            final Map<String, Integer> cacheHitCounts = new HashMap<>();
+            final Queue<FutureTask<DecodeQualificationResult>> pendingResults = new ArrayDeque<>();
+            for (TestDefinition testDefinition : testDefinitionList) {
+                final ProductReaderPlugIn productReaderPlugin = testDefinition.getProductReaderPlugin();
+                for (TestProduct testProduct : testProductList) {
+                    if (testProduct.isSelected() && testProduct.exists() && testProduct.isEnabled()) {
+                        final File productFile = resolveTestProductFile(testProduct);
+                        pendingResults.add(executor.submit(() -> evaluateDecodeQualification(productReaderPlugin, testProduct.getId(), productFile)));
+                    }
+                }
+            }
+
+            for (TestDefinition testDefinition : testDefinitionList) {
+                final ProductReaderPlugIn productReaderPlugin = testDefinition.getProductReaderPlugin();
+                logger.info(INDENT + productReaderPlugin.getClass().getName());
+
+                for (TestProduct testProduct : testProductList) {
+                    if (!testProduct.isSelected()) {
+                        continue;
+                    }
+                    if (testProduct.exists() && testProduct.isEnabled()) {
+                        getTestProductFile(testProduct);
+
+                        final DecodeQualification expected = getExpectedDecodeQualification(testDefinition, testProduct);
+                        final DecodeQualificationResult result = executor.getResult(pendingResults.remove());
+                        if (result.cached) {
+                            cacheHitCounts.merge(productReaderPlugin.getClass().getName(), 1, Integer::sum);
+                        } else {
+                            latencyHistograms.computeIfAbsent(productReaderPlugin.getClass().getName(), key -> new LatencyHistogram())
+                                             .record(result.timeMicros);
                         }
-                        testCounter++;
-                    } else if (!DecodeQualification.UNABLE.equals(decodeQualification)) {
-                        logger.info(INDENT + INDENT + productReaderPlugin.getClass().getSimpleName() + ": " +
-                                "Can read " + testProduct.getId() + "[" + decodeQualification + "] but it is not defined in tests");
+                        final DecodeQualification decodeQualification = result.decodeQualification;
+                        final boolean decodeQualificationIsDefined = expected != null;
+                        if (decodeQualificationIsDefined) {
+                            final ProductTestResult checkResult = checkDecodeQualification(productReaderPlugin, testProduct, expected, result);
+                            reportResult("testPluginDecodeQualifications", productReaderPlugin, checkResult);
+                            if (result.timeDiff > DECODE_QUALI_LOG_THRESHOLD) {
+                                logger.info(INDENT + INDENT + StopWatch.getTimeString(result.timeDiff) + " - [" + expected + "] " + testProduct.getId() +
+                                                    (result.cached ? " (cached)" : ""));
+                            }
+                            testCounter++;
+                        } else if (!DecodeQualification.UNABLE.equals(decodeQualification)) {
+                            logger.info(INDENT + INDENT + productReaderPlugin.getClass().getSimpleName() + ": " +
+                                    "Can read " + testProduct.getId() + "[" + decodeQualification + "] but it is not defined in tests");
+                        }
+                    } else {
+                        logProductNotExistent(2, testProduct);
                     }
-                } else {
-                    logProductNotExistent(2, testProduct);
                 }
             }
+            logDecodeQualificationLatencies(latencyHistograms, cacheHitCounts);
         }
         stopWatchTotal.stop();
         logInfoWithStars(String.format("Tested DecodeQualification: %d tests in %s", testCounter, stopWatchTotal.getTimeDiffString()));
     }
 
+    /**
+     * Logs the latency percentiles of the plugins with the slowest 99th percentile of all getDecodeQualification
+     * calls, as a plugin is asked for every file opened by a user. Only the calls evaluated in this run are included,
+     * decode qualifications taken from the cache are counted separately.
+     */
+    private static void logDecodeQualificationLatencies(Map<String, LatencyHistogram> latencyHistograms, Map<String, Integer> cacheHitCounts) {
+        if (latencyHistograms.isEmpty()) {
+            return;
+        }
+        final List<Map.Entry<String, LatencyHistogram>> entries = new ArrayList<>(latencyHistograms.entrySet());
+        entries.sort(Comparator.comparingLong((Map.Entry<String, LatencyHistogram> entry) -> entry.getValue().getValueAtPercentile(99))
+                               .reversed()
+                               .thenComparing(Map.Entry::getKey));
+        logger.info("");
+        logger.info(String.format("%sPlugins with the slowest decode qualification (%d of %d), in ms", INDENT,
+                                  Math.min(DECODE_QUALI_WORST_TAIL_COUNT, entries.size()), entries.size()));
+        logger.info(String.format("%s%s%8s %8s %8s %8s %6s %6s", INDENT, INDENT, "p50", "p90", "p99", "max", "calls", "cached"));
+        for (Map.Entry<String, LatencyHistogram> entry : entries.subList(0, Math.min(DECODE_QUALI_WORST_TAIL_COUNT, entries.size()))) {
+            final LatencyHistogram histogram = entry.getValue();
+            logger.info(String.format(Locale.ENGLISH, "%s%s%8.3f %8.3f %8.3f %8.3f %6d %6d - %s", INDENT, INDENT,
+                                      histogram.getValueAtPercentile(50) / 1000.0, histogram.getValueAtPercentile(90) / 1000.0,
+                                      histogram.getValueAtPercentile(99) / 1000.0, histogram.getMax() / 1000.0,
+                                      histogram.getCount(), cacheHitCounts.getOrDefault(entry.getKey(), 0), entry.getKey()));
+        }
+    }
+
+    /**
+     * Checks the decode qualification of a product for which the test definition expects one.
+     */
+    static ProductTestResult checkDecodeQualification(TestDefinition testDefinition, TestProduct testProduct) {
+        final ProductReaderPlugIn productReaderPlugin = testDefinition.getProductReaderPlugin();
+        final DecodeQualificationResult result = evaluateDecodeQualification(productReaderPlugin, testProduct.getId(),
+                                                                              resolveTestProductFile(testProduct));
+        return checkDecodeQualification(productReaderPlugin, testProduct, getExpectedDecodeQualification(testDefinition, testProduct), result);
+    }
+
+    private static ProductTestResult checkDecodeQualification(ProductReaderPlugIn productReaderPlugin, TestProduct testProduct,
+                                                              DecodeQualification expected, DecodeQualificationResult result) {
+        final String reason = productReaderPlugin.getClass().getName() + ": " + testProduct.getId();
+        final ProductTestResult checkResult = new ProductTestResult(testProduct.getId());
+        checkResult.checkThat(reason, result.decodeQualification, equalTo(expected));
+        checkResult.setTime(result.timeDiff);
+        return checkResult;
+    }
+
+    private static DecodeQualificationResult evaluateDecodeQualification(ProductReaderPlugIn productReaderPlugin, String productId,
+                                                                         File productFile) {
+        if (decodeQualificationCache != null && !DECODE_QUALI_REVALIDATE) {
+            final String productFingerprint = getProductFingerprint(productFile);
+            final DecodeQualificationCache.Entry entry = decodeQualificationCache.get(productReaderPlugin, productFile,
+                                                                                      productFingerprint);
+            if (entry != null) {
+                if (productCostStore != null) {
+                    productCostStore.addPartialPhase(productId, ProductCostStore.Phase.DECODE_QUALIFICATION);
+                }
+                return new DecodeQualificationResult(entry.getDecodeQualification(), entry.getTimeDiff(), entry.getTimeDiff() * 1000, true);
+            }
+        }
+        final StopWatch stopWatch = new StopWatch();
+        final ReaderTestEvent event = ReaderTestEvent.start(productId, productReaderPlugin.getClass().getName(), "decodeQualification");
+        stopWatch.start();
+        final long startNanos = System.nanoTime();
+        final DecodeQualification decodeQualification;
+        try {
+            decodeQualification = productReaderPlugin.getDecodeQualification(productFile);
+        } finally {
+            event.commit();
+        }
+        final long timeMicros = (System.nanoTime() - startNanos) / 1000;
+        stopWatch.stop();
+        if (productCostStore != null) {
+            productCostStore.addCost(productId, ProductCostStore.Phase.DECODE_QUALIFICATION, stopWatch.getTimeDiff());
+        }
+        if (decodeQualificationCache != null) {
+            decodeQualificationCache.put(productReaderPlugin, productFile, getProductFingerprint(productFile),
+                                         decodeQualification, stopWatch.getTimeDiff());
+        }
+        return new DecodeQualificationResult(decodeQualification, stopWatch.getTimeDiff(), timeMicros, false);
+    }
+
+    /**
+     * @return the fingerprint of the product, determined once per run and shared by the decode qualifications of all
+     * plugins, as it walks all files of a product directory
+     */
+    private static String getProductFingerprint(File productFile) {
+        return productFingerprints.computeIfAbsent(productFile.getAbsolutePath(),
+                                                   path -> ArtifactFingerprints.ofProductPath(productFile.toPath()));
+    }
+
+    private static void initDecodeQualificationCache() {
+        if (!Boolean.getBoolean(PROPERTYNAME_DECODE_QUALI_CACHE)) {
+            return;
+        }
+        final File cacheFile = JsonFiles.getStoreFile(PROPERTYNAME_DECODE_QUALI_CACHE_FILE, "decode-qualification-cache.json");
+        decodeQualificationCache = new DecodeQualificationCache(cacheFile);
+        if (DECODE_QUALI_REVALIDATE) {
+            logger.info("Revalidating all cached decode qualifications in " + cacheFile.getAbsolutePath());
+            return;
+        }
+        if (JsonFiles.run(decodeQualificationCache::load, "read decode qualification cache", cacheFile, logger)) {
+            logger.info("Using " + decodeQualificationCache.size() + " cached decode qualifications from " + cacheFile.getAbsolutePath());
+        }
+    }
+
+    private static void saveDecodeQualificationCache() {
+        if (decodeQualificationCache == null) {
+            return;
+        }
+        logger.info(INDENT + "Decode qualifications taken from cache: " + decodeQualificationCache.getHitCount());
+        JsonFiles.run(decodeQualificationCache::save, "write decode qualification cache", decodeQualificationCache.getCacheFile(), logger);
+    }
+
     @Test
-    public void testReadIntendedProductContent() throws IOException {
+    public void testReadIntendedProductContent() {
         logInfoWithStars("Testing IntendedProductContent");
         final StopWatch stopWatchTotal = new StopWatch();
         stopWatchTotal.start();
         int testCounter = 0;
-        final StopWatch stopWatch = new StopWatch();
+        prefetchProductSessions();
 
-        for (TestDefinition testDefinition : testDefinitionList) {
-            final List<String> intendedProductIds = testDefinition.getDecodableProductIds();
-            logger.info(INDENT + testDefinition.getProductReaderPlugin().getClass().getSimpleName());
-
-            for (String productId : intendedProductIds) {
-                final TestProduct testProduct = testProductList.getById(productId);
-                String reason = "Test file not defined for ID=" + productId;
-                errorCollector.checkThat(reason, testProduct, is(notNullValue()));
-                if (testProduct == null) {
+        try (ProductTestExecutor executor = new ProductTestExecutor(PARALLELISM)) {
+            if (executor.isParallel()) {
+                logger.info(INDENT + "Testing products with " + executor.getParallelism() + " threads");
+            }
+            final List<Callable<ProductTestResult>> tasks = new ArrayList<>();
+            final Map<Callable<ProductTestResult>, String> taskProductIds = new IdentityHashMap<>();
+            for (TestDefinition testDefinition : testDefinitionList) {
+                if (isUnchanged(testDefinition)) {
                     continue;
                 }
-                if (testProduct.exists() && testProduct.isEnabled()) {
-                    final File testProductFile = getTestProductFile(testProduct);
-
-                    final ProductReader productReader = testDefinition.getProductReaderPlugin().createReaderInstance();
-
-                    stopWatch.start();
-                    final Product product = productReader.readProductNodes(testProductFile, null);
-                    try {
-                        assertExpectedContent(testDefinition, productId, product);
-                    } catch (Throwable t) {
-                        errorCollector.addError(new Throwable("[" + productId + "] " + t.getMessage(), t));
-                    } finally {
-                        if (product != null) {
-                            product.dispose();
-                        }
+                for (String productId : testDefinition.getDecodableProductIds()) {
+                    final TestProduct testProduct = testProductList.getById(productId);
+                    if (testProduct != null && testProduct.isSelected() && testProduct.exists() && testProduct.isEnabled()) {
+                        final Callable<ProductTestResult> task = () -> checkProductContent(testDefinition, testProduct);
+                        tasks.add(task);
+                        taskProductIds.put(task, testProduct.getId());
+                    }
+                }
+            }
+            final Queue<FutureTask<ProductTestResult>> pendingResults =
+                    new ArrayDeque<>(executor.submitAll(tasks, getExecutionOrder(tasks, taskProductIds::get)));
+
+            for (TestDefinition testDefinition : testDefinitionList) {
+                final List<String> intendedProductIds = testDefinition.getDecodableProductIds();
+                logger.info(INDENT + testDefinition.getProductReaderPlugin().getClass().getSimpleName());
+                if (isUnchanged(testDefinition)) {
+                    logger.info(INDENT + INDENT + "Unchanged since last successful run");
+                    continue;
+                }
+
+                for (String productId : intendedProductIds) {
+                    final TestProduct testProduct = testProductList.getById(productId);
+                    String reason = "Test file not defined for ID=" + productId;
+                    errorCollector.checkThat(reason, testProduct, is(notNullValue()));
+                    if (testProduct == null || !testProduct.isSelected()) {
+                        continue;
+                    }
+                    if (testProduct.exists() && testProduct.isEnabled()) {
+                        getTestProductFile(testProduct);
+                        final ProductTestResult result = executor.getResult(pendingResults.remove());
+                        reportResult("testReadIntendedProductContent", testDefinition.getProductReaderPlugin(), result);
+                        logger.info(INDENT + INDENT + result.getTimeDiffString() + " - " + testProduct.getId() + formatUsage(result));
+                        testCounter++;
+                    } else {
+                        logProductNotExistent(2, testProduct);
                     }
-                    stopWatch.stop();
-                    logger.info(INDENT + INDENT + stopWatch.getTimeDiffString() + " - " + testProduct.getId());
-                    testCounter++;
-                } else {
-                    logProductNotExistent(2, testProduct);
                 }
             }
         }
@@ -244,25 +528,19 @@ public class ProductReaderAcceptanceTest {
         final StopWatch stopWatchTotal = new StopWatch();
         stopWatchTotal.start();
         int testCounter = 0;
-        final StopWatch stopWatch = new StopWatch();
+        prefetchProductSessions();
         for (TestProduct testProduct : testProductList) {
-            if (testProduct.exists() && testProduct.isEnabled()) {
-                final File testProductFile = getTestProductFile(testProduct);
-                Product product = null;
-                try {
-                    stopWatch.start();
-                    product = ProductIO.readProduct(testProductFile);
-                    stopWatch.stop();
-                    logger.info(INDENT + stopWatch.getTimeDiffString() + " - " + testProduct.getId());
-                } catch (Exception e) {
-                    final String message = "ProductIO.readProduct " + testProduct.getId() + " caused an exception.\n" +
-                            "Should only return NULL or a product instance but should not cause any exception.";
-                    logger.log(Level.SEVERE, message, e);
-                    errorCollector.addError(new Exception(message, e));
-                } finally {
-                    if (product != null) {
-                        product.dispose();
-                    }
+            if (!testProduct.isSelected()) {
+                continue;
+            }
+            if (isUnchanged(testProduct)) {
+                logProductUnchanged(1, testProduct);
+            } else if (testProduct.exists() && testProduct.isEnabled()) {
+                getTestProductFile(testProduct);
+                final ProductTestResult result = checkProductIO(testProduct);
+                reportResult("testProductIO_readProduct", null, result);
+                if (!result.hasErrors()) {
+                    logger.info(INDENT + result.getTimeDiffString() + " - " + testProduct.getId());
                 }
                 testCounter++;
             } else {
@@ -284,82 +562,929 @@ public class ProductReaderAcceptanceTest {
         final StopWatch stopWatchTotal = new StopWatch();
         stopWatchTotal.start();
         int testCounter = 0;
-        final StopWatch stopWatch = new StopWatch();
+        final Map<String, long[]> tileCacheCounts = new TreeMap<>();
+        final Map<String, long[]> nativeMemoryMaxima = new TreeMap<>();
+        final Map<String, Map<String, RasterThroughput>> throughputs = new TreeMap<>();
+        final Map<String, TileScaling> tileScalings = new TreeMap<>();
         for (TestProduct testProduct : testProductList) {
-            if (testProduct.exists() && testProduct.isEnabled()) {
-                final File testProductFile = getTestProductFile(testProduct);
-                Product product = null;
-                try {
-                    stopWatch.start();
-
-                    //product = ProductIO.readProduct(testProductFile);
-                    // method inlined for detailed time measuring
-                    final ProductReader productReader = ProductIO.getProductReaderForInput(testProductFile);
-
-                    stopWatch.stop();
-                    String findProductReaderTime = stopWatch.getTimeDiffString();
-
-                    String readProductNodesTime = "--:--:--.---";
-                    String getStxTime = "--:--:--.---";
-                    String getViewDataTime = "--:--:--.---";
-                    if (productReader != null) {
-                        stopWatch.start();
-                        product = productReader.readProductNodes(testProductFile, null);
-                        stopWatch.stop();
-                        readProductNodesTime = stopWatch.getTimeDiffString();
-                        if (product.getNumBands() > 0) {
-                            Band band0 = product.getBandAt(0);
-                            logger.info("source image sample model data type (PRA1)" + band0.getSourceImage().getSampleModel().getDataType());
-                            stopWatch.start();
-                            Stx stx = band0.getStx();
-                            errorCollector.checkThat("stx != null:" + testProduct.getId(), stx, is(notNullValue()));
-                            stopWatch.stop();
-                            getStxTime = stopWatch.getTimeDiffString();
-                            DefaultViewport viewport = new DefaultViewport(new Rectangle(1000, 1000));
-                            int viewLevel = ImageLayer.getLevel(band0.getSourceImage().getModel(), viewport);
-                            RenderedImage viewImage = band0.getSourceImage().getImage(viewLevel);
-                            stopWatch.start();
-                            final int numXTiles = viewImage.getNumXTiles();
-                            final int numYTiles = viewImage.getNumYTiles();
-                            if (numXTiles > 0 && numYTiles > 0) {
-                                for (int x = 0; x < numXTiles; x++) {
-                                    for (int y = 0; y < numYTiles; y++) {
-                                        Raster tileRaster = viewImage.getTile(x, y);
-                                        errorCollector.checkThat("tileRaster != null: " + testProduct.getId(), tileRaster, is(notNullValue()));
-                                    }
-                                }
-                            } else {
-                                Raster imageRaster = viewImage.getData();
-                                errorCollector.checkThat("imageRaster != null: " + testProduct.getId(), imageRaster, is(notNullValue()));
-                            }
-                            stopWatch.stop();
-                            getViewDataTime = stopWatch.getTimeDiffString();
-                        }
-                    }
-                    logger.info(String.format("%s%s - %s - %s - %s - %s", INDENT,
-                            findProductReaderTime,
-                            readProductNodesTime,
-                            getStxTime,
-                            getViewDataTime,
-                            testProduct.getId()));
-                } catch (Exception e) {
-                    final String message = "Product reading " + testProduct.getId() + " caused an exception.";
-                    logger.log(Level.SEVERE, message, e);
-                    errorCollector.addError(new Exception(message, e));
-                } finally {
-                    if (product != null) {
-                        product.dispose();
-                    }
+            if (!testProduct.isSelected()) {
+                continue;
+            }
+            if (isUnchanged(testProduct)) {
+                logProductUnchanged(1, testProduct);
+            } else if (testProduct.exists() && testProduct.isEnabled()) {
+                getTestProductFile(testProduct);
+                final ProductTestResult result = checkProductReadTimes(testProduct);
+                reportResult("testProductReadTimes", null, result);
+                logger.info(String.format("%s%s - %s - %s - %s - %s", INDENT,
+                        result.getPhaseTimeString(ProductTestResult.PHASE_FIND_READER),
+                        result.getPhaseTimeString(ProductTestResult.PHASE_READ_NODES),
+                        result.getPhaseTimeString(ProductTestResult.PHASE_GET_STX),
+                        result.getPhaseTimeString(ProductTestResult.PHASE_GET_VIEW_DATA),
+                        testProduct.getId()));
+                if (result.getAttribute(ProductTestResult.getAttributeName(ProductTestResult.PHASE_READ_NODES,
+                                                                           ProductTestResult.ATTRIBUTE_CPU_TIME)) != null) {
+                    logger.info(String.format("%s%scpu: %s ms, allocated: %s MB, read: %s MB in %s calls", INDENT, INDENT,
+                            formatPhaseAttributes(result, ProductTestResult.ATTRIBUTE_CPU_TIME, "%.0f", 1),
+                            formatPhaseAttributes(result, ProductTestResult.ATTRIBUTE_ALLOCATED_BYTES, "%.1f", 1024 * 1024),
+                            formatPhaseAttributes(result, ProductTestResult.ATTRIBUTE_READ_BYTES, "%.1f", 1024 * 1024),
+                            formatPhaseAttributes(result, ProductTestResult.ATTRIBUTE_READ_CALLS, "%.0f", 1)));
+                }
+                final Object tileCacheHits = result.getAttribute(ProductTestResult.ATTRIBUTE_TILE_CACHE_HITS);
+                final Object tileCacheMisses = result.getAttribute(ProductTestResult.ATTRIBUTE_TILE_CACHE_MISSES);
+                if (tileCacheHits instanceof Number && tileCacheMisses instanceof Number) {
+                    logger.info(String.format(Locale.ENGLISH, "%s%stile cache: %s hits, %s misses, %s evictions, %.1f MB used", INDENT, INDENT,
+                            tileCacheHits, tileCacheMisses, result.getAttribute(ProductTestResult.ATTRIBUTE_TILE_CACHE_EVICTIONS),
+                            ((Number) result.getAttribute(ProductTestResult.ATTRIBUTE_TILE_CACHE_MEMORY_USED)).doubleValue() / (1024 * 1024)));
+                    final Object plugin = result.getAttribute(ProductTestResult.ATTRIBUTE_PLUGIN);
+                    final long[] counts = tileCacheCounts.computeIfAbsent(plugin != null ? plugin.toString() : "unknown reader",
+                                                                          key -> new long[2]);
+                    counts[0] += ((Number) tileCacheHits).longValue();
+                    counts[1] += ((Number) tileCacheMisses).longValue();
                 }
+                recordNativeMemory(result, nativeMemoryMaxima);
+                recordThroughput(result, throughputs);
+                recordTileScaling(result, tileScalings);
                 testCounter++;
             } else {
                 logProductNotExistent(1, testProduct);
             }
         }
         stopWatchTotal.stop();
+        logTileCacheEfficiency(tileCacheCounts);
+        logNativeMemory(nativeMemoryMaxima);
+        logThroughput(throughputs);
+        logTileScaling(tileScalings);
         logInfoWithStars(String.format("Testing product read times: %d tests in %s", testCounter, stopWatchTotal.getTimeDiffString()));
     }
 
+    /**
+     * Logs the share of tile requests of each reader which were served from the tile cache.
+     *
+     * @param tileCacheCounts the summed hits and misses by reader plugin class name
+     */
+    private static void logTileCacheEfficiency(Map<String, long[]> tileCacheCounts) {
+        if (tileCacheCounts.isEmpty()) {
+            return;
+        }
+        logger.info("");
+        logger.info(INDENT + "Tile cache hit ratio per reader" + (ReadTimesMeasurement.TILE_CACHE_FLUSH ? " (flushed before each product)" : ""));
+        for (Map.Entry<String, long[]> entry : tileCacheCounts.entrySet()) {
+            final long hits = entry.getValue()[0];
+            final long requests = hits + entry.getValue()[1];
+            final String hitRatio = requests > 0 ? String.format(Locale.ENGLISH, "%5.1f%%", 100.0 * hits / requests) : "    -";
+            logger.info(String.format("%s%s%s of %d tile requests - %s", INDENT, INDENT, hitRatio, requests, entry.getKey()));
+        }
+    }
+
+    /**
+     * Logs the peak and residual native memory of the product and updates the maxima of its reader.
+     *
+     * @param nativeMemoryMaxima the maximum peak and residual of the direct and mapped buffers and of the resident set
+     *                           size by reader plugin class name
+     */
+    private static void recordNativeMemory(ProductTestResult result, Map<String, long[]> nativeMemoryMaxima) {
+        final String[] attributes = {ProductTestResult.ATTRIBUTE_BUFFER_MEMORY_PEAK, ProductTestResult.ATTRIBUTE_BUFFER_MEMORY_RESIDUAL,
+                ProductTestResult.ATTRIBUTE_RSS_PEAK, ProductTestResult.ATTRIBUTE_RSS_RESIDUAL};
+        final long[] values = new long[attributes.length];
+        for (int i = 0; i < attributes.length; i++) {
+            final Object value = result.getAttribute(attributes[i]);
+            if (!(value instanceof Number)) {
+                return;
+            }
+            values[i] = ((Number) value).longValue();
+        }
+        logger.info(String.format(Locale.ENGLISH, "%s%snative: buffers %.1f MB peak, %.1f MB residual - rss %.1f MB peak, %.1f MB residual",
+                INDENT, INDENT, toMegabytes(values[0]), toMegabytes(values[1]), toMegabytes(values[2]), toMegabytes(values[3])));
+        final Object plugin = result.getAttribute(ProductTestResult.ATTRIBUTE_PLUGIN);
+        final long[] maxima = nativeMemoryMaxima.computeIfAbsent(plugin != null ? plugin.toString() : "unknown reader",
+                                                                 key -> new long[]{Long.MIN_VALUE, Long.MIN_VALUE, Long.MIN_VALUE, Long.MIN_VALUE});
+        for (int i = 0; i < values.length; i++) {
+            maxima[i] = Math.max(maxima[i], values[i]);
+        }
+    }
+
+    /**
+     * Logs the largest peak and residual native memory over the products of each reader, which is what the memory
+     * limit of a batch worker has to allow for in addition to the heap.
+     */
+    private static void logNativeMemory(Map<String, long[]> nativeMemoryMaxima) {
+        if (nativeMemoryMaxima.isEmpty()) {
+            return;
+        }
+        logger.info("");
+        logger.info(INDENT + "Maximum native memory per reader (buffers peak/residual - rss peak/residual in MB)");
+        for (Map.Entry<String, long[]> entry : nativeMemoryMaxima.entrySet()) {
+            final long[] maxima = entry.getValue();
+            logger.info(String.format(Locale.ENGLISH, "%s%s%8.1f /%8.1f - %8.1f /%8.1f - %s", INDENT, INDENT, toMegabytes(maxima[0]),
+                    toMegabytes(maxima[1]), toMegabytes(maxima[2]), toMegabytes(maxima[3]), entry.getKey()));
+        }
+    }
+
+    /**
+     * Logs the full resolution throughput of the product and adds it to the throughput of its reader.
+     *
+     * @param throughputs the throughput by data type by reader plugin class name
+     */
+    private static void recordThroughput(ProductTestResult result, Map<String, Map<String, RasterThroughput>> throughputs) {
+        final RasterThroughput total = RasterThroughput.fromAttributes(result, null);
+        final Object dataTypes = result.getAttribute(ProductTestResult.ATTRIBUTE_THROUGHPUT_DATA_TYPES);
+        if (total == null || dataTypes == null) {
+            return;
+        }
+        logger.info(String.format(Locale.ENGLISH, "%s%sfull resolution: %.1f MB/s, %.1f tiles/s, first tile after %.1f ms", INDENT, INDENT,
+                total.getMegabytesPerSecond(), total.getTilesPerSecond(), total.getMeanFirstTileMillis()));
+        final Object plugin = result.getAttribute(ProductTestResult.ATTRIBUTE_PLUGIN);
+        final Map<String, RasterThroughput> readerThroughputs = throughputs.computeIfAbsent(plugin != null ? plugin.toString() : "unknown reader",
+                                                                                           key -> new TreeMap<>());
+        for (String dataType : dataTypes.toString().split(",")) {
+            final RasterThroughput throughput = RasterThroughput.fromAttributes(result, dataType);
+            if (throughput != null) {
+                readerThroughputs.merge(dataType, throughput, RasterThroughput::plus);
+            }
+        }
+    }
+
+    private static void logThroughput(Map<String, Map<String, RasterThroughput>> throughputs) {
+        if (throughputs.isEmpty()) {
+            return;
+        }
+        logger.info("");
+        logger.info(INDENT + "Full resolution throughput per reader and data type (MB/s - tiles/s - mean time to first tile)");
+        for (Map.Entry<String, Map<String, RasterThroughput>> readerEntry : throughputs.entrySet()) {
+            logger.info(INDENT + INDENT + readerEntry.getKey());
+            for (Map.Entry<String, RasterThroughput> entry : readerEntry.getValue().entrySet()) {
+                final RasterThroughput throughput = entry.getValue();
+                logger.info(String.format(Locale.ENGLISH, "%s%s%s%8.1f - %8.1f - %8.1f ms - %s, %d bands", INDENT, INDENT, INDENT,
+                        throughput.getMegabytesPerSecond(), throughput.getTilesPerSecond(), throughput.getMeanFirstTileMillis(),
+                        entry.getKey(), throughput.getBandCount()));
+            }
+        }
+    }
+
+    /**
+     * Logs the speedup of fetching tiles with more threads for the product and adds its times to those of its reader.
+     *
+     * @param tileScalings the summed times by reader plugin class name
+     */
+    private static void recordTileScaling(ProductTestResult result, Map<String, TileScaling> tileScalings) {
+        final TileScaling tileScaling = TileScaling.fromAttributes(result);
+        if (tileScaling == null) {
+            return;
+        }
+        logger.info(INDENT + INDENT + "tile scaling: " + formatTileScaling(tileScaling));
+        final Object plugin = result.getAttribute(ProductTestResult.ATTRIBUTE_PLUGIN);
+        tileScalings.merge(plugin != null ? plugin.toString() : "unknown reader", tileScaling, TileScaling::plus);
+    }
+
+    /**
+     * Logs the speedup and efficiency of each reader over all its products and flags the readers whose efficiency
+     * with the most threads is below {@value ReadTimesMeasurement#PROPERTYNAME_TILE_SCALING_MIN_EFFICIENCY}.
+     */
+    private static void logTileScaling(Map<String, TileScaling> tileScalings) {
+        if (tileScalings.isEmpty()) {
+            return;
+        }
+        logger.info("");
+        logger.info(INDENT + "Tile read scaling per reader (threads: speedup / efficiency)");
+        final List<String> notScalingReaders = new ArrayList<>();
+        for (Map.Entry<String, TileScaling> entry : tileScalings.entrySet()) {
+            final TileScaling tileScaling = entry.getValue();
+            logger.info(INDENT + INDENT + entry.getKey());
+            logger.info(INDENT + INDENT + INDENT + formatTileScaling(tileScaling));
+            if (tileScaling.getEfficiency(tileScaling.getSize() - 1) < ReadTimesMeasurement.TILE_SCALING_MIN_EFFICIENCY) {
+                notScalingReaders.add(entry.getKey());
+            }
+        }
+        if (!notScalingReaders.isEmpty()) {
+            logger.warning(String.format(Locale.ENGLISH, "Readers with an efficiency below %.0f%% with %d threads:",
+                    ReadTimesMeasurement.TILE_SCALING_MIN_EFFICIENCY * 100, ReadTimesMeasurement.TILE_SCALING_THREAD_COUNTS[ReadTimesMeasurement.TILE_SCALING_THREAD_COUNTS.length - 1]));
+            for (String reader : notScalingReaders) {
+                logger.warning(INDENT + reader);
+            }
+        }
+    }
+
+    private static String formatTileScaling(TileScaling tileScaling) {
+        final List<String> steps = new ArrayList<>();
+        for (int i = 0; i < tileScaling.getSize(); i++) {
+            steps.add(String.format(Locale.ENGLISH, "%d: %.1fx / %.0f%%", tileScaling.getThreadCount(i), tileScaling.getSpeedup(i),
+                    tileScaling.getEfficiency(i) * 100));
+        }
+        return String.join(" - ", steps);
+    }
+
+    private static double toMegabytes(long bytes) {
+        return bytes / (1024.0 * 1024.0);
+    }
+
+    static ProductTestResult checkProductContent(TestDefinition testDefinition, TestProduct testProduct) {
+        return getProductSession(testProduct, testDefinition).getContentResult(testDefinition.getProductReaderPlugin());
+    }
+
+    static ProductTestResult checkProductIO(TestProduct testProduct) {
+        return getProductSession(testProduct, null).getProductIOResult();
+    }
+
+    /**
+     * Measures the read times on a freshly opened product, never on a shared session, as the tiles of a product read
+     * before would be served from the tile cache.
+     */
+    static ProductTestResult checkProductReadTimes(TestProduct testProduct) {
+        final ProductSession session = workerPool != null ? openWorkerProductSession(testProduct, true) :
+                openProductSession(testProduct, false, true, Collections.emptyList());
+        final ProductTestResult result = session.getReadTimesResult();
+        if (performanceBaseline != null && !result.hasErrors()) {
+            performanceBaseline.compare(result, logger);
+        }
+        ReadTimesMeasurement.checkAllocatedBytesPerPixel(result, logger);
+        return result;
+    }
+
+    /**
+     * @return the values of the given attribute of all phases divided by the divisor and separated by slashes
+     */
+    private static String formatPhaseAttributes(ProductTestResult result, String attribute, String format, long divisor) {
+        final List<String> values = new ArrayList<>();
+        for (String phase : ProductTestResult.PHASES) {
+            final Object value = result.getAttribute(ProductTestResult.getAttributeName(phase, attribute));
+            values.add(value instanceof Number ? String.format(Locale.ENGLISH, format, ((Number) value).doubleValue() / divisor) : "-");
+        }
+        return String.join(" / ", values);
+    }
+
+    private static String formatUsage(ProductTestResult result) {
+        final Object cpuTime = result.getAttribute(ProductTestResult.ATTRIBUTE_CPU_TIME);
+        final Object allocatedBytes = result.getAttribute(ProductTestResult.ATTRIBUTE_ALLOCATED_BYTES);
+        if (!(cpuTime instanceof Number) || !(allocatedBytes instanceof Number)) {
+            return "";
+        }
+        String usage = String.format(Locale.ENGLISH, " - cpu %d ms, allocated %.1f MB", ((Number) cpuTime).longValue(),
+                                     ((Number) allocatedBytes).doubleValue() / (1024 * 1024));
+        final Object readBytes = result.getAttribute(ProductTestResult.ATTRIBUTE_READ_BYTES);
+        final Object readCalls = result.getAttribute(ProductTestResult.ATTRIBUTE_READ_CALLS);
+        if (readBytes instanceof Number && readCalls instanceof Number) {
+            usage += String.format(Locale.ENGLISH, ", read %.1f MB in %d calls", ((Number) readBytes).doubleValue() / (1024 * 1024),
+                                   ((Number) readCalls).longValue());
+        }
+        return usage;
+    }
+
+    /**
+     * Opens the shared session of the product ahead of its checks, so reading the product is not timed as part of the
+     * first check. Does nothing if sessions are not reused.
+     */
+    static void openSharedProductSession(TestProduct testProduct) {
+        if (workerPool != null || REUSE_PRODUCT_SESSIONS) {
+            getProductSession(testProduct, null);
+        }
+    }
+
+    /**
+     * Forgets the shared session of the product once all its checks are done, so a rerun of a failed check reads the
+     * product again.
+     */
+    static void discardProductSession(TestProduct testProduct) {
+        productSessions.remove(testProduct.getId());
+    }
+
+    /**
+     * Hands the errors of the result over to the error collector and records the outcome for the product cost store
+     * and the shard result.
+     */
+    private void reportResult(String check, ProductReaderPlugIn productReaderPlugin, ProductTestResult result) {
+        result.transferErrorsTo(errorCollector);
+        recordResult(check, productReaderPlugin, result);
+    }
+
+    static void recordResult(String check, ProductReaderPlugIn productReaderPlugin, ProductTestResult result) {
+        if (productCostStore != null && result.hasErrors()) {
+            productCostStore.addFailure(result.getProductId());
+        }
+        if (readTimesReport != null && "testProductReadTimes".equals(check)) {
+            JsonFiles.run(() -> readTimesReport.write(result), "write to report", readTimesReport.getReportFile(), logger);
+        }
+        if (shardResult != null) {
+            final String plugin = productReaderPlugin != null ? productReaderPlugin.getClass().getName() : null;
+            shardResult.add(check, result.getProductId(), plugin, result.getTimeDiff(), result.getErrors());
+        }
+    }
+
+    static TestDefinitionList getTestDefinitionList() {
+        return testDefinitionList;
+    }
+
+    static ProductList getTestProductList() {
+        return testProductList;
+    }
+
+    /**
+     * Returns the session holding the ProductIO and content results of the given product. If sessions are reused,
+     * the product is read once per reader for these checks and the results are shared by all test methods.
+     * Otherwise only the requested check is done on a freshly opened product.
+     *
+     * @param contentDefinition the definition whose content is checked, {@code null} for the ProductIO check
+     */
+    private static ProductSession getProductSession(TestProduct testProduct, TestDefinition contentDefinition) {
+        if (workerPool != null || REUSE_PRODUCT_SESSIONS) {
+            return productSessions.get(testProduct.getId(), getSharedSessionOpener(testProduct));
+        }
+        final List<TestDefinition> contentDefinitions = new ArrayList<>();
+        if (contentDefinition != null) {
+            contentDefinitions.add(contentDefinition);
+        }
+        return openProductSession(testProduct, contentDefinition == null, false, contentDefinitions);
+    }
+
+    /**
+     * Opens the shared sessions of all products to be tested with {@value #PROPERTYNAME_PARALLELISM} threads, longest
+     * first. Reading the products overlaps no matter which test method asks for the sessions first. Read times are
+     * not part of the shared sessions, they are measured later on one product at a time.
+     */
+    private static synchronized void prefetchProductSessions() {
+        if (sessionsPrefetched || workerPool == null && !REUSE_PRODUCT_SESSIONS) {
+            return;
+        }
+        sessionsPrefetched = true;
+        final List<TestProduct> testProducts = new ArrayList<>();
+        for (TestProduct testProduct : testProductList) {
+            if (testProduct.isSelected() && testProduct.exists() && testProduct.isEnabled() && !isUnchanged(testProduct)) {
+                testProducts.add(testProduct);
+            }
+        }
+        if (PARALLELISM > 1) {
+            logger.info(INDENT + "Reading " + testProducts.size() + " products with " + PARALLELISM + " threads");
+        }
+        productSessions.prefetch(getExecutionOrder(testProducts, TestProduct::getId), PARALLELISM,
+                                 ProductReaderAcceptanceTest::getSharedSessionOpener);
+    }
+
+    /**
+     * @return the opener of the session shared by the test methods, doing the ProductIO and all content checks of the
+     * product, in a worker JVM if workers are used
+     */
+    private static Callable<ProductSession> getSharedSessionOpener(TestProduct testProduct) {
+        if (workerPool != null) {
+            return () -> openWorkerProductSession(testProduct, false);
+        }
+        return () -> openProductSession(testProduct, true, false, getContentDefinitions(testProduct));
+    }
+
+    /**
+     * @param readTimes whether the worker measures the read times only, otherwise it does the ProductIO and content checks
+     */
+    private static ProductSession openWorkerProductSession(TestProduct testProduct, boolean readTimes) {
+        final StopWatch stopWatch = new StopWatch();
+        stopWatch.start();
+        final List<TestDefinition> contentDefinitions = readTimes ? Collections.emptyList() : getContentDefinitions(testProduct);
+        final ProductSession session = workerPool.openProductSession(testProduct, readTimes, contentDefinitions);
+        stopWatch.stop();
+        addProductCost(testProduct, readTimes, stopWatch.getTimeDiff());
+        return session;
+    }
+
+    static ProductSession openProductSession(TestProduct testProduct, boolean productIO, boolean readTimes,
+                                                     List<TestDefinition> contentDefinitions) {
+        final HeapHistogram startHeapHistogram = disposeLeakDetector != null && LEAK_DETECTION_HISTOGRAM ? takeHeapHistogram() : null;
+        final OpenResources startResources = RESOURCE_LEAKS != null && PARALLELISM == 1 ? OpenResources.sample() : null;
+        final StopWatch stopWatch = new StopWatch();
+        stopWatch.start();
+        final ProductSession session = new ProductSession(testProduct.getId());
+        final File testProductFile = resolveTestProductFile(testProduct);
+        final List<TestDefinition> remainingDefinitions = new ArrayList<>(contentDefinitions);
+        if (productIO) {
+            readProductIO(session, testProductFile, remainingDefinitions);
+        }
+        for (TestDefinition testDefinition : remainingDefinitions) {
+            testIntendedProductContent(testDefinition, testProductFile, session.getContentResult(testDefinition.getProductReaderPlugin()));
+        }
+        if (readTimes) {
+            readTimesMeasurement.measure(session.getReadTimesResult(), testProductFile);
+        }
+        stopWatch.stop();
+        addProductCost(testProduct, readTimes, stopWatch.getTimeDiff());
+        if (disposeLeakDetector != null) {
+            checkForLeaks(testProduct.getId(), startHeapHistogram);
+        }
+        if (startResources != null) {
+            checkForResourceLeaks(session, productIO, readTimes, startResources);
+        }
+        return session;
+    }
+
+    /**
+     * @param sequential whether the time was spent while no other product was tested, as when measuring read times
+     */
+    private static void addProductCost(TestProduct testProduct, boolean sequential, long millis) {
+        if (productCostStore == null) {
+            return;
+        }
+        final ProductCostStore.Phase phase = sequential ? ProductCostStore.Phase.READ_TIMES : ProductCostStore.Phase.CONTENT;
+        productCostStore.addCost(testProduct.getId(), phase, millis);
+    }
+
+    private static void initLeakDetection() {
+        if (Boolean.getBoolean(PROPERTYNAME_LEAK_DETECTION)) {
+            disposeLeakDetector = new DisposeLeakDetector();
+            logger.info("Checking whether products stay reachable after dispose");
+        }
+    }
+
+    private static void initResourceLeakDetection() {
+        if (RESOURCE_LEAKS == null) {
+            return;
+        }
+        if (!RESOURCE_LEAKS_WARN.equalsIgnoreCase(RESOURCE_LEAKS) && !RESOURCE_LEAKS_FAIL.equalsIgnoreCase(RESOURCE_LEAKS)) {
+            throw new IllegalArgumentException("-D" + PROPERTYNAME_RESOURCE_LEAKS + " must be '" + RESOURCE_LEAKS_WARN +
+                                               "' or '" + RESOURCE_LEAKS_FAIL + "' but is '" + RESOURCE_LEAKS + "'");
+        }
+        if (PARALLELISM > 1 && workerPool == null) {
+            logger.warning("Leaked files and threads are not checked when testing " + PARALLELISM +
+                           " products in parallel in the same JVM, as they cannot be attributed to a product");
+        }
+    }
+
+    /**
+     * Compares the open files and live threads after the products of the session have been disposed with those
+     * before reading. Threads which are shutting down are given some time to terminate.
+     */
+    private static void checkForResourceLeaks(ProductSession session, boolean productIO, boolean readTimes, OpenResources startResources) {
+        List<String> leakedFiles;
+        List<String> leakedThreads;
+        int waitCount = 0;
+        while (true) {
+            final OpenResources endResources = OpenResources.sample();
+            leakedFiles = endResources.getLeakedFiles(startResources, RESOURCE_LEAKS_IGNORED_FILES);
+            leakedThreads = endResources.getLeakedThreads(startResources, RESOURCE_LEAKS_IGNORED_THREADS);
+            if ((leakedFiles.isEmpty() && leakedThreads.isEmpty()) || waitCount++ == RESOURCE_LEAKS_MAX_WAIT_COUNT) {
+                break;
+            }
+            try {
+                Thread.sleep(RESOURCE_LEAKS_WAIT_MILLIS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        if (leakedFiles.isEmpty() && leakedThreads.isEmpty()) {
+            return;
+        }
+        final StringBuilder message = new StringBuilder("[" + session.getProductId() + "] Reader did not release " +
+                                                        leakedFiles.size() + " files and " + leakedThreads.size() + " threads after dispose:");
+        for (String leakedFile : leakedFiles) {
+            message.append("\n").append(INDENT).append("file ").append(leakedFile);
+        }
+        for (String leakedThread : leakedThreads) {
+            message.append("\n").append(INDENT).append("thread ").append(leakedThread);
+        }
+        logger.warning(message.toString());
+        if (RESOURCE_LEAKS_FAIL.equalsIgnoreCase(RESOURCE_LEAKS)) {
+            final List<ProductTestResult> results = new ArrayList<>(session.getContentResults().values());
+            if (productIO) {
+                results.add(session.getProductIOResult());
+            }
+            if (readTimes) {
+                results.add(session.getReadTimesResult());
+            }
+            for (ProductTestResult result : results) {
+                result.addError(new AssertionError(message.toString()));
+            }
+        }
+    }
+
+    private static void disposeProduct(String productId, Product product) {
+        if (disposeLeakDetector != null) {
+            disposeLeakDetector.track(productId, product);
+        }
+        product.dispose();
+    }
+
+    /**
+     * Logs the objects of the products read for the session which are still reachable after being disposed. If a
+     * heap histogram has been taken before reading, the classes with the largest growth are logged as well.
+     */
+    private static void checkForLeaks(String productId, HeapHistogram startHeapHistogram) {
+        final DisposeLeakDetector.Leaks leaks = disposeLeakDetector.check(productId);
+        if (!leaks.isEmpty()) {
+            final StringBuilder message = new StringBuilder(String.format(Locale.ENGLISH,
+                    "[%s] %d objects stay reachable after dispose, retaining about %.1f MB:", productId,
+                    leaks.getDescriptions().size(), leaks.getRetainedSizeEstimate() / (1024.0 * 1024.0)));
+            for (String description : leaks.getDescriptions()) {
+                message.append("\n").append(INDENT).append(description);
+            }
+            logger.warning(message.toString());
+        }
+        final HeapHistogram endHeapHistogram = startHeapHistogram != null ? takeHeapHistogram() : null;
+        if (endHeapHistogram != null) {
+            final List<String> growth = endHeapHistogram.getLargestGrowth(startHeapHistogram, LEAK_DETECTION_HISTOGRAM_CLASS_COUNT);
+            if (!growth.isEmpty()) {
+                logger.info("[" + productId + "] Largest heap growth:\n" + INDENT + String.join("\n" + INDENT, growth));
+            }
+        }
+    }
+
+    private static HeapHistogram takeHeapHistogram() {
+        try {
+            return HeapHistogram.take();
+        } catch (JMException e) {
+            logger.log(Level.WARNING, "Could not take heap histogram", e);
+            return null;
+        }
+    }
+
+    private static void logLeakingReaders() {
+        if (disposeLeakDetector == null || disposeLeakDetector.getLeakCounts().isEmpty()) {
+            return;
+        }
+        logger.warning("Readers with products staying reachable after dispose:");
+        for (Map.Entry<String, Integer> entry : disposeLeakDetector.getLeakCounts().entrySet()) {
+            logger.warning(String.format("%s%d products - %s", INDENT, entry.getValue(), entry.getKey()));
+        }
+    }
+
+    /**
+     * Orders the tasks longest first by the product costs recorded in previous runs, so that the slowest products
+     * do not start last and prolong the total run time. Without recorded costs the order is kept.
+     */
+    private static <T> List<T> getExecutionOrder(List<T> tasks, Function<T, String> productIdFunction) {
+        if (productCostStore == null) {
+            return tasks;
+        }
+        return productCostStore.sortLongestFirst(tasks, productIdFunction);
+    }
+
+    private static void initProductCostStore() {
+        if (!Boolean.getBoolean(PROPERTYNAME_PRODUCT_COSTS) && System.getProperty(PROPERTYNAME_TIME_BUDGET) == null) {
+            return;
+        }
+        final File storeFile = JsonFiles.getStoreFile(PROPERTYNAME_PRODUCT_COSTS_FILE, "product-costs.json");
+        productCostStore = new ProductCostStore(storeFile);
+        if (JsonFiles.run(productCostStore::load, "read product costs", storeFile, logger)) {
+            logger.info("Scheduling products by " + productCostStore.size() + " recorded product costs from " + storeFile.getAbsolutePath());
+        }
+    }
+
+    private static void selectProductShard() {
+        final String shardProperty = System.getProperty(PROPERTYNAME_SHARD);
+        if (shardProperty == null) {
+            return;
+        }
+        final ProductShard shard = ProductShard.parse(shardProperty);
+        final String strategy = System.getProperty(PROPERTYNAME_SHARD_STRATEGY, ProductShard.STRATEGY_HASH);
+        final List<String> productIds = shard.select(testProductList, strategy, loadShardCosts(strategy));
+        logger.info("Testing shard " + shard + " (" + strategy + "): " + productIds.size() + " of " + testProductList.size() + " products");
+
+        shardResult = new ShardResult(shard, productIds, testProductList.size());
+        final String resultFilePath = System.getProperty(PROPERTYNAME_SHARD_RESULT_FILE);
+        if (resultFilePath != null) {
+            shardResultFile = new File(resultFilePath);
+        } else {
+            shardResultFile = new File("target", "reader-tests-shard-" + shard.getIndex() + "-of-" + shard.getCount() + ".json");
+        }
+    }
+
+    /**
+     * Loads the costs the products are distributed by with the cost strategy. They are read from the file given by
+     * {@value #PROPERTYNAME_SHARD_COSTS_FILE}, which has to be the same for all agents, never from the local product
+     * cost store.
+     *
+     * @return the shared costs or {@code null} for other strategies
+     */
+    private static ProductCostStore loadShardCosts(String strategy) {
+        if (!ProductShard.STRATEGY_COST.equalsIgnoreCase(strategy)) {
+            return null;
+        }
+        final String costsFilePath = System.getProperty(PROPERTYNAME_SHARD_COSTS_FILE);
+        if (costsFilePath == null) {
+            throw new IllegalArgumentException("Shard strategy '" + ProductShard.STRATEGY_COST + "' requires the costs file shared by " +
+                                               "all agents to be set by -D" + PROPERTYNAME_SHARD_COSTS_FILE);
+        }
+        final File costsFile = new File(costsFilePath);
+        if (!costsFile.isFile()) {
+            throw new IllegalArgumentException("Shard costs file " + costsFile.getAbsolutePath() + " does not exist");
+        }
+        final ProductCostStore shardCosts = new ProductCostStore(costsFile);
+        try {
+            shardCosts.load();
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not read shard costs " + costsFile.getAbsolutePath(), e);
+        }
+        return shardCosts;
+    }
+
+    /**
+     * Reduces the selected products to those fitting into the time budget according to the recorded product costs,
+     * which cover the decode qualifications, the shared session and the read times of a product. The budget applies
+     * to the products selected for this shard, {@value #PROPERTYNAME_TIME_BUDGET_RESERVE} of it (2 minutes by
+     * default) is kept for the fixed costs of the run. As long as no product costs are recorded, each product is
+     * estimated with {@value #PROPERTYNAME_TIME_BUDGET_UNKNOWN_COST} (5 minutes by default).
+     */
+    private static void selectWithinTimeBudget() {
+        final String timeBudgetProperty = System.getProperty(PROPERTYNAME_TIME_BUDGET);
+        if (timeBudgetProperty == null) {
+            return;
+        }
+        final long reserve = TimeBudget.parseDuration(System.getProperty(PROPERTYNAME_TIME_BUDGET_RESERVE, "2m"));
+        final boolean perProductTests = Boolean.getBoolean(ReaderTestRunner.PROPERTYNAME_PER_PRODUCT_TESTS);
+        final String unknownCostProperty = System.getProperty(PROPERTYNAME_TIME_BUDGET_UNKNOWN_COST);
+        final long unknownWallTime = unknownCostProperty != null ? TimeBudget.parseDuration(unknownCostProperty) :
+                TimeBudget.DEFAULT_UNKNOWN_WALL_TIME;
+        final TimeBudget timeBudget = new TimeBudget(TimeBudget.parseDuration(timeBudgetProperty), reserve, perProductTests ? 1 : PARALLELISM,
+                                                     unknownWallTime);
+        if (productCostStore.size() == 0) {
+            logger.warning("No product costs recorded in " + productCostStore.getStoreFile().getAbsolutePath() + ", estimating " +
+                                   StopWatch.getTimeString(timeBudget.getUnknownWallTime()) + " for each product within the time budget");
+        }
+        final List<String> skippedIds = timeBudget.select(testProductList, testDefinitionList, productCostStore);
+        logger.info("Testing products within time budget of " + StopWatch.getTimeString(timeBudget.getBudget()) + ", reserving " +
+                            StopWatch.getTimeString(timeBudget.getReserve()) + " for fixed costs and testing " +
+                            timeBudget.getParallelism() + " products in parallel, skipping " + skippedIds.size() + " products");
+        for (String skippedId : skippedIds) {
+            final long cost = productCostStore.getCost(skippedId);
+            final String costString = cost != ProductCostStore.UNKNOWN_COST ? StopWatch.getTimeString(cost) : "--:--:--.---";
+            logger.info(INDENT + "Skipped - " + costString + " - " + skippedId);
+        }
+    }
+
+    /**
+     * Starts the pool of worker JVMs, if requested. The workers are started on demand and test all checks of a
+     * product at once, product sessions are therefore always reused in this mode. A worker tests one product at a
+     * time, so the parallelism is not passed on.
+     */
+    private static void initWorkerPool() {
+        final int workerCount = Integer.getInteger(PROPERTYNAME_WORKERS, 0);
+        if (workerCount <= 0) {
+            return;
+        }
+        final String jvmOptionsProperty = System.getProperty(PROPERTYNAME_WORKERS_JVM_OPTIONS);
+        final List<String> jvmOptions = jvmOptionsProperty != null ? Arrays.asList(jvmOptionsProperty.trim().split("\\s+")) : null;
+        final Set<String> excludedProperties = new HashSet<>(Arrays.asList(
+                PROPERTYNAME_PARALLELISM, PROPERTYNAME_WORKERS, PROPERTYNAME_WORKERS_MAX_PRODUCTS, PROPERTYNAME_WORKERS_MAX_RSS,
+                PROPERTYNAME_WORKERS_PRODUCT_TIMEOUT, PROPERTYNAME_WORKERS_JVM_OPTIONS, PROPERTYNAME_LOG_FILE_PATH,
+                PROPERTYNAME_REPORT_FILE, PROPERTYNAME_REPORT_FORMAT, PerformanceBaseline.PROPERTYNAME_BASELINE_FILE, PerformanceBaseline.PROPERTYNAME_BASELINE_ACCEPT));
+        final List<String> workerCommand = WorkerPool.createWorkerCommand(jvmOptions, excludedProperties);
+
+        final int maxProducts = Integer.getInteger(PROPERTYNAME_WORKERS_MAX_PRODUCTS, 0);
+        final String maxRssProperty = System.getProperty(PROPERTYNAME_WORKERS_MAX_RSS);
+        final long maxRss = maxRssProperty != null ? WorkerPool.parseSize(maxRssProperty) : 0;
+        final String productTimeoutProperty = System.getProperty(PROPERTYNAME_WORKERS_PRODUCT_TIMEOUT);
+        final long productTimeout = productTimeoutProperty != null ? TimeBudget.parseDuration(productTimeoutProperty) : 0;
+
+        workerPool = new WorkerPool(workerCount, workerCommand, maxProducts, maxRss, productTimeout, logger);
+        logger.info("Testing products in " + workerCount + " worker JVMs");
+        if (PARALLELISM < workerCount) {
+            logger.warning("Only " + PARALLELISM + " worker JVMs are used concurrently, set -D" + PROPERTYNAME_PARALLELISM +
+                                   "=" + workerCount + " to use all");
+        }
+    }
+
+    private static void initReadTimesReport() {
+        final String reportFilePath = System.getProperty(PROPERTYNAME_REPORT_FILE);
+        if (reportFilePath == null) {
+            return;
+        }
+        final File reportFile = new File(reportFilePath);
+        if (JsonFiles.run(() -> readTimesReport = new ReadTimesReport(reportFile, System.getProperty(PROPERTYNAME_REPORT_FORMAT)),
+                          "create report", reportFile, logger)) {
+            logger.info("Writing product read times to " + reportFile.getAbsolutePath());
+        }
+    }
+
+    private static void initPerformanceBaseline() {
+        final String baselineFilePath = System.getProperty(PerformanceBaseline.PROPERTYNAME_BASELINE_FILE);
+        if (baselineFilePath == null) {
+            return;
+        }
+        performanceBaseline = new PerformanceBaseline(new File(baselineFilePath));
+        if (JsonFiles.run(performanceBaseline::load, "read baseline", performanceBaseline.getBaselineFile(), logger)) {
+            logger.info("Comparing product read times with " + performanceBaseline.size() + " products of baseline " +
+                                performanceBaseline.getBaselineFile().getAbsolutePath());
+        }
+    }
+
+    private static void savePerformanceBaseline() {
+        if (performanceBaseline == null || !Boolean.getBoolean(PerformanceBaseline.PROPERTYNAME_BASELINE_ACCEPT)) {
+            return;
+        }
+        if (JsonFiles.run(performanceBaseline::save, "write baseline", performanceBaseline.getBaselineFile(), logger)) {
+            logger.info("Product read times accepted as baseline " + performanceBaseline.getBaselineFile().getAbsolutePath());
+        }
+    }
+
+    /**
+     * Starts a flight recording with the profile settings of the JDK, if {@value #PROPERTYNAME_JFR} gives the file
+     * to write it to. The recording is also written when the JVM exits without tear down, like the worker JVMs do.
+     */
+    private static void startFlightRecording() {
+        final String recordingFilePath = System.getProperty(PROPERTYNAME_JFR);
+        if (recordingFilePath == null) {
+            return;
+        }
+        final File recordingFile = new File(recordingFilePath);
+        try {
+            JsonFiles.createParentDirectory(recordingFile);
+            final Recording recording = new Recording(Configuration.getConfiguration("profile"));
+            recording.setName("reader-tests");
+            recording.setDestination(recordingFile.toPath());
+            recording.setDumpOnExit(true);
+            recording.start();
+            flightRecording = recording;
+            logger.info("Flight recording to " + recordingFile.getAbsolutePath());
+        } catch (IOException | ParseException e) {
+            logger.log(Level.WARNING, "Could not start flight recording " + recordingFile.getAbsolutePath(), e);
+        }
+    }
+
+    private static void stopFlightRecording() {
+        if (flightRecording == null) {
+            return;
+        }
+        flightRecording.stop();
+        logger.info("Flight recording written to " + flightRecording.getDestination().toAbsolutePath());
+        flightRecording.close();
+        flightRecording = null;
+    }
+
+    private static void closeReadTimesReport() {
+        if (readTimesReport == null) {
+            return;
+        }
+        JsonFiles.run(readTimesReport::close, "close report", readTimesReport.getReportFile(), logger);
+    }
+
+    static void markTestsFailed() {
+        testsFailed = true;
+    }
+
+    private static void initPluginFingerprintStore() {
+        if (!Boolean.getBoolean(PROPERTYNAME_CHANGED_ONLY)) {
+            return;
+        }
+        final File storeFile = JsonFiles.getStoreFile(PROPERTYNAME_CHANGED_ONLY_FILE, "plugin-fingerprints.json");
+        pluginFingerprintStore = new PluginFingerprintStore(storeFile);
+        if (JsonFiles.run(pluginFingerprintStore::load, "read plugin fingerprints", storeFile, logger)) {
+            logger.info("Testing only readers changed since the last successful run, " + pluginFingerprintStore.size() +
+                                " fingerprints in " + storeFile.getAbsolutePath());
+        }
+    }
+
+    /**
+     * Stores the fingerprints of the tested readers, if all tests passed. Readers of which not all products were
+     * selected, e.g. due to sharding or the time budget, keep their previous fingerprint.
+     */
+    private static void savePluginFingerprintStore() {
+        if (pluginFingerprintStore == null || !initialized) {
+            return;
+        }
+        if (testsFailed) {
+            logger.info("Plugin fingerprints not updated due to test failures");
+            return;
+        }
+        pluginFingerprintStore.acceptSelected(testDefinitionList, testProductList);
+        JsonFiles.run(pluginFingerprintStore::save, "write plugin fingerprints", pluginFingerprintStore.getStoreFile(), logger);
+    }
+
+    private static void writeShardResult() {
+        if (shardResult == null) {
+            return;
+        }
+        if (JsonFiles.run(() -> shardResult.write(shardResultFile), "write shard result", shardResultFile, logger)) {
+            logger.info("Shard result written to " + shardResultFile.getAbsolutePath());
+        }
+    }
+
+    private static void saveProductCostStore() {
+        if (productCostStore == null) {
+            return;
+        }
+        JsonFiles.run(productCostStore::save, "write product costs", productCostStore.getStoreFile(), logger);
+    }
+
+    /**
+     * Reads the product with {@link ProductIO#readProduct(File)} and checks the content expected for the detected
+     * reader on this instance, right after opening it. The content definition of the detected reader is removed from
+     * the given list.
+     */
+    private static void readProductIO(ProductSession session, File testProductFile, List<TestDefinition> contentDefinitions) {
+        final String productId = session.getProductId();
+        final ProductTestResult productIOResult = session.getProductIOResult();
+        final ThreadUsage startUsage = PARALLELISM == 1 ? ThreadUsage.sample() : null;
+        final ProcessIoUsage startIoUsage = ProcessIoUsage.sample();
+        final StopWatch stopWatch = new StopWatch();
+        Product product = null;
+        try {
+            stopWatch.start();
+            try {
+                product = ProductIO.readProduct(testProductFile);
+            } catch (Exception e) {
+                final String message = "ProductIO.readProduct " + productId + " caused an exception.\n" +
+                        "Should only return NULL or a product instance but should not cause any exception.";
+                logger.log(Level.SEVERE, message, e);
+                productIOResult.addError(new Exception(message, e));
+                return;
+            } finally {
+                stopWatch.stop();
+            }
+            productIOResult.setTime(stopWatch.getTimeDiff());
+            if (product == null || product.getProductReader() == null) {
+                return;
+            }
+            final TestDefinition sharedDefinition = removeDefinitionOf(product.getProductReader().getReaderPlugIn(), contentDefinitions);
+            if (sharedDefinition != null) {
+                final ProductTestResult contentResult = session.getContentResult(sharedDefinition.getProductReaderPlugin());
+                stopWatch.start();
+                assertExpectedContent(sharedDefinition, product, contentResult);
+                stopWatch.stop();
+                contentResult.setTime(productIOResult.getTimeDiff() + stopWatch.getTimeDiff());
+                if (startUsage != null) {
+                    ThreadUsage.sample().since(startUsage).setAttributes(contentResult, null);
+                }
+                final ProcessIoUsage endIoUsage = ProcessIoUsage.sample();
+                if (startIoUsage != null && endIoUsage != null) {
+                    endIoUsage.since(startIoUsage).setAttributes(contentResult, null);
+                }
+            }
+        } finally {
+            if (product != null) {
+                disposeProduct(productId, product);
+            }
+        }
+    }
+
+    private static void testIntendedProductContent(TestDefinition testDefinition, File testProductFile, ProductTestResult result) {
+        final long productSize = ReaderTestEvent.isRecording() ? ReadTimesMeasurement.getProductSize(testProductFile) : -1;
+        final ThreadUsage startUsage = PARALLELISM == 1 ? ThreadUsage.sample() : null;
+        final ProcessIoUsage startIoUsage = ProcessIoUsage.sample();
+        final StopWatch stopWatch = new StopWatch();
+        stopWatch.start();
+        Product product = null;
+        try {
+            final ProductReader productReader = testDefinition.getProductReaderPlugin().createReaderInstance();
+            final ReaderTestEvent readNodesEvent = ReaderTestEvent.start(result.getProductId(), ReadTimesMeasurement.getPluginClassName(productReader),
+                                                                         ProductTestResult.PHASE_READ_NODES);
+            readNodesEvent.setBytes(productSize);
+            try {
+                product = productReader.readProductNodes(testProductFile, null);
+            } finally {
+                readNodesEvent.commit();
+            }
+            assertExpectedContent(testDefinition, product, result);
+        } catch (Throwable t) {
+            result.addError(new Throwable("[" + result.getProductId() + "] " + t.getMessage(), t));
+        } finally {
+            if (product != null) {
+                disposeProduct(result.getProductId(), product);
+            }
+            stopWatch.stop();
+            result.setTime(stopWatch.getTimeDiff());
+            if (startUsage != null) {
+                ThreadUsage.sample().since(startUsage).setAttributes(result, null);
+            }
+            final ProcessIoUsage endIoUsage = ProcessIoUsage.sample();
+            if (startIoUsage != null && endIoUsage != null) {
+                endIoUsage.since(startIoUsage).setAttributes(result, null);
+            }
+        }
+    }
+
+    private static void assertExpectedContent(TestDefinition testDefinition, Product product, ProductTestResult result) {
+        final String productId = result.getProductId();
+        try {
+            assertExpectedContent(testDefinition, productId, product);
+        } catch (Throwable t) {
+            result.addError(new Throwable("[" + productId + "] " + t.getMessage(), t));
+        }
+    }
+
+    static List<TestDefinition> getContentDefinitions(TestProduct testProduct) {
+        final List<TestDefinition> contentDefinitions = new ArrayList<>();
+        for (TestDefinition testDefinition : testDefinitionList) {
+            if (isUnchanged(testDefinition)) {
+                continue;
+            }
+            for (String productId : testDefinition.getDecodableProductIds()) {
+                if (testProduct.getId().equalsIgnoreCase(productId)) {
+                    contentDefinitions.add(testDefinition);
+                    break;
+                }
+            }
+        }
+        return contentDefinitions;
+    }
+
+    private static TestDefinition removeDefinitionOf(ProductReaderPlugIn readerPlugIn, List<TestDefinition> testDefinitions) {
+        if (readerPlugIn == null) {
+            return null;
+        }
+        for (TestDefinition testDefinition : testDefinitions) {
+            if (testDefinition.getProductReaderPlugin().getClass() == readerPlugIn.getClass()) {
+                testDefinitions.remove(testDefinition);
+                return testDefinition;
+            }
+        }
+        return null;
+    }
+
     private static void assertExpectedContent(TestDefinition testDefinition, String productId, Product product) {
         final ExpectedContent expectedContent = testDefinition.getExpectedContent(productId);
         if (expectedContent == null) {
@@ -370,7 +1495,7 @@ public class ProductReaderAcceptanceTest {
         contentAssert.assertProductContent();
     }
 
-    private static DecodeQualification getExpectedDecodeQualification(TestDefinition testDefinition, TestProduct testProduct) {
+    static DecodeQualification getExpectedDecodeQualification(TestDefinition testDefinition, TestProduct testProduct) {
         final ExpectedDataset expectedDataset = testDefinition.getExpectedDataset(testProduct.getId());
         if (expectedDataset != null) {
             return expectedDataset.getDecodeQualification();
@@ -379,19 +1504,22 @@ public class ProductReaderAcceptanceTest {
     }
 
     private File getTestProductFile(TestProduct testProduct) {
-        final String relativePath = testProduct.getRelativePath();
-        final File testProductFile = dataRootDir.toPath().resolve(relativePath).toFile();
+        final File testProductFile = resolveTestProductFile(testProduct);
 
         errorCollector.checkThat("testProductFile exist " + testProduct.getId(), testProductFile.exists(), is(true));
         return testProductFile;
     }
 
+    static File resolveTestProductFile(TestProduct testProduct) {
+        return readerTestDefinitions.resolveTestProductFile(testProduct);
+    }
+
     private void logProductNotExistent(int indention, TestProduct testProduct) {
-        final StringBuilder sb = new StringBuilder();
-        for (int i = 0; i < indention; i++) {
-            sb.append(INDENT);
-        }
-        logger.info(sb.toString() + "Not existent - " + testProduct.getId());
+        logger.info(INDENT.repeat(indention) + "Not existent - " + testProduct.getId());
+    }
+
+    private void logProductUnchanged(int indention, TestProduct testProduct) {
+        logger.info(INDENT.repeat(indention) + "Unchanged - " + testProduct.getId());
     }
 
     private static void logFailOnMissingDataMessage() {
@@ -400,14 +1528,9 @@ public class ProductReaderAcceptanceTest {
         }
     }
 
-    private static void assertTestDataDirectory() {
-        final String dataDirProperty = System.getProperty(PROPERTYNAME_DATA_DIR);
-        if (dataDirProperty == null) {
-            fail("Data directory path not set");
-        }
-        dataRootDir = NioPaths.get(dataDirProperty).toFile();
-        if (!dataRootDir.isDirectory()) {
-            fail("Data directory is not valid: " + dataDirProperty);
+    private static void logProductSessionMessage() {
+        if (!REUSE_PRODUCT_SESSIONS) {
+            logger.info("Products are read freshly by every test method");
         }
     }
 
@@ -435,89 +1558,20 @@ public class ProductReaderAcceptanceTest {
         }
     }
 
-    private static void createGlobalProductList() {
-        for (TestDefinition testDefinition : testDefinitionList) {
-            final List<TestProduct> allPluginProducts = testDefinition.getAllProducts();
-            for (TestProduct testProduct : allPluginProducts) {
-                if (!testIfIdAlreadyRegistered(testProduct)) {
-                    testProductList.add(testProduct);
-                }
-            }
-        }
-    }
-
-    private static boolean testIfIdAlreadyRegistered(TestProduct testProduct) {
-        final String id = testProduct.getId();
-        final TestProduct storedProduct = testProductList.getById(id);
-        if (storedProduct != null) {
-            if (storedProduct.isDifferent(testProduct)) {
-                fail("Test file with ID=" + id + " already defined with different settings");
-            }
-
-            return true;
-        }
-
-        return false;
-    }
-
-    private static void testIfProductFilesExists(ProductList productList) {
-        for (TestProduct testProduct : productList) {
-            final String relativePath = testProduct.getRelativePath();
-            final File productFile = dataRootDir.toPath().resolve(relativePath).toFile();
-            if (!productFile.exists()) {
-                testProduct.exists(false);
-                if (FAIL_ON_MISSING_DATA) {
-                    fail("Test product does not exist: " + productFile.getAbsolutePath());
-                }
-            }
-        }
+    /**
+     * @return whether the reader of the definition, its test data and the libraries on the class path are unchanged
+     * since the last successful run, with {@value #PROPERTYNAME_CHANGED_ONLY} set
+     */
+    static boolean isUnchanged(TestDefinition testDefinition) {
+        return pluginFingerprintStore != null && pluginFingerprintStore.isUnchanged(testDefinition);
     }
 
-    private static void loadProductReaderTestDefinitions() throws IOException {
-        final ObjectMapper mapper = new ObjectMapper();
-        final Iterable<ProductReaderPlugIn> readerPlugIns = SystemUtils.loadServices(ProductReaderPlugIn.class);
-        testDefinitionList = new TestDefinitionList();
-
-        final String className = System.getProperty(PROPERTYNAME_CASS_NAME);
-
-        for (ProductReaderPlugIn readerPlugIn : readerPlugIns) {
-            final Class<? extends ProductReaderPlugIn> readerPlugInClass = readerPlugIn.getClass();
-            if (className != null && !readerPlugInClass.getName().startsWith(className)) {
-                continue;
-            }
-
-            final String dataResourceName = getReaderTestResourceName(readerPlugInClass.getName(), "-data.json");
-            final URL dataResource = readerPlugInClass.getResource(dataResourceName);
-            if (dataResource == null) {
-                logger.warning(readerPlugInClass.getSimpleName() + " does not define test data");
-                continue;
-            }
-
-            final TestDefinition testDefinition = new TestDefinition();
-            testDefinition.setProductReaderPlugin(readerPlugIn);
-            testDefinitionList.add(testDefinition);
-
-            final ProductList productList = mapper.readValue(dataResource, ProductList.class);
-            testIfProductFilesExists(productList);
-            testDefinition.addTestProducts(productList.getAll());
-
-            final String[] ids = productList.getAllIds();
-            for (String id : ids) {
-                final String fileResourceName = id + ".json";
-                final URL fileResource = readerPlugInClass.getResource(fileResourceName);
-                if (fileResource == null) {
-                    fail(readerPlugInClass.getSimpleName() + " resource file '" + fileResourceName + "' is missing");
-                }
-
-                final ExpectedDataset expectedDataset = mapper.readValue(fileResource, ExpectedDataset.class);
-                testDefinition.addExpectedDataset(expectedDataset);
-            }
-        }
-    }
-
-    private static String getReaderTestResourceName(String fullyQualifiedName, String suffix) {
-        final String path = fullyQualifiedName.replace(".", "/");
-        return "/" + path + suffix;
+    /**
+     * @return whether the readers of all definitions listing the product are unchanged, so reading the product is
+     * skipped. Its decode qualifications are still tested, as a changed reader may claim the product.
+     */
+    static boolean isUnchanged(TestProduct testProduct) {
+        return pluginFingerprintStore != null && pluginFingerprintStore.isUnchanged(testProduct, testDefinitionList);
     }
 
     private static void logInfoWithStars(final String text) {
@@ -531,4 +1585,19 @@ public class ProductReaderAcceptanceTest {
         logger.info(starString);
         logger.info("");
     }
+
+    private static class DecodeQualificationResult {
+
+        private final DecodeQualification decodeQualification;
+        private final long timeDiff;
+        private final long timeMicros;
+        private final boolean cached;
+
+        private DecodeQualificationResult(DecodeQualification decodeQualification, long timeDiff, long timeMicros, boolean cached) {
+            this.decodeQualification = decodeQualification;
+            this.timeDiff = timeDiff;
+            this.timeMicros = timeMicros;
+            this.cached = cached;
+        }
+    }
 }
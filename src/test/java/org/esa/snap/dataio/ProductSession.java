@@ -0,0 +1,70 @@
+/*
+ * Copyright (C) 2026 Brockmann Consult GmbH (info@brockmann-consult.de)
+ *
+ * This program is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option)
+ * any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License for
+ * more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, see http://www.gnu.org/licenses/
+ */
+
+package org.esa.snap.dataio;
+
+import org.esa.snap.core.dataio.ProductReaderPlugIn;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Results of the checks done on one test product. For the ProductIO and content checks the product is opened once
+ * per reader, the checks are run against this instance and the product is disposed again. Only the results are
+ * kept, so the test methods can report them without reading the product a second time. The read times are measured
+ * in a session of their own on a freshly opened product.
+ */
+class ProductSession {
+
+    private final String productId;
+    private final ProductTestResult productIOResult;
+    private final ProductTestResult readTimesResult;
+    private final Map<String, ProductTestResult> contentResults;
+
+    ProductSession(String productId) {
+        this.productId = productId;
+        productIOResult = new ProductTestResult(productId);
+        readTimesResult = new ProductTestResult(productId);
+        contentResults = new HashMap<>();
+    }
+
+    String getProductId() {
+        return productId;
+    }
+
+    ProductTestResult getProductIOResult() {
+        return productIOResult;
+    }
+
+    ProductTestResult getReadTimesResult() {
+        return readTimesResult;
+    }
+
+    ProductTestResult getContentResult(ProductReaderPlugIn readerPlugIn) {
+        return getContentResult(readerPlugIn.getClass().getName());
+    }
+
+    synchronized ProductTestResult getContentResult(String readerPlugInClassName) {
+        return contentResults.computeIfAbsent(readerPlugInClassName, name -> new ProductTestResult(productId));
+    }
+
+    /**
+     * @return the content results keyed by the class name of the reader plugin
+     */
+    synchronized Map<String, ProductTestResult> getContentResults() {
+        return new HashMap<>(contentResults);
+    }
+}
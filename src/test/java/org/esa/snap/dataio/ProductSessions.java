@@ -0,0 +1,81 @@
+/*
+ * Copyright (C) 2026 Brockmann Consult GmbH (info@brockmann-consult.de)
+ *
+ * This program is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option)
+ * any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License for
+ * more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, see http://www.gnu.org/licenses/
+ */
+
+package org.esa.snap.dataio;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.function.Function;
+
+/**
+ * Shares the {@link ProductSession} of a product between the test methods. The first caller asking for a product
+ * opens the session, concurrent callers for the same product wait until it is complete.
+ */
+class ProductSessions {
+
+    private final ConcurrentMap<String, FutureTask<ProductSession>> sessions;
+
+    ProductSessions() {
+        sessions = new ConcurrentHashMap<>();
+    }
+
+    ProductSession get(String productId, Callable<ProductSession> sessionOpener) {
+        final FutureTask<ProductSession> newSession = new FutureTask<>(sessionOpener);
+        final FutureTask<ProductSession> existingSession = sessions.putIfAbsent(productId.toLowerCase(), newSession);
+        final FutureTask<ProductSession> session = existingSession != null ? existingSession : newSession;
+        session.run();
+        try {
+            return session.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for product session " + productId, e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Could not open product session " + productId, e.getCause());
+        }
+    }
+
+    /**
+     * Opens the sessions of the given products with the given number of threads, in the order given. Returns when
+     * all sessions are complete, so later callers get them without waiting.
+     */
+    void prefetch(List<TestProduct> testProducts, int parallelism, Function<TestProduct, Callable<ProductSession>> sessionOpeners) {
+        try (ProductTestExecutor executor = new ProductTestExecutor(parallelism)) {
+            final List<FutureTask<ProductSession>> pendingSessions = new ArrayList<>();
+            for (TestProduct testProduct : testProducts) {
+                pendingSessions.add(executor.submit(() -> get(testProduct.getId(), sessionOpeners.apply(testProduct))));
+            }
+            for (FutureTask<ProductSession> pendingSession : pendingSessions) {
+                executor.getResult(pendingSession);
+            }
+        }
+    }
+
+    /**
+     * Forgets the session of the product, so the next caller reads the product again.
+     */
+    void remove(String productId) {
+        sessions.remove(productId.toLowerCase());
+    }
+
+    int size() {
+        return sessions.size();
+    }
+}
@@ -0,0 +1,91 @@
+package org.esa.snap.dataio;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+public class ProductSessionsTest {
+
+    private ProductSessions productSessions;
+
+    @Before
+    public void setUp() {
+        productSessions = new ProductSessions();
+    }
+
+    @Test
+    public void testGet_opensSessionOnlyOnce() {
+        final AtomicInteger openCount = new AtomicInteger();
+
+        final ProductSession first = productSessions.get("prod_1", () -> {
+            openCount.incrementAndGet();
+            return new ProductSession("prod_1");
+        });
+        final ProductSession second = productSessions.get("prod_1", () -> {
+            openCount.incrementAndGet();
+            return new ProductSession("prod_1");
+        });
+
+        assertSame(first, second);
+        assertEquals(1, openCount.get());
+        assertEquals(1, productSessions.size());
+    }
+
+    @Test
+    public void testPrefetch() {
+        final List<TestProduct> testProducts = new ArrayList<>();
+        for (String productId : new String[]{"prod_1", "prod_2", "prod_3"}) {
+            final TestProduct testProduct = new TestProduct();
+            testProduct.setId(productId);
+            testProducts.add(testProduct);
+        }
+        final AtomicInteger openCount = new AtomicInteger();
+
+        productSessions.prefetch(testProducts, 2, testProduct -> () -> {
+            openCount.incrementAndGet();
+            return new ProductSession(testProduct.getId());
+        });
+        final ProductSession session = productSessions.get("prod_2", () -> {
+            throw new IllegalStateException("already prefetched");
+        });
+
+        assertEquals("prod_2", session.getProductId());
+        assertEquals(3, openCount.get());
+        assertEquals(3, productSessions.size());
+    }
+
+    @Test
+    public void testGet_idIsCaseInsensitive() {
+        final ProductSession first = productSessions.get("PROD_1", () -> new ProductSession("PROD_1"));
+        final ProductSession second = productSessions.get("prod_1", () -> new ProductSession("prod_1"));
+
+        assertSame(first, second);
+    }
+
+    @Test
+    public void testGet_differentProducts() {
+        final ProductSession first = productSessions.get("prod_1", () -> new ProductSession("prod_1"));
+        final ProductSession second = productSessions.get("prod_2", () -> new ProductSession("prod_2"));
+
+        assertNotSame(first, second);
+        assertEquals("prod_2", second.getProductId());
+        assertEquals(2, productSessions.size());
+    }
+
+    @Test
+    public void testGet_failingOpener() {
+        try {
+            productSessions.get("prod_1", () -> {
+                throw new IllegalArgumentException("broken");
+            });
+            fail("IllegalStateException expected");
+        } catch (IllegalStateException expected) {
+            assertTrue(expected.getCause() instanceof IllegalArgumentException);
+        }
+    }
+}
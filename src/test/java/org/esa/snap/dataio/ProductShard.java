@@ -0,0 +1,134 @@
+/*
+ * Copyright (C) 2026 Brockmann Consult GmbH (info@brockmann-consult.de)
+ *
+ * This program is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option)
+ * any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License for
+ * more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, see http://www.gnu.org/licenses/
+ */
+package org.esa.snap.dataio;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * One of {@code n} disjoint parts of the global product list, given as {@code i/n} with {@code 1 <= i <= n}.
+ * <p>
+ * With the {@link #STRATEGY_HASH hash} strategy a product belongs to the shard given by the hash code of its
+ * lower-cased id, so the assignment of a product does not change when other products are added or removed. The
+ * {@link #STRATEGY_COST cost} strategy distributes the products longest first to the shard with the least recorded
+ * cost so far. Its costs must be taken from a file shared by all agents, e.g. one committed to the repository, as the
+ * local product cost stores of the agents differ and would lead to overlapping shards.
+ */
+class ProductShard {
+
+    static final String STRATEGY_HASH = "hash";
+    static final String STRATEGY_COST = "cost";
+
+    private final int index;
+    private final int count;
+
+    ProductShard(int index, int count) {
+        if (count < 1 || index < 1 || index > count) {
+            throw new IllegalArgumentException("Invalid shard " + index + "/" + count);
+        }
+        this.index = index;
+        this.count = count;
+    }
+
+    static ProductShard parse(String shard) {
+        final String[] parts = shard.trim().split("/");
+        if (parts.length != 2) {
+            throw new IllegalArgumentException("Shard must be given as i/n but is '" + shard + "'");
+        }
+        try {
+            return new ProductShard(Integer.parseInt(parts[0].trim()), Integer.parseInt(parts[1].trim()));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Shard must be given as i/n but is '" + shard + "'", e);
+        }
+    }
+
+    int getIndex() {
+        return index;
+    }
+
+    int getCount() {
+        return count;
+    }
+
+    /**
+     * Marks the products of this shard as selected and all others as not selected.
+     *
+     * @param productCostStore the recorded costs, only used by the cost strategy
+     * @return the ids of the selected products
+     */
+    List<String> select(ProductList productList, String strategy, ProductCostStore productCostStore) {
+        final List<TestProduct> shardProducts;
+        if (STRATEGY_HASH.equalsIgnoreCase(strategy)) {
+            shardProducts = getProductsByHash(productList.getAll());
+        } else if (STRATEGY_COST.equalsIgnoreCase(strategy)) {
+            if (productCostStore == null) {
+                throw new IllegalArgumentException("Shard strategy '" + STRATEGY_COST + "' requires recorded product costs");
+            }
+            shardProducts = getProductsByCost(productList.getAll(), productCostStore);
+        } else {
+            throw new IllegalArgumentException("Unknown shard strategy '" + strategy + "'");
+        }
+        final List<String> selectedIds = new ArrayList<>();
+        for (TestProduct testProduct : productList) {
+            final boolean selected = shardProducts.contains(testProduct);
+            testProduct.setSelected(selected);
+            if (selected) {
+                selectedIds.add(testProduct.getId());
+            }
+        }
+        return selectedIds;
+    }
+
+    private List<TestProduct> getProductsByHash(List<TestProduct> testProducts) {
+        final List<TestProduct> shardProducts = new ArrayList<>();
+        for (TestProduct testProduct : testProducts) {
+            if (Math.floorMod(testProduct.getId().toLowerCase().hashCode(), count) == index - 1) {
+                shardProducts.add(testProduct);
+            }
+        }
+        return shardProducts;
+    }
+
+    private List<TestProduct> getProductsByCost(List<TestProduct> testProducts, ProductCostStore productCostStore) {
+        final long meanCost = productCostStore.getMeanCost(testProducts);
+        final long unknownCost = meanCost != ProductCostStore.UNKNOWN_COST ? meanCost : 1;
+        final List<TestProduct> sortedProducts = new ArrayList<>(testProducts);
+        sortedProducts.sort(Comparator.comparingLong((TestProduct testProduct) -> productCostStore.getCost(testProduct.getId(), unknownCost))
+                                    .reversed()
+                                    .thenComparing(testProduct -> testProduct.getId().toLowerCase()));
+        final long[] shardCosts = new long[count];
+        final List<TestProduct> shardProducts = new ArrayList<>();
+        for (TestProduct testProduct : sortedProducts) {
+            int cheapestShard = 0;
+            for (int i = 1; i < count; i++) {
+                if (shardCosts[i] < shardCosts[cheapestShard]) {
+                    cheapestShard = i;
+                }
+            }
+            shardCosts[cheapestShard] += productCostStore.getCost(testProduct.getId(), unknownCost);
+            if (cheapestShard == index - 1) {
+                shardProducts.add(testProduct);
+            }
+        }
+        return shardProducts;
+    }
+
+    @Override
+    public String toString() {
+        return index + "/" + count;
+    }
+}
@@ -0,0 +1,101 @@
+package org.esa.snap.dataio;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.Assert.*;
+
+public class ProductShardTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void testParse() {
+        final ProductShard shard = ProductShard.parse(" 2/5 ");
+
+        assertEquals(2, shard.getIndex());
+        assertEquals(5, shard.getCount());
+        assertEquals("2/5", shard.toString());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testParse_invalidFormat() {
+        ProductShard.parse("2-5");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testParse_indexOutOfRange() {
+        ProductShard.parse("0/5");
+    }
+
+    @Test
+    public void testSelect_hashPartitionsAllProducts() {
+        final ProductList productList = createProductList(20);
+
+        final Set<String> allIds = new HashSet<>();
+        int selectedCount = 0;
+        for (int i = 1; i <= 3; i++) {
+            final List<String> ids = new ProductShard(i, 3).select(productList, ProductShard.STRATEGY_HASH, null);
+            allIds.addAll(ids);
+            selectedCount += ids.size();
+        }
+
+        assertEquals(20, selectedCount);
+        assertEquals(20, allIds.size());
+    }
+
+    @Test
+    public void testSelect_setsSelectedFlag() {
+        final ProductList productList = createProductList(10);
+
+        final List<String> ids = new ProductShard(1, 2).select(productList, ProductShard.STRATEGY_HASH, null);
+
+        for (TestProduct testProduct : productList) {
+            assertEquals(ids.contains(testProduct.getId()), testProduct.isSelected());
+        }
+    }
+
+    @Test
+    public void testSelect_costBalancesShards() throws IOException {
+        final File storeFile = new File(temporaryFolder.getRoot(), "product-costs.json");
+        final ProductCostStore recorded = new ProductCostStore(storeFile);
+        recorded.addCost("PROD_0", ProductCostStore.Phase.CONTENT, 1000);
+        recorded.addCost("PROD_1", ProductCostStore.Phase.CONTENT, 600);
+        recorded.addCost("PROD_2", ProductCostStore.Phase.CONTENT, 400);
+        recorded.addCost("PROD_3", ProductCostStore.Phase.CONTENT, 300);
+        recorded.addCost("PROD_4", ProductCostStore.Phase.CONTENT, 300);
+        recorded.save();
+        final ProductCostStore productCostStore = new ProductCostStore(storeFile);
+        productCostStore.load();
+        final ProductList productList = createProductList(5);
+
+        final List<String> first = new ProductShard(1, 2).select(productList, ProductShard.STRATEGY_COST, productCostStore);
+        final List<String> second = new ProductShard(2, 2).select(productList, ProductShard.STRATEGY_COST, productCostStore);
+
+        assertEquals(List.of("PROD_0", "PROD_3"), first);
+        assertEquals(List.of("PROD_1", "PROD_2", "PROD_4"), second);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testSelect_costWithoutStore() {
+        new ProductShard(1, 2).select(createProductList(2), ProductShard.STRATEGY_COST, null);
+    }
+
+    private static ProductList createProductList(int size) {
+        final ProductList productList = new ProductList();
+        for (int i = 0; i < size; i++) {
+            final TestProduct testProduct = new TestProduct();
+            testProduct.setId("PROD_" + i);
+            productList.add(testProduct);
+        }
+        return productList;
+    }
+}
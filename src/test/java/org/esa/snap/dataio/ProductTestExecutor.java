@@ -0,0 +1,111 @@
+/*
+ * Copyright (C) 2026 Brockmann Consult GmbH (info@brockmann-consult.de)
+ *
+ * This program is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option)
+ * any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License for
+ * more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, see http://www.gnu.org/licenses/
+ */
+
+package org.esa.snap.dataio;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Executes independent product tests on a pool of worker threads.
+ * <p>
+ * Tasks are submitted in the order the results shall be reported and fetched again in that order with
+ * {@link #getResult(FutureTask)}. With a parallelism of 1 no threads are started, a task is executed on the
+ * calling thread when its result is requested. This keeps the sequential behaviour (and log output) identical
+ * to a plain loop.
+ */
+class ProductTestExecutor implements AutoCloseable {
+
+    private final int parallelism;
+    private final ExecutorService executorService;
+
+    ProductTestExecutor(int parallelism) {
+        this.parallelism = Math.max(1, parallelism);
+        if (this.parallelism > 1) {
+            final AtomicInteger threadCount = new AtomicInteger();
+            executorService = Executors.newFixedThreadPool(this.parallelism, runnable -> {
+                final Thread thread = new Thread(runnable, "reader-test-" + threadCount.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        } else {
+            executorService = null;
+        }
+    }
+
+    int getParallelism() {
+        return parallelism;
+    }
+
+    boolean isParallel() {
+        return executorService != null;
+    }
+
+    <T> FutureTask<T> submit(Callable<T> task) {
+        final FutureTask<T> futureTask = new FutureTask<>(task);
+        if (executorService != null) {
+            executorService.execute(futureTask);
+        }
+        return futureTask;
+    }
+
+    /**
+     * Submits all tasks at once. They are started in the order given by {@code executionOrder}, which must contain
+     * the same tasks, while the returned list keeps the order of {@code tasks} for reporting.
+     */
+    <T> List<FutureTask<T>> submitAll(List<Callable<T>> tasks, List<Callable<T>> executionOrder) {
+        final Map<Callable<T>, FutureTask<T>> futureTasks = new IdentityHashMap<>();
+        for (Callable<T> task : executionOrder) {
+            futureTasks.put(task, submit(task));
+        }
+        final List<FutureTask<T>> result = new ArrayList<>();
+        for (Callable<T> task : tasks) {
+            result.add(futureTasks.get(task));
+        }
+        return result;
+    }
+
+    /**
+     * Waits for the result of the given task. If the task has not been picked up by a worker thread yet, it is
+     * executed on the calling thread.
+     */
+    <T> T getResult(FutureTask<T> futureTask) {
+        futureTask.run();
+        try {
+            return futureTask.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for product test", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Product test failed unexpectedly", e.getCause());
+        }
+    }
+
+    @Override
+    public void close() {
+        if (executorService != null) {
+            executorService.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,191 @@
+/*
+ * Copyright (C) 2026 Brockmann Consult GmbH (info@brockmann-consult.de)
+ *
+ * This program is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option)
+ * any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License for
+ * more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, see http://www.gnu.org/licenses/
+ */
+
+package org.esa.snap.dataio;
+
+import org.esa.snap.core.util.StopWatch;
+import org.hamcrest.Matcher;
+import org.hamcrest.MatcherAssert;
+import org.junit.rules.ErrorCollector;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Outcome of testing a single product. Each task fills its own instance, so no state is shared between
+ * concurrently tested products. The errors are handed over to the {@link ErrorCollector} of the test
+ * afterwards on the calling thread.
+ */
+class ProductTestResult {
+
+    static final String PHASE_FIND_READER = "findReader";
+    static final String PHASE_READ_NODES = "readNodes";
+    static final String PHASE_GET_STX = "getStx";
+    static final String PHASE_GET_VIEW_DATA = "getViewData";
+    static final List<String> PHASES = Collections.unmodifiableList(Arrays.asList(
+            PHASE_FIND_READER, PHASE_READ_NODES, PHASE_GET_STX, PHASE_GET_VIEW_DATA));
+
+    static final String ATTRIBUTE_PLUGIN = "plugin";
+    static final String ATTRIBUTE_FILE_SIZE = "fileSize";
+    static final String ATTRIBUTE_NUM_BANDS = "numBands";
+    static final String ATTRIBUTE_WIDTH = "width";
+    static final String ATTRIBUTE_HEIGHT = "height";
+    static final String ATTRIBUTE_VIEW_PIXELS = "viewPixels";
+    static final String ATTRIBUTE_CPU_TIME = "cpuTime";
+    static final String ATTRIBUTE_USER_TIME = "userTime";
+    static final String ATTRIBUTE_ALLOCATED_BYTES = "allocatedBytes";
+    static final String ATTRIBUTE_READ_BYTES = "readBytes";
+    static final String ATTRIBUTE_READ_CALLS = "readCalls";
+    static final String ATTRIBUTE_TILE_CACHE_HITS = "tileCacheHits";
+    static final String ATTRIBUTE_TILE_CACHE_MISSES = "tileCacheMisses";
+    static final String ATTRIBUTE_TILE_CACHE_EVICTIONS = "tileCacheEvictions";
+    static final String ATTRIBUTE_TILE_CACHE_MEMORY_USED = "tileCacheMemoryUsed";
+    static final String ATTRIBUTE_BUFFER_MEMORY_PEAK = "bufferMemoryPeak";
+    static final String ATTRIBUTE_BUFFER_MEMORY_RESIDUAL = "bufferMemoryResidual";
+    static final String ATTRIBUTE_RSS_PEAK = "rssPeak";
+    static final String ATTRIBUTE_RSS_RESIDUAL = "rssResidual";
+    static final String ATTRIBUTE_THROUGHPUT_DATA_TYPES = "throughputDataTypes";
+    static final String ATTRIBUTE_THROUGHPUT_BANDS = "throughputBands";
+    static final String ATTRIBUTE_THROUGHPUT_TILES = "throughputTiles";
+    static final String ATTRIBUTE_THROUGHPUT_BYTES = "throughputBytes";
+    static final String ATTRIBUTE_THROUGHPUT_TIME = "throughputTime";
+    static final String ATTRIBUTE_THROUGHPUT_FIRST_TILE_TIME = "throughputFirstTileTime";
+    static final String ATTRIBUTE_TILE_SCALING_THREADS = "tileScalingThreads";
+    static final String ATTRIBUTE_TILE_SCALING_TIMES = "tileScalingTimes";
+    static final String ATTRIBUTE_TILE_SCALING_EFFICIENCY = "tileScalingEfficiency";
+
+    private static final String UNDEFINED_TIME_STRING = "--:--:--.---";
+
+    private final String productId;
+    private final List<Throwable> errors;
+    private final Map<String, Long> phaseTimes;
+    private final Map<String, Object> attributes;
+    private long timeDiff;
+    private String timeDiffString;
+
+    ProductTestResult(String productId) {
+        this.productId = productId;
+        this.errors = new ArrayList<>();
+        this.phaseTimes = new HashMap<>();
+        this.attributes = new LinkedHashMap<>();
+        this.timeDiffString = UNDEFINED_TIME_STRING;
+    }
+
+    String getProductId() {
+        return productId;
+    }
+
+    void addError(Throwable error) {
+        errors.add(error);
+    }
+
+    /**
+     * Same as {@link ErrorCollector#checkThat(String, Object, Matcher)} but records the error in this result.
+     */
+    <T> void checkThat(String reason, T value, Matcher<T> matcher) {
+        try {
+            MatcherAssert.assertThat(reason, value, matcher);
+        } catch (AssertionError e) {
+            addError(e);
+        }
+    }
+
+    List<Throwable> getErrors() {
+        return errors;
+    }
+
+    boolean hasErrors() {
+        return !errors.isEmpty();
+    }
+
+    long getTimeDiff() {
+        return timeDiff;
+    }
+
+    String getTimeDiffString() {
+        return timeDiffString;
+    }
+
+    boolean hasTime() {
+        return !UNDEFINED_TIME_STRING.equals(timeDiffString);
+    }
+
+    void setTime(long timeDiff) {
+        this.timeDiff = timeDiff;
+        this.timeDiffString = StopWatch.getTimeString(timeDiff);
+    }
+
+    boolean hasPhaseTime(String phase) {
+        return phaseTimes.containsKey(phase);
+    }
+
+    long getPhaseTime(String phase) {
+        final Long phaseTime = phaseTimes.get(phase);
+        return phaseTime != null ? phaseTime : -1;
+    }
+
+    String getPhaseTimeString(String phase) {
+        final Long phaseTime = phaseTimes.get(phase);
+        return phaseTime != null ? StopWatch.getTimeString(phaseTime) : UNDEFINED_TIME_STRING;
+    }
+
+    void setPhaseTime(String phase, long timeDiff) {
+        phaseTimes.put(phase, timeDiff);
+    }
+
+    Map<String, Long> getPhaseTimes() {
+        return Collections.unmodifiableMap(phaseTimes);
+    }
+
+    /**
+     * Sets a property of the tested product, e.g. its size, which is written to reports along with the times.
+     *
+     * @param value a string or a number
+     */
+    void setAttribute(String name, Object value) {
+        attributes.put(name, value);
+    }
+
+    Object getAttribute(String name) {
+        return attributes.get(name);
+    }
+
+    /**
+     * @return the name of an attribute measured for a phase, e.g. {@code readNodesCpuTime}, or the plain attribute
+     * name if the phase is {@code null}
+     */
+    static String getAttributeName(String phase, String attribute) {
+        if (phase == null) {
+            return attribute;
+        }
+        return phase + Character.toUpperCase(attribute.charAt(0)) + attribute.substring(1);
+    }
+
+    Map<String, Object> getAttributes() {
+        return Collections.unmodifiableMap(attributes);
+    }
+
+    void transferErrorsTo(ErrorCollector errorCollector) {
+        for (Throwable error : errors) {
+            errorCollector.addError(error);
+        }
+    }
+}
@@ -0,0 +1,300 @@
+/*
+ * Copyright (C) 2026 Brockmann Consult GmbH (info@brockmann-consult.de)
+ *
+ * This program is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option)
+ * any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License for
+ * more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, see http://www.gnu.org/licenses/
+ */
+
+package org.esa.snap.dataio;
+
+import org.esa.snap.core.dataio.ProductReaderPlugIn;
+import org.junit.runner.Description;
+import org.junit.runner.Runner;
+import org.junit.runner.notification.RunNotifier;
+import org.junit.runners.ParentRunner;
+import org.junit.runners.model.InitializationError;
+import org.junit.runners.model.MultipleFailureException;
+import org.junit.runners.model.Statement;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.Callable;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.notNullValue;
+
+/**
+ * Runs the checks of {@link ProductReaderAcceptanceTest} as one JUnit test per plugin, product and check, so that
+ * surefire can time, parallelise and rerun them individually. The tests are named after the test method doing the
+ * same check in one loop, e.g. {@code testReadIntendedProductContent[SomeReaderPlugIn:PRODUCT_ID]}.
+ * <p>
+ * Enabled by {@code -Dsnap.reader.tests.perProductTests=true} in addition to {@code -Dsnap.reader.tests.execute=true}.
+ * The checks of a product are grouped in a {@link ProductRunner}, which opens the shared session of the product
+ * before its checks and forgets it afterwards. So no check bears the time of reading the product, and a failing check
+ * does not make the following ones read it again.
+ */
+public class ProductTestRunner extends ParentRunner<ProductTestRunner.ProductRunner> {
+
+    private final Class<?> clazz;
+    private final boolean runAcceptanceTests;
+    private final Map<String, ProductRunner> productRunners;
+
+    public ProductTestRunner(Class<?> clazz) throws InitializationError {
+        super(clazz);
+        Locale.setDefault(Locale.UK);
+        this.clazz = clazz;
+
+        runAcceptanceTests = Boolean.getBoolean(ReaderTestRunner.PROPERTYNAME_EXECUTE_READER_TESTS) &&
+                             Boolean.getBoolean(ReaderTestRunner.PROPERTYNAME_PER_PRODUCT_TESTS);
+        productRunners = new LinkedHashMap<>();
+        if (runAcceptanceTests) {
+            try {
+                ProductReaderAcceptanceTest.initialize();
+            } catch (Exception | AssertionError e) {
+                throw new InitializationError(e);
+            }
+            createProductChecks();
+        }
+    }
+
+    @Override
+    protected List<ProductRunner> getChildren() {
+        return new ArrayList<>(productRunners.values());
+    }
+
+    @Override
+    protected Description describeChild(ProductRunner productRunner) {
+        return productRunner.getDescription();
+    }
+
+    @Override
+    public void run(RunNotifier runNotifier) {
+        if (runAcceptanceTests) {
+            super.run(runNotifier);
+        } else {
+            final Description description = Description.createTestDescription(clazz, "allProducts. Per product reader tests disabled. " +
+                                                                                     "Set VM params -D" + ReaderTestRunner.PROPERTYNAME_EXECUTE_READER_TESTS + "=true and -D" +
+                                                                                     ReaderTestRunner.PROPERTYNAME_PER_PRODUCT_TESTS + "=true to enable.");
+            runNotifier.fireTestIgnored(description);
+        }
+    }
+
+    @Override
+    protected void runChild(ProductRunner productRunner, RunNotifier runNotifier) {
+        productRunner.run(runNotifier);
+    }
+
+    private void createProductChecks() throws InitializationError {
+        final TestDefinitionList testDefinitionList = ProductReaderAcceptanceTest.getTestDefinitionList();
+        final ProductList testProductList = ProductReaderAcceptanceTest.getTestProductList();
+
+        for (TestProduct testProduct : testProductList) {
+            if (testProduct.isSelected()) {
+                addProductCheck("testOneIntendedReader", null, testProduct, () -> checkOneIntendedReader(testProduct));
+            }
+        }
+        for (TestDefinition testDefinition : testDefinitionList) {
+            for (TestProduct testProduct : testProductList) {
+                if (testProduct.isSelected() && ProductReaderAcceptanceTest.getExpectedDecodeQualification(testDefinition, testProduct) != null) {
+                    addProductCheck("testPluginDecodeQualifications", testDefinition.getProductReaderPlugin(), testProduct,
+                                    () -> ProductReaderAcceptanceTest.checkDecodeQualification(testDefinition, testProduct));
+                }
+            }
+        }
+        for (TestDefinition testDefinition : testDefinitionList) {
+            if (ProductReaderAcceptanceTest.isUnchanged(testDefinition)) {
+                continue;
+            }
+            for (String productId : testDefinition.getDecodableProductIds()) {
+                final TestProduct testProduct = testProductList.getById(productId);
+                if (testProduct == null) {
+                    addUndefinedProductCheck("testReadIntendedProductContent", testDefinition.getProductReaderPlugin(), productId);
+                } else if (testProduct.isSelected()) {
+                    addProductCheck("testReadIntendedProductContent", testDefinition.getProductReaderPlugin(), testProduct,
+                                    () -> ProductReaderAcceptanceTest.checkProductContent(testDefinition, testProduct));
+                }
+            }
+        }
+        for (TestProduct testProduct : testProductList) {
+            if (testProduct.isSelected() && !ProductReaderAcceptanceTest.isUnchanged(testProduct)) {
+                addProductCheck("testProductIO_readProduct", null, testProduct,
+                                () -> ProductReaderAcceptanceTest.checkProductIO(testProduct));
+                addProductCheck("testProductReadTimes", null, testProduct,
+                                () -> ProductReaderAcceptanceTest.checkProductReadTimes(testProduct));
+            }
+        }
+    }
+
+    /**
+     * Adds a failing check for a product id a reader expects to decode, but which has no test product, as reported by
+     * the test method when run as a whole. The check is run in a runner of its own, as there is no product to read.
+     */
+    private void addUndefinedProductCheck(String name, ProductReaderPlugIn productReaderPlugin, String productId)
+            throws InitializationError {
+        final TestProduct undefinedProduct = new TestProduct();
+        undefinedProduct.setId(productId);
+        addProductCheck(name, productReaderPlugin, undefinedProduct, false, () -> checkProductDefined(productId));
+    }
+
+    private void addProductCheck(String name, ProductReaderPlugIn productReaderPlugin, TestProduct testProduct,
+                                 Callable<ProductTestResult> check) throws InitializationError {
+        addProductCheck(name, productReaderPlugin, testProduct, true, check);
+    }
+
+    private void addProductCheck(String name, ProductReaderPlugIn productReaderPlugin, TestProduct testProduct, boolean defined,
+                                 Callable<ProductTestResult> check) throws InitializationError {
+        final StringBuilder testName = new StringBuilder(name).append('[');
+        if (productReaderPlugin != null) {
+            testName.append(productReaderPlugin.getClass().getSimpleName()).append(':');
+        }
+        testName.append(testProduct.getId()).append(']');
+        final Description description = Description.createTestDescription(clazz, testName.toString());
+        ProductRunner productRunner = productRunners.get(testProduct.getId());
+        if (productRunner == null) {
+            productRunner = new ProductRunner(clazz, testProduct, defined);
+            productRunners.put(testProduct.getId(), productRunner);
+        }
+        productRunner.productChecks.add(new ProductCheck(name, productReaderPlugin, testProduct, check, description));
+    }
+
+    private static ProductTestResult checkProductDefined(String productId) {
+        final ProductTestResult result = new ProductTestResult(productId);
+        final String reason = "Test file not defined for ID=" + productId;
+        result.checkThat(reason, ProductReaderAcceptanceTest.getTestProductList().getById(productId), is(notNullValue()));
+        return result;
+    }
+
+    private static ProductTestResult checkOneIntendedReader(TestProduct testProduct) {
+        final ProductTestResult result = new ProductTestResult(testProduct.getId());
+        final List<ProductReaderPlugIn> intendedPlugins = ProductReaderAcceptanceTest.getIntendedPlugins(testProduct);
+        if (intendedPlugins.size() > 1) {
+            final StringBuilder message = new StringBuilder("more than one 'INTENDED' reader " + testProduct.getId() + ":");
+            for (ProductReaderPlugIn intendedPlugin : intendedPlugins) {
+                message.append(' ').append(intendedPlugin.getClass().getName());
+            }
+            result.addError(new AssertionError(message.toString()));
+        }
+        return result;
+    }
+
+    /**
+     * Runs the checks of one product. The shared session of the product is opened in the class level setup and
+     * forgotten in the teardown, the {@code @BeforeClass} and {@code @AfterClass} methods of the test class are run
+     * by the enclosing {@link ProductTestRunner} only.
+     */
+    static class ProductRunner extends ParentRunner<ProductCheck> {
+
+        private final TestProduct testProduct;
+        private final boolean defined;
+        private final List<ProductCheck> productChecks;
+
+        /**
+         * @param defined whether the product is defined in the test products, otherwise it is neither read nor
+         *                ignored and only its failing checks are run
+         */
+        private ProductRunner(Class<?> clazz, TestProduct testProduct, boolean defined) throws InitializationError {
+            super(clazz);
+            this.testProduct = testProduct;
+            this.defined = defined;
+            this.productChecks = new ArrayList<>();
+        }
+
+        @Override
+        protected String getName() {
+            return testProduct.getId();
+        }
+
+        @Override
+        protected List<ProductCheck> getChildren() {
+            return productChecks;
+        }
+
+        @Override
+        protected Description describeChild(ProductCheck productCheck) {
+            return productCheck.description;
+        }
+
+        @Override
+        protected boolean isIgnored(ProductCheck productCheck) {
+            return defined && (!testProduct.exists() || !testProduct.isEnabled());
+        }
+
+        @Override
+        protected Statement withBeforeClasses(Statement statement) {
+            return new Statement() {
+                @Override
+                public void evaluate() throws Throwable {
+                    if (defined && !ProductReaderAcceptanceTest.isUnchanged(testProduct)) {
+                        ProductReaderAcceptanceTest.openSharedProductSession(testProduct);
+                    }
+                    statement.evaluate();
+                }
+            };
+        }
+
+        @Override
+        protected Statement withAfterClasses(Statement statement) {
+            return new Statement() {
+                @Override
+                public void evaluate() throws Throwable {
+                    try {
+                        statement.evaluate();
+                    } finally {
+                        ProductReaderAcceptanceTest.discardProductSession(testProduct);
+                    }
+                }
+            };
+        }
+
+        @Override
+        protected void runChild(ProductCheck productCheck, RunNotifier runNotifier) {
+            if (isIgnored(productCheck)) {
+                runNotifier.fireTestIgnored(productCheck.description);
+                return;
+            }
+            runLeaf(new Statement() {
+                @Override
+                public void evaluate() throws Throwable {
+                    try {
+                        final ProductTestResult result = productCheck.check.call();
+                        ProductReaderAcceptanceTest.recordResult(productCheck.name, productCheck.productReaderPlugin, result);
+                        MultipleFailureException.assertEmpty(result.getErrors());
+                    } catch (Throwable t) {
+                        ProductReaderAcceptanceTest.markTestsFailed();
+                        throw t;
+                    }
+                }
+            }, productCheck.description, runNotifier);
+        }
+    }
+
+    static class ProductCheck {
+
+        private final String name;
+        private final ProductReaderPlugIn productReaderPlugin;
+        private final TestProduct testProduct;
+        private final Callable<ProductTestResult> check;
+        private final Description description;
+
+        private ProductCheck(String name, ProductReaderPlugIn productReaderPlugin, TestProduct testProduct,
+                             Callable<ProductTestResult> check, Description description) {
+            this.name = name;
+            this.productReaderPlugin = productReaderPlugin;
+            this.testProduct = testProduct;
+            this.check = check;
+            this.description = description;
+        }
+    }
+}
@@ -0,0 +1,111 @@
+/*
+ * Copyright (C) 2026 Brockmann Consult GmbH (info@brockmann-consult.de)
+ *
+ * This program is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option)
+ * any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License for
+ * more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, see http://www.gnu.org/licenses/
+ */
+package org.esa.snap.dataio;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Main class of the worker JVMs started by {@link WorkerPool}. The worker loads the reader test definitions once,
+ * connects to the coordinator on the given local port and tests one product per request until it is told to exit
+ * or the coordinator disconnects.
+ */
+public class ProductTestWorker {
+
+    public static void main(String[] args) throws Exception {
+        if (args.length != 1) {
+            System.err.println("Usage: ProductTestWorker <coordinator port>");
+            System.exit(1);
+        }
+        final int port = Integer.parseInt(args[0]);
+        final String recordingFilePath = System.getProperty(ProductReaderAcceptanceTest.PROPERTYNAME_JFR);
+        if (recordingFilePath != null) {
+            System.setProperty(ProductReaderAcceptanceTest.PROPERTYNAME_JFR, getWorkerRecordingFilePath(recordingFilePath));
+        }
+        ProductReaderAcceptanceTest.initializeWorker();
+
+        try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), port);
+             BufferedReader reader = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+             Writer writer = new BufferedWriter(new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8))) {
+            WorkerProtocol.write(writer, createResponse(null));
+            WorkerProtocol.Request request;
+            while ((request = WorkerProtocol.read(reader, WorkerProtocol.Request.class)) != null) {
+                if (WorkerProtocol.COMMAND_EXIT.equals(request.command)) {
+                    break;
+                }
+                final ProductSession session = testProduct(request.productId, request.readTimes);
+                WorkerProtocol.write(writer, createResponse(WorkerProtocol.Session.of(session)));
+            }
+        }
+        System.exit(0);
+    }
+
+    private static ProductSession testProduct(String productId, boolean readTimes) {
+        final TestProduct testProduct = ProductReaderAcceptanceTest.getTestProductList().getById(productId);
+        if (testProduct == null) {
+            final ProductSession session = new ProductSession(productId);
+            session.getProductIOResult().addError(new IllegalArgumentException("Unknown product " + productId));
+            return session;
+        }
+        if (readTimes) {
+            return ProductReaderAcceptanceTest.openProductSession(testProduct, false, true, Collections.emptyList());
+        }
+        final List<TestDefinition> contentDefinitions = ProductReaderAcceptanceTest.getContentDefinitions(testProduct);
+        return ProductReaderAcceptanceTest.openProductSession(testProduct, true, false, contentDefinitions);
+    }
+
+    /**
+     * Each worker writes its own flight recording next to the one of the coordinator, e.g. {@code tests.jfr} becomes
+     * {@code tests-worker-1234.jfr} for the worker with process id 1234.
+     */
+    static String getWorkerRecordingFilePath(String recordingFilePath) {
+        final String suffix = "-worker-" + ProcessHandle.current().pid();
+        final int extensionIndex = recordingFilePath.lastIndexOf('.');
+        if (extensionIndex <= recordingFilePath.lastIndexOf(File.separatorChar)) {
+            return recordingFilePath + suffix;
+        }
+        return recordingFilePath.substring(0, extensionIndex) + suffix + recordingFilePath.substring(extensionIndex);
+    }
+
+    private static WorkerProtocol.Response createResponse(WorkerProtocol.Session session) {
+        final WorkerProtocol.Response response = new WorkerProtocol.Response();
+        response.pid = ProcessHandle.current().pid();
+        response.rss = getResidentSetSize();
+        response.session = session;
+        return response;
+    }
+
+    /**
+     * @return the resident set size of this process in bytes, or the used heap if it cannot be determined
+     */
+    static long getResidentSetSize() {
+        final long residentSetSize = NativeMemoryUsage.readResidentSetSize();
+        if (residentSetSize >= 0) {
+            return residentSetSize;
+        }
+        final Runtime runtime = Runtime.getRuntime();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
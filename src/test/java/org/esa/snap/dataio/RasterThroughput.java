@@ -0,0 +1,157 @@
+/*
+ * Copyright (C) 2026 Brockmann Consult GmbH (info@brockmann-consult.de)
+ *
+ * This program is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option)
+ * any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License for
+ * more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, see http://www.gnu.org/licenses/
+ */
+
+package org.esa.snap.dataio;
+
+import org.esa.snap.core.datamodel.Band;
+import org.esa.snap.core.datamodel.FilterBand;
+import org.esa.snap.core.datamodel.VirtualBand;
+
+import java.awt.image.DataBuffer;
+import java.awt.image.Raster;
+import java.awt.image.RenderedImage;
+
+/**
+ * Decoding speed of bands read at full resolution. All tiles of the level 0 image of a band are fetched one after
+ * the other, which is how batch processing reads a product. Besides the decoded megabytes and tiles per second, the
+ * time until the first tile is available is recorded, as it contains the setup cost of a reader for a band.
+ * <p>
+ * Measurements of several bands, e.g. of the same data type or of all products of a reader, are combined with
+ * {@link #plus(RasterThroughput)}.
+ */
+class RasterThroughput {
+
+    private final long bandCount;
+    private final long tileCount;
+    private final long bytes;
+    private final long nanos;
+    private final long firstTileNanos;
+
+    RasterThroughput(long bandCount, long tileCount, long bytes, long nanos, long firstTileNanos) {
+        this.bandCount = bandCount;
+        this.tileCount = tileCount;
+        this.bytes = bytes;
+        this.nanos = nanos;
+        this.firstTileNanos = firstTileNanos;
+    }
+
+    static RasterThroughput read(RenderedImage image) {
+        final long startNanos = System.nanoTime();
+        long firstTileNanos = -1;
+        long tileCount = 0;
+        long bytes = 0;
+        if (image.getNumXTiles() > 0 && image.getNumYTiles() > 0) {
+            for (int y = image.getMinTileY(); y < image.getMinTileY() + image.getNumYTiles(); y++) {
+                for (int x = image.getMinTileX(); x < image.getMinTileX() + image.getNumXTiles(); x++) {
+                    bytes += getSize(image.getTile(x, y));
+                    tileCount++;
+                    if (firstTileNanos < 0) {
+                        firstTileNanos = System.nanoTime() - startNanos;
+                    }
+                }
+            }
+        } else {
+            bytes += getSize(image.getData());
+            tileCount++;
+        }
+        final long nanos = System.nanoTime() - startNanos;
+        return new RasterThroughput(1, tileCount, bytes, nanos, firstTileNanos >= 0 ? firstTileNanos : nanos);
+    }
+
+    /**
+     * @return whether the pixels of the band are decoded by the reader, {@code false} for bands computing their
+     * pixels from other bands, like virtual bands and filter bands
+     */
+    static boolean isReadByReader(Band band) {
+        return !(band instanceof VirtualBand) && !(band instanceof FilterBand);
+    }
+
+    private static long getSize(Raster raster) {
+        return (long) raster.getWidth() * raster.getHeight() * raster.getNumBands() *
+                DataBuffer.getDataTypeSize(raster.getTransferType()) / 8;
+    }
+
+    /**
+     * Restores the throughput set as attributes of a result, e.g. by a worker JVM.
+     *
+     * @return the throughput or {@code null} if the attributes are not set
+     */
+    static RasterThroughput fromAttributes(ProductTestResult result, String dataType) {
+        final Object bandCount = result.getAttribute(ProductTestResult.getAttributeName(dataType, ProductTestResult.ATTRIBUTE_THROUGHPUT_BANDS));
+        final Object tileCount = result.getAttribute(ProductTestResult.getAttributeName(dataType, ProductTestResult.ATTRIBUTE_THROUGHPUT_TILES));
+        final Object bytes = result.getAttribute(ProductTestResult.getAttributeName(dataType, ProductTestResult.ATTRIBUTE_THROUGHPUT_BYTES));
+        final Object millis = result.getAttribute(ProductTestResult.getAttributeName(dataType, ProductTestResult.ATTRIBUTE_THROUGHPUT_TIME));
+        final Object firstTileMillis = result.getAttribute(ProductTestResult.getAttributeName(dataType, ProductTestResult.ATTRIBUTE_THROUGHPUT_FIRST_TILE_TIME));
+        if (!(bandCount instanceof Number) || !(tileCount instanceof Number) || !(bytes instanceof Number) ||
+            !(millis instanceof Number) || !(firstTileMillis instanceof Number)) {
+            return null;
+        }
+        final long bands = ((Number) bandCount).longValue();
+        return new RasterThroughput(bands, ((Number) tileCount).longValue(), ((Number) bytes).longValue(),
+                                    toNanos(((Number) millis).doubleValue()), toNanos(((Number) firstTileMillis).doubleValue() * bands));
+    }
+
+    /**
+     * Sets the throughput as attributes of the result. The time to the first tile is given as mean over the bands.
+     *
+     * @param dataType the data type of the measured bands, e.g. {@code float32}, or {@code null} for all bands
+     */
+    void setAttributes(ProductTestResult result, String dataType) {
+        result.setAttribute(ProductTestResult.getAttributeName(dataType, ProductTestResult.ATTRIBUTE_THROUGHPUT_BANDS), bandCount);
+        result.setAttribute(ProductTestResult.getAttributeName(dataType, ProductTestResult.ATTRIBUTE_THROUGHPUT_TILES), tileCount);
+        result.setAttribute(ProductTestResult.getAttributeName(dataType, ProductTestResult.ATTRIBUTE_THROUGHPUT_BYTES), bytes);
+        result.setAttribute(ProductTestResult.getAttributeName(dataType, ProductTestResult.ATTRIBUTE_THROUGHPUT_TIME), toMillis(nanos));
+        result.setAttribute(ProductTestResult.getAttributeName(dataType, ProductTestResult.ATTRIBUTE_THROUGHPUT_FIRST_TILE_TIME),
+                            getMeanFirstTileMillis());
+    }
+
+    private static long toNanos(double millis) {
+        return Math.round(millis * 1.0e6);
+    }
+
+    private static double toMillis(long nanos) {
+        return Math.round(nanos / 1.0e3) / 1.0e3;
+    }
+
+    RasterThroughput plus(RasterThroughput other) {
+        return new RasterThroughput(bandCount + other.bandCount, tileCount + other.tileCount, bytes + other.bytes,
+                                    nanos + other.nanos, firstTileNanos + other.firstTileNanos);
+    }
+
+    long getBandCount() {
+        return bandCount;
+    }
+
+    long getTileCount() {
+        return tileCount;
+    }
+
+    long getBytes() {
+        return bytes;
+    }
+
+    double getMegabytesPerSecond() {
+        return nanos > 0 ? bytes / (1024.0 * 1024.0) / (nanos / 1.0e9) : 0;
+    }
+
+    double getTilesPerSecond() {
+        return nanos > 0 ? tileCount / (nanos / 1.0e9) : 0;
+    }
+
+    double getMeanFirstTileMillis() {
+        return bandCount > 0 ? toMillis(firstTileNanos / bandCount) : 0;
+    }
+}
@@ -0,0 +1,65 @@
+package org.esa.snap.dataio;
+
+import org.esa.snap.core.datamodel.Band;
+import org.esa.snap.core.datamodel.ConvolutionFilterBand;
+import org.esa.snap.core.datamodel.Kernel;
+import org.esa.snap.core.datamodel.ProductData;
+import org.esa.snap.core.datamodel.VirtualBand;
+import org.junit.Test;
+
+import java.awt.image.BufferedImage;
+
+import static org.junit.Assert.*;
+
+public class RasterThroughputTest {
+
+    @Test
+    public void testRead() {
+        final BufferedImage image = new BufferedImage(200, 100, BufferedImage.TYPE_USHORT_GRAY);
+
+        final RasterThroughput throughput = RasterThroughput.read(image);
+
+        assertEquals(1, throughput.getBandCount());
+        assertEquals(1, throughput.getTileCount());
+        assertEquals(200 * 100 * 2, throughput.getBytes());
+        assertTrue(throughput.getMegabytesPerSecond() > 0);
+    }
+
+    @Test
+    public void testIsReadByReader() {
+        final Band band = new Band("radiance", ProductData.TYPE_INT16, 20, 10);
+
+        assertTrue(RasterThroughput.isReadByReader(band));
+        assertFalse(RasterThroughput.isReadByReader(new VirtualBand("scaled", ProductData.TYPE_FLOAT32, 20, 10, "radiance * 2")));
+        assertFalse(RasterThroughput.isReadByReader(new ConvolutionFilterBand("smoothed", band, new Kernel(3, 3, new double[9]), 1)));
+    }
+
+    @Test
+    public void testPlus() {
+        final RasterThroughput throughput = new RasterThroughput(1, 4, 1024 * 1024, 500_000_000L, 2_000_000L)
+                .plus(new RasterThroughput(1, 6, 1024 * 1024, 500_000_000L, 4_000_000L));
+
+        assertEquals(2, throughput.getBandCount());
+        assertEquals(10, throughput.getTileCount());
+        assertEquals(2.0, throughput.getMegabytesPerSecond(), 1e-9);
+        assertEquals(10.0, throughput.getTilesPerSecond(), 1e-9);
+        assertEquals(3.0, throughput.getMeanFirstTileMillis(), 1e-9);
+    }
+
+    @Test
+    public void testAttributes() {
+        final ProductTestResult result = new ProductTestResult("PROD_1");
+        new RasterThroughput(3, 12, 4096, 6_000_000L, 1_500_000L).setAttributes(result, "float32");
+
+        assertEquals(3L, result.getAttribute("float32ThroughputBands"));
+        assertEquals(6.0, result.getAttribute("float32ThroughputTime"));
+        assertEquals(0.5, result.getAttribute("float32ThroughputFirstTileTime"));
+        assertNull(RasterThroughput.fromAttributes(result, null));
+
+        final RasterThroughput throughput = RasterThroughput.fromAttributes(result, "float32");
+        assertNotNull(throughput);
+        assertEquals(12, throughput.getTileCount());
+        assertEquals(4096, throughput.getBytes());
+        assertEquals(0.5, throughput.getMeanFirstTileMillis(), 1e-9);
+    }
+}
@@ -0,0 +1,444 @@
+/*
+ * Copyright (C) 2026 Brockmann Consult GmbH (info@brockmann-consult.de)
+ *
+ * This program is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option)
+ * any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License for
+ * more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, see http://www.gnu.org/licenses/
+ */
+
+package org.esa.snap.dataio;
+
+import com.bc.ceres.glayer.support.ImageLayer;
+import com.bc.ceres.grender.support.DefaultViewport;
+import org.esa.snap.core.dataio.ProductIO;
+import org.esa.snap.core.dataio.ProductReader;
+import org.esa.snap.core.datamodel.Band;
+import org.esa.snap.core.datamodel.Product;
+import org.esa.snap.core.datamodel.ProductData;
+import org.esa.snap.core.datamodel.Stx;
+
+import java.awt.Rectangle;
+import java.awt.image.DataBuffer;
+import java.awt.image.Raster;
+import java.awt.image.RenderedImage;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.BiConsumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.notNullValue;
+
+/**
+ * Measures the read times of a product on freshly opened product instances: the time of each phase of reading it
+ * like {@link ProductIO#readProduct(File)} does, and depending on the {@code snap.reader.tests.*} properties the
+ * fastest of repeated reads, the throughput at full resolution, the scaling of reading tiles with multiple threads
+ * and the native memory. The results are stored in the read times {@link ProductTestResult} of the product.
+ */
+class ReadTimesMeasurement {
+
+    static final String PROPERTYNAME_READ_TIMES_REPEAT = "snap.reader.tests.readTimes.repeat";
+    static final String PROPERTYNAME_MAX_ALLOCATED_BYTES_PER_PIXEL = "snap.reader.tests.maxAllocatedBytesPerPixel";
+    static final String PROPERTYNAME_TILE_CACHE_FLUSH = "snap.reader.tests.tileCache.flush";
+    static final String PROPERTYNAME_NATIVE_MEMORY = "snap.reader.tests.nativeMemory";
+    static final String PROPERTYNAME_THROUGHPUT = "snap.reader.tests.throughput";
+    static final String PROPERTYNAME_THROUGHPUT_BANDS = "snap.reader.tests.throughput.bands";
+    static final String PROPERTYNAME_TILE_SCALING = "snap.reader.tests.tileScaling";
+    static final String PROPERTYNAME_TILE_SCALING_MAX_THREADS = "snap.reader.tests.tileScaling.maxThreads";
+    static final String PROPERTYNAME_TILE_SCALING_MIN_EFFICIENCY = "snap.reader.tests.tileScaling.minEfficiency";
+    static final int READ_TIMES_REPEAT = Integer.getInteger(PROPERTYNAME_READ_TIMES_REPEAT, 1);
+    static final boolean TILE_CACHE_FLUSH = Boolean.getBoolean(PROPERTYNAME_TILE_CACHE_FLUSH);
+    static final boolean NATIVE_MEMORY = Boolean.getBoolean(PROPERTYNAME_NATIVE_MEMORY);
+    static final boolean THROUGHPUT = Boolean.getBoolean(PROPERTYNAME_THROUGHPUT);
+    static final Pattern THROUGHPUT_BANDS = Pattern.compile(System.getProperty(PROPERTYNAME_THROUGHPUT_BANDS, ".*"));
+    static final boolean TILE_SCALING = Boolean.getBoolean(PROPERTYNAME_TILE_SCALING);
+    static final int[] TILE_SCALING_THREAD_COUNTS = TileScaling.getThreadCounts(
+            Integer.getInteger(PROPERTYNAME_TILE_SCALING_MAX_THREADS, Runtime.getRuntime().availableProcessors()));
+    static final double TILE_SCALING_MIN_EFFICIENCY = Double.parseDouble(System.getProperty(PROPERTYNAME_TILE_SCALING_MIN_EFFICIENCY, "0.5"));
+    private static final String PHASE_THROUGHPUT = "throughput";
+    private static final String PHASE_TILE_SCALING = "tileScaling";
+
+    private final boolean sequential;
+    private final BiConsumer<String, Product> productDisposer;
+    private final Logger logger;
+
+    /**
+     * @param sequential      whether no other product is tested at the same time, otherwise the tile cache usage,
+     *                        the tile scaling, the native memory and the CPU time and allocated bytes are not measured
+     *                        as the other products distort them
+     * @param productDisposer disposes the products read for the measurement, given with their product id
+     */
+    ReadTimesMeasurement(boolean sequential, BiConsumer<String, Product> productDisposer, Logger logger) {
+        this.sequential = sequential;
+        this.productDisposer = productDisposer;
+        this.logger = logger;
+    }
+
+    void measure(ProductTestResult readTimesResult, File testProductFile) {
+        final NativeMemoryMonitor nativeMemoryMonitor = NATIVE_MEMORY && sequential ? NativeMemoryMonitor.start() : null;
+        readProductTimes(readTimesResult, testProductFile);
+        if (READ_TIMES_REPEAT > 1 && !readTimesResult.hasErrors()) {
+            repeatReadTimes(readTimesResult, testProductFile, READ_TIMES_REPEAT - 1);
+        }
+        if (THROUGHPUT && !readTimesResult.hasErrors()) {
+            measureThroughput(readTimesResult, testProductFile);
+        }
+        if (TILE_SCALING && sequential && !readTimesResult.hasErrors()) {
+            measureTileScaling(readTimesResult, testProductFile);
+        }
+        if (nativeMemoryMonitor != null) {
+            nativeMemoryMonitor.stop();
+            nativeMemoryMonitor.setAttributes(readTimesResult);
+        }
+    }
+
+    /**
+     * Warns about readers allocating more than {@value #PROPERTYNAME_MAX_ALLOCATED_BYTES_PER_PIXEL} bytes per pixel
+     * when the tiles of the view are decoded.
+     */
+    static void checkAllocatedBytesPerPixel(ProductTestResult result, Logger logger) {
+        final String maxBytesPerPixelProperty = System.getProperty(PROPERTYNAME_MAX_ALLOCATED_BYTES_PER_PIXEL);
+        final Object viewPixels = result.getAttribute(ProductTestResult.ATTRIBUTE_VIEW_PIXELS);
+        final Object allocatedBytes = result.getAttribute(ProductTestResult.getAttributeName(ProductTestResult.PHASE_GET_VIEW_DATA,
+                                                                                             ProductTestResult.ATTRIBUTE_ALLOCATED_BYTES));
+        if (maxBytesPerPixelProperty == null || !(viewPixels instanceof Number) || !(allocatedBytes instanceof Number) ||
+            ((Number) viewPixels).longValue() == 0) {
+            return;
+        }
+        final double bytesPerPixel = ((Number) allocatedBytes).doubleValue() / ((Number) viewPixels).longValue();
+        if (bytesPerPixel > Double.parseDouble(maxBytesPerPixelProperty)) {
+            logger.warning(String.format(Locale.ENGLISH, "%s allocated %.1f bytes per decoded pixel of %s",
+                                         result.getAttribute(ProductTestResult.ATTRIBUTE_PLUGIN), bytesPerPixel, result.getProductId()));
+        }
+    }
+
+    /**
+     * Warns about requested measurements which are skipped when products are tested in parallel, because the load
+     * of the other products would distort them.
+     */
+    static void logSkippedMeasurements(int parallelism, boolean workers, Logger logger) {
+        if (parallelism == 1) {
+            return;
+        }
+        if (TILE_SCALING && workers) {
+            logger.warning("Tile read scaling is measured in " + parallelism + " concurrent worker JVMs competing for the CPUs, set -D" +
+                           ProductReaderAcceptanceTest.PROPERTYNAME_PARALLELISM + "=1 to measure it undisturbed");
+        } else if (TILE_SCALING) {
+            logger.warning("Tile read scaling is not measured when testing " + parallelism + " products in parallel, set -D" +
+                           ProductReaderAcceptanceTest.PROPERTYNAME_PARALLELISM + "=1 to measure it");
+        }
+        if (workers) {
+            return;
+        }
+        logger.warning("Tile cache usage is not measured" + (TILE_CACHE_FLUSH ? " and the tile cache not flushed" : "") +
+                       " when testing " + parallelism + " products in parallel in the same JVM");
+        logger.warning("CPU time and allocated bytes are not measured when testing " + parallelism + " products in parallel in the " +
+                       "same JVM, as the tile scheduler threads are shared");
+        if (NATIVE_MEMORY) {
+            logger.warning("Native memory is not tracked when testing " + parallelism + " products in parallel in the same JVM, " +
+                           "as it cannot be attributed to a product");
+        }
+    }
+
+    /**
+     * Reads the product like {@link ProductIO#readProduct(File)} does, with the steps inlined to measure the time of
+     * each phase, and measures fetching the statistics and the view data of the first band.
+     */
+    private void readProductTimes(ProductTestResult readTimesResult, File testProductFile) {
+        final String productId = readTimesResult.getProductId();
+        Product product = null;
+        try {
+            final long productSize = getProductSize(testProductFile);
+            if (TILE_CACHE_FLUSH && sequential) {
+                TileCacheUsage.flush();
+            }
+            final TileCacheUsage startTileCacheUsage = sequential ? TileCacheUsage.sample() : null;
+            final PhaseMeasurement findReader = PhaseMeasurement.start(productId, null, ProductTestResult.PHASE_FIND_READER, sequential);
+            final ProductReader productReader;
+            try {
+                productReader = ProductIO.getProductReaderForInput(testProductFile);
+                findReader.setPlugin(getPluginClassName(productReader));
+            } finally {
+                findReader.stop(readTimesResult);
+            }
+            readTimesResult.setAttribute(ProductTestResult.ATTRIBUTE_FILE_SIZE, productSize);
+            if (productReader == null) {
+                return;
+            }
+            if (productReader.getReaderPlugIn() != null) {
+                readTimesResult.setAttribute(ProductTestResult.ATTRIBUTE_PLUGIN, productReader.getReaderPlugIn().getClass().getName());
+            }
+            final PhaseMeasurement readNodes = startReadNodes(productId, productReader, productSize, sequential);
+            try {
+                product = productReader.readProductNodes(testProductFile, null);
+            } finally {
+                readNodes.stop(readTimesResult);
+            }
+            readTimesResult.setAttribute(ProductTestResult.ATTRIBUTE_NUM_BANDS, product.getNumBands());
+            readTimesResult.setAttribute(ProductTestResult.ATTRIBUTE_WIDTH, product.getSceneRasterWidth());
+            readTimesResult.setAttribute(ProductTestResult.ATTRIBUTE_HEIGHT, product.getSceneRasterHeight());
+            measureReadTimes(productId, product, readTimesResult);
+            if (startTileCacheUsage != null) {
+                TileCacheUsage.sample().since(startTileCacheUsage).setAttributes(readTimesResult);
+            }
+        } catch (Exception e) {
+            final String message = "Product reading " + productId + " caused an exception.";
+            logger.log(Level.SEVERE, message, e);
+            readTimesResult.addError(new Exception(message, e));
+        } finally {
+            if (product != null) {
+                productDisposer.accept(productId, product);
+            }
+        }
+    }
+
+    /**
+     * @return the size of the product file or the summed size of all files of a product directory, -1 if unknown
+     */
+    static long getProductSize(File testProductFile) {
+        final Path productPath = testProductFile.toPath();
+        if (!Files.isDirectory(productPath)) {
+            return testProductFile.isFile() ? testProductFile.length() : -1;
+        }
+        try (Stream<Path> paths = Files.walk(productPath)) {
+            return paths.filter(Files::isRegularFile).mapToLong(path -> path.toFile().length()).sum();
+        } catch (IOException | UncheckedIOException e) {
+            return -1;
+        }
+    }
+
+    /**
+     * Reads the product again for the given number of times and keeps the fastest time of each phase. The minimum is
+     * less affected by other load on the machine than a single measurement. Note that repeated reads are served from
+     * the file system cache, so they measure the reader rather than the disk.
+     */
+    private void repeatReadTimes(ProductTestResult readTimesResult, File testProductFile, int repeatCount) {
+        final String productId = readTimesResult.getProductId();
+        final long productSize = ReaderTestEvent.isRecording() ? getProductSize(testProductFile) : -1;
+        for (int i = 0; i < repeatCount; i++) {
+            if (TILE_CACHE_FLUSH && sequential) {
+                TileCacheUsage.flush();
+            }
+            final ProductTestResult repeatedResult = new ProductTestResult(productId);
+            Product product = null;
+            try {
+                final PhaseMeasurement findReader = PhaseMeasurement.start(productId, null, ProductTestResult.PHASE_FIND_READER, sequential);
+                final ProductReader productReader;
+                try {
+                    productReader = ProductIO.getProductReaderForInput(testProductFile);
+                    findReader.setPlugin(getPluginClassName(productReader));
+                } finally {
+                    findReader.stop(repeatedResult);
+                }
+                if (productReader == null) {
+                    return;
+                }
+                final PhaseMeasurement readNodes = startReadNodes(productId, productReader, productSize, sequential);
+                try {
+                    product = productReader.readProductNodes(testProductFile, null);
+                } finally {
+                    readNodes.stop(repeatedResult);
+                }
+                measureReadTimes(productId, product, repeatedResult);
+            } catch (Exception e) {
+                final String message = "Repeated reading of " + productId + " caused an exception.";
+                logger.log(Level.SEVERE, message, e);
+                readTimesResult.addError(new Exception(message, e));
+                return;
+            } finally {
+                if (product != null) {
+                    productDisposer.accept(productId, product);
+                }
+            }
+            for (Throwable error : repeatedResult.getErrors()) {
+                readTimesResult.addError(error);
+            }
+            for (Map.Entry<String, Long> phaseTime : repeatedResult.getPhaseTimes().entrySet()) {
+                if (phaseTime.getValue() < readTimesResult.getPhaseTime(phaseTime.getKey())) {
+                    readTimesResult.setPhaseTime(phaseTime.getKey(), phaseTime.getValue());
+                }
+            }
+        }
+    }
+
+    /**
+     * Reads the product again and fetches all tiles of the bands selected by {@value #PROPERTYNAME_THROUGHPUT_BANDS}
+     * at full resolution, except for virtual and filter bands which are computed rather than decoded. The view data
+     * measured by {@link #measureReadTimes} is read at the level fitting into a small viewport only, which does not
+     * tell how fast a reader decodes the data for batch processing.
+     */
+    private void measureThroughput(ProductTestResult readTimesResult, File testProductFile) {
+        final String productId = readTimesResult.getProductId();
+        Product product = null;
+        try {
+            final ProductReader productReader = ProductIO.getProductReaderForInput(testProductFile);
+            if (productReader == null) {
+                return;
+            }
+            product = productReader.readProductNodes(testProductFile, null);
+            final ReaderTestEvent event = ReaderTestEvent.start(productId, getPluginClassName(productReader), PHASE_THROUGHPUT);
+            final Map<String, RasterThroughput> dataTypeThroughputs = new TreeMap<>();
+            for (Band band : product.getBands()) {
+                if (RasterThroughput.isReadByReader(band) && THROUGHPUT_BANDS.matcher(band.getName()).matches()) {
+                    dataTypeThroughputs.merge(ProductData.getTypeString(band.getDataType()), RasterThroughput.read(band.getSourceImage()),
+                                              RasterThroughput::plus);
+                }
+            }
+            RasterThroughput total = new RasterThroughput(0, 0, 0, 0, 0);
+            for (Map.Entry<String, RasterThroughput> entry : dataTypeThroughputs.entrySet()) {
+                entry.getValue().setAttributes(readTimesResult, entry.getKey());
+                total = total.plus(entry.getValue());
+            }
+            event.setBytes(total.getBytes());
+            event.setTiles((int) Math.min(Integer.MAX_VALUE, total.getTileCount()));
+            event.commit();
+            total.setAttributes(readTimesResult, null);
+            readTimesResult.setAttribute(ProductTestResult.ATTRIBUTE_THROUGHPUT_DATA_TYPES, String.join(",", dataTypeThroughputs.keySet()));
+        } catch (Exception e) {
+            final String message = "Reading " + productId + " at full resolution caused an exception.";
+            logger.log(Level.SEVERE, message, e);
+            readTimesResult.addError(new Exception(message, e));
+        } finally {
+            if (product != null) {
+                productDisposer.accept(productId, product);
+            }
+        }
+    }
+
+    /**
+     * Fetches all tiles of the first band at full resolution with 1, 2, 4 ... threads. The product is opened anew
+     * for every thread count, so no tile is served from the tile cache. A first pass with the most threads, which is
+     * not timed, makes all thread counts read from the file system cache.
+     */
+    private void measureTileScaling(ProductTestResult readTimesResult, File testProductFile) {
+        final String productId = readTimesResult.getProductId();
+        final int maxThreadCount = TILE_SCALING_THREAD_COUNTS[TILE_SCALING_THREAD_COUNTS.length - 1];
+        final long[] nanos = new long[TILE_SCALING_THREAD_COUNTS.length];
+        try {
+            if (readTilesOfFirstBand(productId, testProductFile, maxThreadCount) < 0) {
+                return;
+            }
+            for (int i = 0; i < TILE_SCALING_THREAD_COUNTS.length; i++) {
+                nanos[i] = readTilesOfFirstBand(productId, testProductFile, TILE_SCALING_THREAD_COUNTS[i]);
+            }
+        } catch (Exception e) {
+            final String message = "Reading " + productId + " with multiple threads caused an exception.";
+            logger.log(Level.SEVERE, message, e);
+            readTimesResult.addError(new Exception(message, e));
+            return;
+        }
+        new TileScaling(TILE_SCALING_THREAD_COUNTS, nanos).setAttributes(readTimesResult);
+    }
+
+    /**
+     * @return the time in nanoseconds or -1 if the product cannot be read or has no bands
+     */
+    private long readTilesOfFirstBand(String productId, File testProductFile, int threadCount) throws Exception {
+        Product product = null;
+        try {
+            final ProductReader productReader = ProductIO.getProductReaderForInput(testProductFile);
+            if (productReader == null) {
+                return -1;
+            }
+            product = productReader.readProductNodes(testProductFile, null);
+            if (product.getNumBands() == 0) {
+                return -1;
+            }
+            final ReaderTestEvent event = ReaderTestEvent.start(productId, getPluginClassName(productReader), PHASE_TILE_SCALING);
+            final long nanos = TileScaling.readTiles(product.getBandAt(0).getSourceImage(), threadCount);
+            event.commit();
+            return nanos;
+        } finally {
+            if (product != null) {
+                productDisposer.accept(productId, product);
+            }
+        }
+    }
+
+    private void measureReadTimes(String productId, Product product, ProductTestResult result) {
+        if (product.getNumBands() > 0) {
+            Band band0 = product.getBandAt(0);
+            logger.info("source image sample model data type (PRA1)" + band0.getSourceImage().getSampleModel().getDataType());
+            final String plugin = getPluginClassName(product.getProductReader());
+            final PhaseMeasurement getStx = PhaseMeasurement.start(productId, plugin, ProductTestResult.PHASE_GET_STX, sequential);
+            Stx stx = band0.getStx();
+            result.checkThat("stx != null:" + productId, stx, is(notNullValue()));
+            getStx.stop(result);
+            DefaultViewport viewport = new DefaultViewport(new Rectangle(1000, 1000));
+            int viewLevel = ImageLayer.getLevel(band0.getSourceImage().getModel(), viewport);
+            RenderedImage viewImage = band0.getSourceImage().getImage(viewLevel);
+            final PhaseMeasurement getViewData = PhaseMeasurement.start(productId, plugin, ProductTestResult.PHASE_GET_VIEW_DATA, sequential);
+            long viewDataBytes = 0;
+            long viewPixels = 0;
+            final int numXTiles = viewImage.getNumXTiles();
+            final int numYTiles = viewImage.getNumYTiles();
+            if (numXTiles > 0 && numYTiles > 0) {
+                for (int x = 0; x < numXTiles; x++) {
+                    for (int y = 0; y < numYTiles; y++) {
+                        Raster tileRaster = viewImage.getTile(x, y);
+                        result.checkThat("tileRaster != null: " + productId, tileRaster, is(notNullValue()));
+                        viewDataBytes += getRasterSize(tileRaster);
+                        viewPixels += getPixelCount(tileRaster);
+                    }
+                }
+                getViewData.setTiles(numXTiles * numYTiles);
+            } else {
+                Raster imageRaster = viewImage.getData();
+                result.checkThat("imageRaster != null: " + productId, imageRaster, is(notNullValue()));
+                viewDataBytes += getRasterSize(imageRaster);
+                viewPixels += getPixelCount(imageRaster);
+            }
+            getViewData.setBytes(viewDataBytes);
+            getViewData.stop(result);
+            result.setAttribute(ProductTestResult.ATTRIBUTE_VIEW_PIXELS, viewPixels);
+        }
+    }
+
+    /**
+     * @param productSize the size of the product determined beforehand, so walking a product directory is not part
+     *                    of the measured phase, -1 if unknown
+     * @param threadUsage whether the {@link ThreadUsage} is measured
+     */
+    private static PhaseMeasurement startReadNodes(String productId, ProductReader productReader, long productSize, boolean threadUsage) {
+        final PhaseMeasurement readNodes = PhaseMeasurement.start(productId, getPluginClassName(productReader), ProductTestResult.PHASE_READ_NODES,
+                                                                  threadUsage);
+        readNodes.setBytes(productSize);
+        return readNodes;
+    }
+
+    static String getPluginClassName(ProductReader productReader) {
+        if (productReader == null || productReader.getReaderPlugIn() == null) {
+            return null;
+        }
+        return productReader.getReaderPlugIn().getClass().getName();
+    }
+
+    private static long getPixelCount(Raster raster) {
+        return raster != null ? (long) raster.getWidth() * raster.getHeight() : 0;
+    }
+
+    private static long getRasterSize(Raster raster) {
+        if (raster == null) {
+            return 0;
+        }
+        return (long) raster.getWidth() * raster.getHeight() * raster.getNumBands() *
+                DataBuffer.getDataTypeSize(raster.getTransferType()) / 8;
+    }
+}
@@ -0,0 +1,150 @@
+/*
+ * Copyright (C) 2026 Brockmann Consult GmbH (info@brockmann-consult.de)
+ *
+ * This program is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option)
+ * any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License for
+ * more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, see http://www.gnu.org/licenses/
+ */
+package org.esa.snap.dataio;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Writes the outcome of the read time measurement of each product as one line of a report file, either as JSON
+ * Lines or as CSV. Every line is flushed immediately, so an interrupted run still leaves a usable report.
+ * <p>
+ * A line contains the product id, the {@link #COLUMNS attributes} of the product, the time of each phase in
+ * milliseconds, the CPU and user time in milliseconds and the allocated bytes of each phase (see {@link ThreadUsage}),
+ * the bytes read and read calls of each phase (see {@link ProcessIoUsage}), the tile cache counts of the product (see
+ * {@link TileCacheUsage}) and the number of errors. Missing values are written as {@code null} or an empty CSV field.
+ */
+class ReadTimesReport implements Closeable {
+
+    static final String FORMAT_JSON_LINES = "jsonl";
+    static final String FORMAT_CSV = "csv";
+
+    static final List<String> COLUMNS = createColumns();
+
+    private final File reportFile;
+    private final String format;
+    private final Writer writer;
+
+    /**
+     * @param format {@link #FORMAT_CSV} or {@link #FORMAT_JSON_LINES}, if {@code null} the format is derived from the
+     *               file extension and defaults to JSON Lines
+     */
+    ReadTimesReport(File reportFile, String format) throws IOException {
+        this.reportFile = reportFile;
+        if (format == null) {
+            format = reportFile.getName().toLowerCase().endsWith(".csv") ? FORMAT_CSV : FORMAT_JSON_LINES;
+        }
+        if (!FORMAT_CSV.equalsIgnoreCase(format) && !FORMAT_JSON_LINES.equalsIgnoreCase(format)) {
+            throw new IllegalArgumentException("Unknown report format '" + format + "'");
+        }
+        this.format = format.toLowerCase();
+        JsonFiles.createParentDirectory(reportFile);
+        this.writer = Files.newBufferedWriter(reportFile.toPath(), StandardCharsets.UTF_8);
+        if (FORMAT_CSV.equals(this.format)) {
+            writeLine(String.join(",", COLUMNS));
+        }
+    }
+
+    File getReportFile() {
+        return reportFile;
+    }
+
+    synchronized void write(ProductTestResult result) throws IOException {
+        final Map<String, Object> row = createRow(result);
+        if (FORMAT_CSV.equals(format)) {
+            final List<String> fields = new ArrayList<>();
+            for (String column : COLUMNS) {
+                fields.add(toCsvField(row.get(column)));
+            }
+            writeLine(String.join(",", fields));
+        } else {
+            writeLine(JsonFiles.toLine(row));
+        }
+    }
+
+    static Map<String, Object> createRow(ProductTestResult result) {
+        final Map<String, Object> row = new LinkedHashMap<>();
+        row.put("productId", result.getProductId());
+        for (Map.Entry<String, Object> attribute : result.getAttributes().entrySet()) {
+            row.put(attribute.getKey(), attribute.getValue());
+        }
+        for (String phase : ProductTestResult.PHASES) {
+            row.put(phase, result.hasPhaseTime(phase) ? result.getPhaseTime(phase) : null);
+        }
+        row.put("errors", result.getErrors().size());
+        return row;
+    }
+
+    private static List<String> createColumns() {
+        final List<String> columns = new ArrayList<>(Arrays.asList(
+                "productId",
+                ProductTestResult.ATTRIBUTE_PLUGIN,
+                ProductTestResult.ATTRIBUTE_FILE_SIZE,
+                ProductTestResult.ATTRIBUTE_NUM_BANDS,
+                ProductTestResult.ATTRIBUTE_WIDTH,
+                ProductTestResult.ATTRIBUTE_HEIGHT,
+                ProductTestResult.ATTRIBUTE_VIEW_PIXELS));
+        columns.addAll(ProductTestResult.PHASES);
+        for (String attribute : Arrays.asList(ProductTestResult.ATTRIBUTE_CPU_TIME, ProductTestResult.ATTRIBUTE_USER_TIME,
+                                              ProductTestResult.ATTRIBUTE_ALLOCATED_BYTES, ProductTestResult.ATTRIBUTE_READ_BYTES,
+                                              ProductTestResult.ATTRIBUTE_READ_CALLS)) {
+            for (String phase : ProductTestResult.PHASES) {
+                columns.add(ProductTestResult.getAttributeName(phase, attribute));
+            }
+        }
+        columns.addAll(Arrays.asList(ProductTestResult.ATTRIBUTE_TILE_CACHE_HITS, ProductTestResult.ATTRIBUTE_TILE_CACHE_MISSES,
+                                     ProductTestResult.ATTRIBUTE_TILE_CACHE_EVICTIONS, ProductTestResult.ATTRIBUTE_TILE_CACHE_MEMORY_USED,
+                                     ProductTestResult.ATTRIBUTE_BUFFER_MEMORY_PEAK, ProductTestResult.ATTRIBUTE_BUFFER_MEMORY_RESIDUAL,
+                                     ProductTestResult.ATTRIBUTE_RSS_PEAK, ProductTestResult.ATTRIBUTE_RSS_RESIDUAL,
+                                     ProductTestResult.ATTRIBUTE_THROUGHPUT_BANDS, ProductTestResult.ATTRIBUTE_THROUGHPUT_TILES,
+                                     ProductTestResult.ATTRIBUTE_THROUGHPUT_BYTES, ProductTestResult.ATTRIBUTE_THROUGHPUT_TIME,
+                                     ProductTestResult.ATTRIBUTE_THROUGHPUT_FIRST_TILE_TIME, ProductTestResult.ATTRIBUTE_TILE_SCALING_EFFICIENCY));
+        columns.add("errors");
+        return Collections.unmodifiableList(columns);
+    }
+
+    private static String toCsvField(Object value) {
+        if (value == null) {
+            return "";
+        }
+        final String text = value.toString();
+        if (text.contains(",") || text.contains("\"") || text.contains("\n")) {
+            return "\"" + text.replace("\"", "\"\"") + "\"";
+        }
+        return text;
+    }
+
+    private void writeLine(String line) throws IOException {
+        writer.write(line);
+        writer.write('\n');
+        writer.flush();
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        writer.close();
+    }
+}
@@ -0,0 +1,85 @@
+package org.esa.snap.dataio;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+public class ReadTimesReportTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private ProductTestResult result;
+
+    @Before
+    public void setUp() {
+        result = new ProductTestResult("PROD_1");
+        result.setAttribute(ProductTestResult.ATTRIBUTE_PLUGIN, "org.esa.SomePlugIn");
+        result.setAttribute(ProductTestResult.ATTRIBUTE_FILE_SIZE, 2048L);
+        result.setAttribute(ProductTestResult.ATTRIBUTE_NUM_BANDS, 3);
+        result.setPhaseTime(ProductTestResult.PHASE_FIND_READER, 12);
+        result.setPhaseTime(ProductTestResult.PHASE_READ_NODES, 345);
+        result.setAttribute("readNodesCpuTime", 300L);
+        result.setAttribute("readNodesAllocatedBytes", 4096L);
+    }
+
+    @Test
+    public void testWrite_jsonLines() throws IOException {
+        final File reportFile = new File(temporaryFolder.getRoot(), "report/read-times.jsonl");
+
+        try (ReadTimesReport report = new ReadTimesReport(reportFile, null)) {
+            report.write(result);
+            // written immediately, not only when closed
+            assertEquals(1, Files.readAllLines(reportFile.toPath()).size());
+            report.write(new ProductTestResult("PROD_2"));
+        }
+
+        final List<String> lines = Files.readAllLines(reportFile.toPath());
+        assertEquals(2, lines.size());
+        final Map<?, ?> row = new ObjectMapper().readValue(lines.get(0), Map.class);
+        assertEquals("PROD_1", row.get("productId"));
+        assertEquals("org.esa.SomePlugIn", row.get("plugin"));
+        assertEquals(2048, row.get("fileSize"));
+        assertEquals(345, row.get("readNodes"));
+        assertNull(row.get("getStx"));
+        assertEquals(0, row.get("errors"));
+    }
+
+    @Test
+    public void testWrite_csv() throws IOException {
+        final File reportFile = new File(temporaryFolder.getRoot(), "read-times.csv");
+        result.addError(new AssertionError("failed"));
+
+        try (ReadTimesReport report = new ReadTimesReport(reportFile, null)) {
+            report.write(result);
+        }
+
+        final List<String> lines = Files.readAllLines(reportFile.toPath());
+        assertEquals(2, lines.size());
+        assertEquals("productId,plugin,fileSize,numBands,width,height,viewPixels,findReader,readNodes,getStx,getViewData," +
+                     "findReaderCpuTime,readNodesCpuTime,getStxCpuTime,getViewDataCpuTime," +
+                     "findReaderUserTime,readNodesUserTime,getStxUserTime,getViewDataUserTime," +
+                     "findReaderAllocatedBytes,readNodesAllocatedBytes,getStxAllocatedBytes,getViewDataAllocatedBytes," +
+                     "findReaderReadBytes,readNodesReadBytes,getStxReadBytes,getViewDataReadBytes," +
+                     "findReaderReadCalls,readNodesReadCalls,getStxReadCalls,getViewDataReadCalls," +
+                     "tileCacheHits,tileCacheMisses,tileCacheEvictions,tileCacheMemoryUsed," +
+                     "bufferMemoryPeak,bufferMemoryResidual,rssPeak,rssResidual," +
+                     "throughputBands,throughputTiles,throughputBytes,throughputTime,throughputFirstTileTime,tileScalingEfficiency,errors", lines.get(0));
+        assertEquals("PROD_1,org.esa.SomePlugIn,2048,3,,,,12,345,,,,300,,,,,,,,4096,,,,,,,,,,,,,,,,,,,,,,,,,1", lines.get(1));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testUnknownFormat() throws IOException {
+        new ReadTimesReport(new File(temporaryFolder.getRoot(), "read-times.txt"), "xml");
+    }
+}
@@ -0,0 +1,197 @@
+/*
+ * Copyright (C) 2026 Brockmann Consult GmbH (info@brockmann-consult.de)
+ *
+ * This program is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option)
+ * any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License for
+ * more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, see http://www.gnu.org/licenses/
+ */
+
+package org.esa.snap.dataio;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import eu.esa.snap.hdf.HDFLoader;
+import org.esa.snap.core.dataio.ProductReaderPlugIn;
+import org.esa.snap.core.util.SystemUtils;
+import org.esa.snap.dataio.netcdf.NetCdfActivator;
+import org.esa.snap.lib.openjpeg.activator.OpenJPEGInstaller;
+import org.esa.snap.vfs.NioPaths;
+import org.esa.snap.vfs.activator.VFSPlugInActivator;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.logging.Logger;
+
+import static org.junit.Assert.fail;
+
+/**
+ * The test definitions of the reader plugins and the global list of their test products, loaded from the
+ * {@code -data.json} and expected dataset resources next to each plugin. Only the data directory, the reader class
+ * name filter and the handling of missing data are configured, so this is all the benchmarks need. The acceptance
+ * tests add their measurements, caches and reports on top of it.
+ */
+class ReaderTestDefinitions {
+
+    static final String PROPERTYNAME_DATA_DIR = "snap.reader.tests.data.dir";
+    static final String PROPERTYNAME_FAIL_ON_MISSING_DATA = "snap.reader.tests.failOnMissingData";
+    static final String PROPERTYNAME_CASS_NAME = "snap.reader.tests.class.name";
+
+    private final File dataRootDir;
+    private final List<ProductReaderPlugIn> readerPlugIns;
+    private final TestDefinitionList testDefinitionList;
+    private final ProductList testProductList;
+
+    private ReaderTestDefinitions(File dataRootDir) {
+        this.dataRootDir = dataRootDir;
+        this.readerPlugIns = new ArrayList<>();
+        this.testDefinitionList = new TestDefinitionList();
+        this.testProductList = new ProductList();
+    }
+
+    /**
+     * Initialises the third party libraries, the virtual file systems and the native libraries the readers depend on.
+     */
+    static void initReaderLibraries() {
+        SystemUtils.init3rdPartyLibs(ReaderTestDefinitions.class);
+        VFSPlugInActivator.activate();
+        OpenJPEGInstaller.install();
+        NetCdfActivator.activate();
+        HDFLoader.ensureHDF5Initialised();
+    }
+
+    /**
+     * Loads the test definitions of all reader plugins whose class name starts with
+     * {@value #PROPERTYNAME_CASS_NAME}, or of all plugins if it is not set.
+     */
+    static ReaderTestDefinitions load(Logger logger) throws IOException {
+        final String dataDirProperty = System.getProperty(PROPERTYNAME_DATA_DIR);
+        if (dataDirProperty == null) {
+            fail("Data directory path not set");
+        }
+        final File dataRootDir = NioPaths.get(dataDirProperty).toFile();
+        if (!dataRootDir.isDirectory()) {
+            fail("Data directory is not valid: " + dataDirProperty);
+        }
+        final ReaderTestDefinitions definitions = new ReaderTestDefinitions(dataRootDir);
+        definitions.loadTestDefinitions(System.getProperty(PROPERTYNAME_CASS_NAME), isFailOnMissingData(), logger);
+        definitions.createGlobalProductList();
+        return definitions;
+    }
+
+    static boolean isFailOnMissingData() {
+        return Boolean.parseBoolean(System.getProperty(PROPERTYNAME_FAIL_ON_MISSING_DATA, "true"));
+    }
+
+    static String getReaderTestResourceName(String fullyQualifiedName, String suffix) {
+        final String path = fullyQualifiedName.replace(".", "/");
+        return "/" + path + suffix;
+    }
+
+    /**
+     * @return all reader plugins found, including those without test definition or not matching the class name filter
+     */
+    List<ProductReaderPlugIn> getReaderPlugIns() {
+        return Collections.unmodifiableList(readerPlugIns);
+    }
+
+    TestDefinitionList getTestDefinitionList() {
+        return testDefinitionList;
+    }
+
+    /**
+     * @return the test products of all definitions, each product only once
+     */
+    ProductList getTestProductList() {
+        return testProductList;
+    }
+
+    File resolveTestProductFile(TestProduct testProduct) {
+        return dataRootDir.toPath().resolve(testProduct.getRelativePath()).toFile();
+    }
+
+    private void loadTestDefinitions(String className, boolean failOnMissingData, Logger logger) throws IOException {
+        final ObjectMapper mapper = new ObjectMapper();
+        SystemUtils.loadServices(ProductReaderPlugIn.class).forEach(readerPlugIns::add);
+
+        for (ProductReaderPlugIn readerPlugIn : readerPlugIns) {
+            final Class<? extends ProductReaderPlugIn> readerPlugInClass = readerPlugIn.getClass();
+            if (className != null && !readerPlugInClass.getName().startsWith(className)) {
+                continue;
+            }
+
+            final String dataResourceName = getReaderTestResourceName(readerPlugInClass.getName(), "-data.json");
+            final URL dataResource = readerPlugInClass.getResource(dataResourceName);
+            if (dataResource == null) {
+                logger.warning(readerPlugInClass.getSimpleName() + " does not define test data");
+                continue;
+            }
+
+            final ProductList productList = mapper.readValue(dataResource, ProductList.class);
+            final TestDefinition testDefinition = new TestDefinition();
+            testDefinition.setProductReaderPlugin(readerPlugIn);
+            testDefinitionList.add(testDefinition);
+
+            testIfProductFilesExists(productList, failOnMissingData);
+            testDefinition.addTestProducts(productList.getAll());
+
+            for (String id : productList.getAllIds()) {
+                final String fileResourceName = id + ".json";
+                final URL fileResource = readerPlugInClass.getResource(fileResourceName);
+                if (fileResource == null) {
+                    fail(readerPlugInClass.getSimpleName() + " resource file '" + fileResourceName + "' is missing");
+                }
+
+                final ExpectedDataset expectedDataset = mapper.readValue(fileResource, ExpectedDataset.class);
+                testDefinition.addExpectedDataset(expectedDataset);
+            }
+        }
+    }
+
+    private void testIfProductFilesExists(ProductList productList, boolean failOnMissingData) {
+        for (TestProduct testProduct : productList) {
+            final File productFile = resolveTestProductFile(testProduct);
+            if (!productFile.exists()) {
+                testProduct.exists(false);
+                if (failOnMissingData) {
+                    fail("Test product does not exist: " + productFile.getAbsolutePath());
+                }
+            }
+        }
+    }
+
+    private void createGlobalProductList() {
+        for (TestDefinition testDefinition : testDefinitionList) {
+            final List<TestProduct> allPluginProducts = testDefinition.getAllProducts();
+            for (TestProduct testProduct : allPluginProducts) {
+                if (!testIfIdAlreadyRegistered(testProduct)) {
+                    testProductList.add(testProduct);
+                }
+            }
+        }
+    }
+
+    private boolean testIfIdAlreadyRegistered(TestProduct testProduct) {
+        final String id = testProduct.getId();
+        final TestProduct storedProduct = testProductList.getById(id);
+        if (storedProduct != null) {
+            if (storedProduct.isDifferent(testProduct)) {
+                fail("Test file with ID=" + id + " already defined with different settings");
+            }
+
+            return true;
+        }
+
+        return false;
+    }
+}
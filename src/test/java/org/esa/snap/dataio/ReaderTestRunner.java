@@ -25,8 +25,10 @@ import java.util.Locale;
 
 public class ReaderTestRunner extends BlockJUnit4ClassRunner {
 
-    private static final String PROPERTYNAME_EXECUTE_READER_TESTS = "snap.reader.tests.execute";
+    static final String PROPERTYNAME_EXECUTE_READER_TESTS = "snap.reader.tests.execute";
+    static final String PROPERTYNAME_PER_PRODUCT_TESTS = "snap.reader.tests.perProductTests";
     private boolean runAcceptanceTests;
+    private boolean runPerProductTests;
     private Class<?> clazz;
 
     public ReaderTestRunner(Class<?> clazz) throws InitializationError {
@@ -35,6 +37,7 @@ public class ReaderTestRunner extends BlockJUnit4ClassRunner {
         this.clazz = clazz;
 
         runAcceptanceTests = Boolean.getBoolean(PROPERTYNAME_EXECUTE_READER_TESTS);
+        runPerProductTests = Boolean.getBoolean(PROPERTYNAME_PER_PRODUCT_TESTS);
     }
 
     @Override
@@ -44,7 +47,11 @@ public class ReaderTestRunner extends BlockJUnit4ClassRunner {
 
     @Override
     public void run(RunNotifier runNotifier) {
-        if (runAcceptanceTests) {
+        if (runAcceptanceTests && runPerProductTests) {
+            final Description description = Description.createTestDescription(clazz, "allMethods. Reader acceptance tests are run per product " +
+                                                                                     "by " + ProductReaderProductTest.class.getSimpleName() + ".");
+            runNotifier.fireTestIgnored(description);
+        } else if (runAcceptanceTests) {
             super.run(runNotifier);
         } else {
             final Description description = Description.createTestDescription(clazz, "allMethods. Reader acceptance tests disabled. " +
@@ -0,0 +1,220 @@
+/*
+ * Copyright (C) 2026 Brockmann Consult GmbH (info@brockmann-consult.de)
+ *
+ * This program is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option)
+ * any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License for
+ * more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, see http://www.gnu.org/licenses/
+ */
+package org.esa.snap.dataio;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * The outcome of the checks of one shard, written as JSON file so that the results of all shards can be merged
+ * into one file afterwards:
+ * <pre>
+ *     java -cp &lt;test classpath&gt; org.esa.snap.dataio.ShardResult merged.json shard-1-of-4.json ... shard-4-of-4.json
+ * </pre>
+ */
+class ShardResult {
+
+    @JsonProperty
+    private List<String> shards;
+    @JsonProperty
+    private List<String> productIds;
+    @JsonProperty
+    private int productCount;
+    @JsonProperty
+    private List<CheckResult> checks;
+
+    ShardResult() {
+        shards = new ArrayList<>();
+        productIds = new ArrayList<>();
+        checks = new ArrayList<>();
+    }
+
+    /**
+     * @param productIds   the products of the shard
+     * @param productCount the number of products of all shards together
+     */
+    ShardResult(ProductShard shard, List<String> productIds, int productCount) {
+        this();
+        this.shards.add(shard.toString());
+        this.productIds.addAll(productIds);
+        this.productCount = productCount;
+    }
+
+    List<String> getShards() {
+        return shards;
+    }
+
+    List<String> getProductIds() {
+        return productIds;
+    }
+
+    int getProductCount() {
+        return productCount;
+    }
+
+    List<CheckResult> getChecks() {
+        return checks;
+    }
+
+    synchronized void add(String check, String productId, String plugin, long timeDiff, List<Throwable> errors) {
+        final CheckResult checkResult = new CheckResult();
+        checkResult.check = check;
+        checkResult.productId = productId;
+        checkResult.plugin = plugin;
+        checkResult.timeDiff = timeDiff;
+        for (Throwable error : errors) {
+            checkResult.errors.add(String.valueOf(error.getMessage()));
+        }
+        checks.add(checkResult);
+    }
+
+    int getFailureCount() {
+        int failureCount = 0;
+        for (CheckResult checkResult : checks) {
+            if (!checkResult.errors.isEmpty()) {
+                failureCount++;
+            }
+        }
+        return failureCount;
+    }
+
+    synchronized void write(File file) throws IOException {
+        JsonFiles.write(file, this);
+    }
+
+    static ShardResult read(File file) throws IOException {
+        final ShardResult shardResult = JsonFiles.read(file, ShardResult.class);
+        if (shardResult == null) {
+            throw new FileNotFoundException("Shard result " + file.getAbsolutePath() + " does not exist");
+        }
+        return shardResult;
+    }
+
+    /**
+     * Merges the results of all shards of a run.
+     *
+     * @throws IllegalArgumentException if a shard is missing or given twice, if a product belongs to more than one
+     *                                  shard or if the shards together do not cover all products
+     */
+    static ShardResult merge(List<ShardResult> shardResults) {
+        if (shardResults.isEmpty()) {
+            throw new IllegalArgumentException("No shard results to merge");
+        }
+        final ShardResult merged = new ShardResult();
+        final TreeSet<String> shards = new TreeSet<>();
+        final TreeMap<String, String> productShards = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        for (ShardResult shardResult : shardResults) {
+            for (String shard : shardResult.shards) {
+                if (!shards.add(shard)) {
+                    throw new IllegalArgumentException("Shard " + shard + " is given more than once");
+                }
+            }
+            for (String productId : shardResult.productIds) {
+                final String otherShards = productShards.put(productId, String.join(",", shardResult.shards));
+                if (otherShards != null) {
+                    throw new IllegalArgumentException("Product " + productId + " has been tested by shard " + otherShards +
+                                                       " and by shard " + String.join(",", shardResult.shards));
+                }
+            }
+            if (merged.productCount != 0 && shardResult.productCount != merged.productCount) {
+                throw new IllegalArgumentException("Shards " + merged.shards + " have " + merged.productCount + " products in total, " +
+                                                   "but shard " + shardResult.shards + " has " + shardResult.productCount);
+            }
+            merged.shards.addAll(shardResult.shards);
+            merged.productCount = shardResult.productCount;
+            merged.checks.addAll(shardResult.checks);
+        }
+        final ProductShard firstShard = ProductShard.parse(shards.first());
+        for (int i = 1; i <= firstShard.getCount(); i++) {
+            final String shard = new ProductShard(i, firstShard.getCount()).toString();
+            if (!shards.remove(shard)) {
+                throw new IllegalArgumentException("Shard " + shard + " is missing");
+            }
+        }
+        if (!shards.isEmpty()) {
+            throw new IllegalArgumentException("Shards " + shards + " do not belong to a run with " + firstShard.getCount() + " shards");
+        }
+        if (productShards.size() != merged.productCount) {
+            throw new IllegalArgumentException("The shards cover " + productShards.size() + " of " + merged.productCount + " products");
+        }
+        merged.productIds.addAll(productShards.keySet());
+        merged.checks.sort(Comparator.comparing((CheckResult checkResult) -> checkResult.check)
+                                   .thenComparing(checkResult -> String.valueOf(checkResult.plugin))
+                                   .thenComparing(checkResult -> checkResult.productId, String.CASE_INSENSITIVE_ORDER));
+        return merged;
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage: ShardResult <merged result file> <shard result file>...");
+            System.exit(1);
+        }
+        final List<ShardResult> shardResults = new ArrayList<>();
+        for (int i = 1; i < args.length; i++) {
+            shardResults.add(read(new File(args[i])));
+        }
+        final ShardResult merged = merge(shardResults);
+        merged.write(new File(args[0]));
+        System.out.println(String.format("Merged %d shards %s: %d products, %d checks, %d failed",
+                                         shardResults.size(), merged.shards, merged.productIds.size(),
+                                         merged.checks.size(), merged.getFailureCount()));
+        if (merged.getFailureCount() > 0) {
+            System.exit(2);
+        }
+    }
+
+    static class CheckResult {
+
+        @JsonProperty
+        private String check;
+        @JsonProperty
+        private String productId;
+        @JsonProperty
+        private String plugin;
+        @JsonProperty
+        private long timeDiff;
+        @JsonProperty
+        private List<String> errors = new ArrayList<>();
+
+        String getCheck() {
+            return check;
+        }
+
+        String getProductId() {
+            return productId;
+        }
+
+        String getPlugin() {
+            return plugin;
+        }
+
+        long getTimeDiff() {
+            return timeDiff;
+        }
+
+        List<String> getErrors() {
+            return errors;
+        }
+    }
+}
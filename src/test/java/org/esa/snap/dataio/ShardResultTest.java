@@ -0,0 +1,112 @@
+package org.esa.snap.dataio;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class ShardResultTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void testWriteAndRead() throws IOException {
+        final ShardResult shardResult = new ShardResult(new ProductShard(1, 2), Arrays.asList("PROD_A", "PROD_B"), 4);
+        shardResult.add("testProductReadTimes", "PROD_A", null, 120, Collections.emptyList());
+        shardResult.add("testReadIntendedProductContent", "PROD_B", "org.esa.SomePlugIn", 80,
+                        Collections.singletonList(new AssertionError("wrong band count")));
+        final File file = new File(temporaryFolder.getRoot(), "shards/shard-1-of-2.json");
+        shardResult.write(file);
+
+        final ShardResult read = ShardResult.read(file);
+
+        assertEquals(Collections.singletonList("1/2"), read.getShards());
+        assertEquals(Arrays.asList("PROD_A", "PROD_B"), read.getProductIds());
+        assertEquals(4, read.getProductCount());
+        assertEquals(2, read.getChecks().size());
+        assertEquals(1, read.getFailureCount());
+        final ShardResult.CheckResult checkResult = read.getChecks().get(1);
+        assertEquals("PROD_B", checkResult.getProductId());
+        assertEquals("org.esa.SomePlugIn", checkResult.getPlugin());
+        assertEquals(80, checkResult.getTimeDiff());
+        assertEquals(Collections.singletonList("wrong band count"), checkResult.getErrors());
+    }
+
+    @Test
+    public void testMerge() {
+        final ShardResult first = new ShardResult(new ProductShard(1, 2), Collections.singletonList("PROD_B"), 2);
+        first.add("testProductReadTimes", "PROD_B", null, 10, Collections.emptyList());
+        final ShardResult second = new ShardResult(new ProductShard(2, 2), Collections.singletonList("PROD_A"), 2);
+        second.add("testProductReadTimes", "PROD_A", null, 20, Collections.emptyList());
+
+        final ShardResult merged = ShardResult.merge(Arrays.asList(first, second));
+
+        assertEquals(Arrays.asList("1/2", "2/2"), merged.getShards());
+        assertEquals(Arrays.asList("PROD_A", "PROD_B"), merged.getProductIds());
+        final List<ShardResult.CheckResult> checks = merged.getChecks();
+        assertEquals("PROD_A", checks.get(0).getProductId());
+        assertEquals("PROD_B", checks.get(1).getProductId());
+        assertEquals(0, merged.getFailureCount());
+        assertEquals(2, merged.getProductCount());
+    }
+
+    @Test
+    public void testMerge_missingShard() {
+        final ShardResult first = new ShardResult(new ProductShard(1, 3), Collections.singletonList("PROD_A"), 3);
+        final ShardResult third = new ShardResult(new ProductShard(3, 3), Collections.singletonList("PROD_C"), 3);
+
+        try {
+            ShardResult.merge(Arrays.asList(first, third));
+            fail("IllegalArgumentException expected");
+        } catch (IllegalArgumentException expected) {
+            assertEquals("Shard 2/3 is missing", expected.getMessage());
+        }
+    }
+
+    @Test
+    public void testMerge_duplicateShard() {
+        final ShardResult first = new ShardResult(new ProductShard(1, 2), Collections.singletonList("PROD_A"), 2);
+        final ShardResult again = new ShardResult(new ProductShard(1, 2), Collections.singletonList("PROD_A"), 2);
+
+        try {
+            ShardResult.merge(Arrays.asList(first, again));
+            fail("IllegalArgumentException expected");
+        } catch (IllegalArgumentException expected) {
+            assertEquals("Shard 1/2 is given more than once", expected.getMessage());
+        }
+    }
+
+    @Test
+    public void testMerge_productInTwoShards() {
+        final ShardResult first = new ShardResult(new ProductShard(1, 2), Arrays.asList("PROD_A", "PROD_B"), 2);
+        final ShardResult second = new ShardResult(new ProductShard(2, 2), Collections.singletonList("prod_b"), 2);
+
+        try {
+            ShardResult.merge(Arrays.asList(first, second));
+            fail("IllegalArgumentException expected");
+        } catch (IllegalArgumentException expected) {
+            assertEquals("Product prod_b has been tested by shard 1/2 and by shard 2/2", expected.getMessage());
+        }
+    }
+
+    @Test
+    public void testMerge_productMissing() {
+        final ShardResult first = new ShardResult(new ProductShard(1, 2), Collections.singletonList("PROD_A"), 3);
+        final ShardResult second = new ShardResult(new ProductShard(2, 2), Collections.singletonList("PROD_B"), 3);
+
+        try {
+            ShardResult.merge(Arrays.asList(first, second));
+            fail("IllegalArgumentException expected");
+        } catch (IllegalArgumentException expected) {
+            assertEquals("The shards cover 2 of 3 products", expected.getMessage());
+        }
+    }
+}
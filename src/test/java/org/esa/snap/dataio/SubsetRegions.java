@@ -0,0 +1,59 @@
+/*
+ * Copyright (C) 2026 Brockmann Consult GmbH (info@brockmann-consult.de)
+ *
+ * This program is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option)
+ * any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License for
+ * more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, see http://www.gnu.org/licenses/
+ */
+
+package org.esa.snap.dataio;
+
+import java.awt.Rectangle;
+
+/**
+ * Regions of a scene used as spatial subsets when reading products, e.g. by the subset read benchmarks.
+ */
+class SubsetRegions {
+
+    private SubsetRegions() {
+    }
+
+    /**
+     * @return the region of at most the given size at the upper left corner of the scene
+     */
+    static Rectangle corner(int width, int height, int size) {
+        return new Rectangle(0, 0, Math.min(size, width), Math.min(size, height));
+    }
+
+    /**
+     * @return the region of at most the given size in the centre of the scene
+     */
+    static Rectangle centre(int width, int height, int size) {
+        return centred(width, height, Math.min(size, width), Math.min(size, height));
+    }
+
+    /**
+     * @param fraction the fraction of the scene area covered by the region, the aspect ratio of the scene is kept
+     * @return the region in the centre of the scene, at least one pixel wide and high
+     */
+    static Rectangle area(int width, int height, double fraction) {
+        final double factor = Math.sqrt(fraction);
+        return centred(width, height, scale(width, factor), scale(height, factor));
+    }
+
+    private static Rectangle centred(int width, int height, int regionWidth, int regionHeight) {
+        return new Rectangle((width - regionWidth) / 2, (height - regionHeight) / 2, regionWidth, regionHeight);
+    }
+
+    private static int scale(int size, double factor) {
+        return Math.max(1, (int) Math.round(size * factor));
+    }
+}
@@ -0,0 +1,37 @@
+package org.esa.snap.dataio;
+
+import org.junit.Test;
+
+import java.awt.Rectangle;
+
+import static org.junit.Assert.*;
+
+public class SubsetRegionsTest {
+
+    @Test
+    public void testCorner() {
+        assertEquals(new Rectangle(0, 0, 1000, 1000), SubsetRegions.corner(5000, 4000, 1000));
+        assertEquals(new Rectangle(0, 0, 600, 1000), SubsetRegions.corner(600, 4000, 1000));
+    }
+
+    @Test
+    public void testCentre() {
+        assertEquals(new Rectangle(2000, 1500, 1000, 1000), SubsetRegions.centre(5000, 4000, 1000));
+        assertEquals(new Rectangle(0, 1500, 600, 1000), SubsetRegions.centre(600, 4000, 1000));
+        assertEquals(new Rectangle(0, 0, 101, 99), SubsetRegions.centre(101, 99, 1000));
+    }
+
+    @Test
+    public void testArea() {
+        assertEquals(new Rectangle(2250, 1800, 500, 400), SubsetRegions.area(5000, 4000, 0.01));
+
+        final Rectangle area10 = SubsetRegions.area(5000, 4000, 0.1);
+        assertEquals(new Rectangle(1709, 1367, 1581, 1265), area10);
+        assertEquals(0.1, (double) area10.width * area10.height / (5000 * 4000), 0.001);
+    }
+
+    @Test
+    public void testAreaOfTinyScene() {
+        assertEquals(new Rectangle(1, 0, 1, 1), SubsetRegions.area(3, 2, 0.01));
+    }
+}
@@ -0,0 +1,143 @@
+/*
+ * Copyright (C) 2026 Brockmann Consult GmbH (info@brockmann-consult.de)
+ *
+ * This program is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option)
+ * any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License for
+ * more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, see http://www.gnu.org/licenses/
+ */
+
+package org.esa.snap.dataio;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadInfo;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * CPU time, user time and allocated bytes of the calling thread together with the tile scheduler threads of JAI,
+ * which compute the tiles requested by the calling thread. The difference of two samples gives the resources used
+ * by a phase of a product test.
+ * <p>
+ * The tile scheduler threads are shared, so with a parallelism above 1 their usage cannot be attributed to a single
+ * product. Usage of threads which terminated between two samples is lost.
+ */
+class ThreadUsage {
+
+    static final String TILE_SCHEDULER_THREAD_PREFIX = "SunTileScheduler";
+
+    private static final ThreadMXBean THREAD_BEAN = ManagementFactory.getThreadMXBean();
+    private static final boolean CPU_TIME_SUPPORTED = enableCpuTime();
+    private static final boolean ALLOCATED_BYTES_SUPPORTED = enableAllocatedBytes();
+
+    private final long cpuTime;
+    private final long userTime;
+    private final long allocatedBytes;
+
+    ThreadUsage(long cpuTime, long userTime, long allocatedBytes) {
+        this.cpuTime = cpuTime;
+        this.userTime = userTime;
+        this.allocatedBytes = allocatedBytes;
+    }
+
+    static ThreadUsage sample() {
+        final long[] threadIds = getThreadIds();
+        long cpuTime = 0;
+        long userTime = 0;
+        long allocatedBytes = 0;
+        if (CPU_TIME_SUPPORTED) {
+            for (long threadId : threadIds) {
+                cpuTime += Math.max(0, THREAD_BEAN.getThreadCpuTime(threadId));
+                userTime += Math.max(0, THREAD_BEAN.getThreadUserTime(threadId));
+            }
+        }
+        if (ALLOCATED_BYTES_SUPPORTED) {
+            for (long threadAllocatedBytes : ((com.sun.management.ThreadMXBean) THREAD_BEAN).getThreadAllocatedBytes(threadIds)) {
+                allocatedBytes += Math.max(0, threadAllocatedBytes);
+            }
+        }
+        return new ThreadUsage(cpuTime, userTime, allocatedBytes);
+    }
+
+    /**
+     * @return the usage between the given earlier sample and this one
+     */
+    ThreadUsage since(ThreadUsage start) {
+        return new ThreadUsage(Math.max(0, cpuTime - start.cpuTime),
+                               Math.max(0, userTime - start.userTime),
+                               Math.max(0, allocatedBytes - start.allocatedBytes));
+    }
+
+    ThreadUsage plus(ThreadUsage other) {
+        return new ThreadUsage(cpuTime + other.cpuTime, userTime + other.userTime, allocatedBytes + other.allocatedBytes);
+    }
+
+    long getCpuTimeMillis() {
+        return cpuTime / 1000000;
+    }
+
+    long getUserTimeMillis() {
+        return userTime / 1000000;
+    }
+
+    long getAllocatedBytes() {
+        return allocatedBytes;
+    }
+
+    /**
+     * Sets the usage as attributes of the result, named after the given phase, e.g. {@code readNodesCpuTime}. If the
+     * phase is {@code null} the attributes are named {@code cpuTime}, {@code userTime} and {@code allocatedBytes}.
+     */
+    void setAttributes(ProductTestResult result, String phase) {
+        if (CPU_TIME_SUPPORTED) {
+            result.setAttribute(ProductTestResult.getAttributeName(phase, ProductTestResult.ATTRIBUTE_CPU_TIME), getCpuTimeMillis());
+            result.setAttribute(ProductTestResult.getAttributeName(phase, ProductTestResult.ATTRIBUTE_USER_TIME), getUserTimeMillis());
+        }
+        if (ALLOCATED_BYTES_SUPPORTED) {
+            result.setAttribute(ProductTestResult.getAttributeName(phase, ProductTestResult.ATTRIBUTE_ALLOCATED_BYTES), allocatedBytes);
+        }
+    }
+
+    private static long[] getThreadIds() {
+        final List<Long> threadIds = new ArrayList<>();
+        threadIds.add(Thread.currentThread().threadId());
+        for (ThreadInfo threadInfo : THREAD_BEAN.getThreadInfo(THREAD_BEAN.getAllThreadIds())) {
+            if (threadInfo != null && threadInfo.getThreadName().startsWith(TILE_SCHEDULER_THREAD_PREFIX)) {
+                threadIds.add(threadInfo.getThreadId());
+            }
+        }
+        return threadIds.stream().mapToLong(Long::longValue).toArray();
+    }
+
+    private static boolean enableCpuTime() {
+        if (!THREAD_BEAN.isThreadCpuTimeSupported()) {
+            return false;
+        }
+        if (!THREAD_BEAN.isThreadCpuTimeEnabled()) {
+            THREAD_BEAN.setThreadCpuTimeEnabled(true);
+        }
+        return true;
+    }
+
+    private static boolean enableAllocatedBytes() {
+        if (!(THREAD_BEAN instanceof com.sun.management.ThreadMXBean)) {
+            return false;
+        }
+        final com.sun.management.ThreadMXBean threadBean = (com.sun.management.ThreadMXBean) THREAD_BEAN;
+        if (!threadBean.isThreadAllocatedMemorySupported()) {
+            return false;
+        }
+        if (!threadBean.isThreadAllocatedMemoryEnabled()) {
+            threadBean.setThreadAllocatedMemoryEnabled(true);
+        }
+        return true;
+    }
+}
@@ -0,0 +1,43 @@
+package org.esa.snap.dataio;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class ThreadUsageTest {
+
+    @Test
+    public void testSince_countsAllocatedBytes() {
+        final ThreadUsage start = ThreadUsage.sample();
+        final long[] data = new long[1024 * 1024];
+        final ThreadUsage usage = ThreadUsage.sample().since(start);
+
+        assertEquals(1024 * 1024, data.length);
+        assertTrue(usage.getAllocatedBytes() >= 8 * 1024 * 1024);
+        assertTrue(usage.getCpuTimeMillis() >= 0);
+        assertTrue(usage.getUserTimeMillis() <= usage.getCpuTimeMillis());
+    }
+
+    @Test
+    public void testSince_isNeverNegative() {
+        final ThreadUsage later = new ThreadUsage(1000, 1000, 1000);
+        final ThreadUsage usage = new ThreadUsage(2000000, 1000000, 10).since(later);
+        assertEquals(1, usage.getCpuTimeMillis());
+        assertEquals(0, usage.getUserTimeMillis());
+        assertEquals(0, usage.getAllocatedBytes());
+    }
+
+    @Test
+    public void testSetAttributes() {
+        final ProductTestResult result = new ProductTestResult("PROD_1");
+        final ThreadUsage usage = new ThreadUsage(5000000, 3000000, 4096).plus(new ThreadUsage(1000000, 0, 1024));
+
+        usage.setAttributes(result, ProductTestResult.PHASE_READ_NODES);
+        usage.setAttributes(result, null);
+
+        assertEquals(6L, result.getAttribute("readNodesCpuTime"));
+        assertEquals(3L, result.getAttribute("readNodesUserTime"));
+        assertEquals(5120L, result.getAttribute("readNodesAllocatedBytes"));
+        assertEquals(5120L, result.getAttribute("allocatedBytes"));
+    }
+}
@@ -0,0 +1,123 @@
+/*
+ * Copyright (C) 2026 Brockmann Consult GmbH (info@brockmann-consult.de)
+ *
+ * This program is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option)
+ * any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License for
+ * more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, see http://www.gnu.org/licenses/
+ */
+
+package org.esa.snap.dataio;
+
+import com.sun.media.jai.util.CacheDiagnostics;
+
+import javax.media.jai.CachedTile;
+import javax.media.jai.JAI;
+import javax.media.jai.TileCache;
+import java.util.Observable;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Hits, misses and evictions of the default JAI tile cache and the memory it uses. The difference of two samples
+ * tells how much of the view data of a product was served from tiles computed before.
+ * <p>
+ * The counters are only available for tile caches implementing {@link CacheDiagnostics}, like the default
+ * {@code SunTileCache}. Its diagnostics are enabled with the first sample. The cache is shared by all products, so
+ * the counts can only be attributed to a single product if products are not tested in parallel.
+ */
+class TileCacheUsage {
+
+    // action of a tile removed by the memory control of SunTileCache
+    private static final int ACTION_REMOVE_FROM_MEMORY_CONTROL = 3;
+    private static final AtomicLong evictionCount = new AtomicLong();
+    private static TileCache observedTileCache;
+
+    private final long hits;
+    private final long misses;
+    private final long evictions;
+    private final long memoryUsed;
+
+    TileCacheUsage(long hits, long misses, long evictions, long memoryUsed) {
+        this.hits = hits;
+        this.misses = misses;
+        this.evictions = evictions;
+        this.memoryUsed = memoryUsed;
+    }
+
+    /**
+     * @return the current counters or {@code null} if the tile cache does not provide them
+     */
+    static synchronized TileCacheUsage sample() {
+        final TileCache tileCache = JAI.getDefaultInstance().getTileCache();
+        if (!(tileCache instanceof CacheDiagnostics)) {
+            return null;
+        }
+        if (tileCache != observedTileCache) {
+            observe(tileCache);
+        }
+        final CacheDiagnostics cacheDiagnostics = (CacheDiagnostics) tileCache;
+        return new TileCacheUsage(cacheDiagnostics.getCacheHitCount(), cacheDiagnostics.getCacheMissCount(),
+                                  evictionCount.get(), cacheDiagnostics.getCacheMemoryUsed());
+    }
+
+    /**
+     * Removes all tiles from the default tile cache.
+     */
+    static void flush() {
+        final TileCache tileCache = JAI.getDefaultInstance().getTileCache();
+        if (tileCache != null) {
+            tileCache.flush();
+        }
+    }
+
+    @SuppressWarnings("deprecation")
+    private static void observe(TileCache tileCache) {
+        ((CacheDiagnostics) tileCache).enableDiagnostics();
+        if (tileCache instanceof Observable) {
+            ((Observable) tileCache).addObserver((observable, tile) -> {
+                if (tile instanceof CachedTile && ((CachedTile) tile).getAction() == ACTION_REMOVE_FROM_MEMORY_CONTROL) {
+                    evictionCount.incrementAndGet();
+                }
+            });
+        }
+        observedTileCache = tileCache;
+    }
+
+    /**
+     * @return the counts between the given earlier sample and this one, together with the memory used now
+     */
+    TileCacheUsage since(TileCacheUsage start) {
+        return new TileCacheUsage(Math.max(0, hits - start.hits), Math.max(0, misses - start.misses),
+                                  Math.max(0, evictions - start.evictions), memoryUsed);
+    }
+
+    long getHits() {
+        return hits;
+    }
+
+    long getMisses() {
+        return misses;
+    }
+
+    long getEvictions() {
+        return evictions;
+    }
+
+    long getMemoryUsed() {
+        return memoryUsed;
+    }
+
+    void setAttributes(ProductTestResult result) {
+        result.setAttribute(ProductTestResult.ATTRIBUTE_TILE_CACHE_HITS, hits);
+        result.setAttribute(ProductTestResult.ATTRIBUTE_TILE_CACHE_MISSES, misses);
+        result.setAttribute(ProductTestResult.ATTRIBUTE_TILE_CACHE_EVICTIONS, evictions);
+        result.setAttribute(ProductTestResult.ATTRIBUTE_TILE_CACHE_MEMORY_USED, memoryUsed);
+    }
+}
@@ -0,0 +1,40 @@
+package org.esa.snap.dataio;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class TileCacheUsageTest {
+
+    @Test
+    public void testSample_defaultTileCache() {
+        final TileCacheUsage start = TileCacheUsage.sample();
+        assertNotNull(start);
+
+        final TileCacheUsage usage = TileCacheUsage.sample().since(start);
+        assertEquals(0, usage.getHits());
+        assertEquals(0, usage.getMisses());
+        assertEquals(0, usage.getEvictions());
+    }
+
+    @Test
+    public void testSince() {
+        final TileCacheUsage usage = new TileCacheUsage(30, 12, 4, 2048).since(new TileCacheUsage(10, 2, 1, 4096));
+        assertEquals(20, usage.getHits());
+        assertEquals(10, usage.getMisses());
+        assertEquals(3, usage.getEvictions());
+        // the memory used at the end, not the difference
+        assertEquals(2048, usage.getMemoryUsed());
+    }
+
+    @Test
+    public void testSetAttributes() {
+        final ProductTestResult result = new ProductTestResult("PROD_1");
+        new TileCacheUsage(20, 10, 3, 2048).setAttributes(result);
+
+        assertEquals(20L, result.getAttribute("tileCacheHits"));
+        assertEquals(10L, result.getAttribute("tileCacheMisses"));
+        assertEquals(3L, result.getAttribute("tileCacheEvictions"));
+        assertEquals(2048L, result.getAttribute("tileCacheMemoryUsed"));
+    }
+}
@@ -0,0 +1,160 @@
+/*
+ * Copyright (C) 2026 Brockmann Consult GmbH (info@brockmann-consult.de)
+ *
+ * This program is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option)
+ * any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License for
+ * more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, see http://www.gnu.org/licenses/
+ */
+
+package org.esa.snap.dataio;
+
+import java.awt.image.RenderedImage;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Times of fetching all tiles of an image at full resolution with an increasing number of threads, each fetching
+ * other tiles. A reader serialising on a single file handle or lock does not get faster with more threads, which
+ * limits GPF processing using many threads.
+ */
+class TileScaling {
+
+    private final int[] threadCounts;
+    private final long[] nanos;
+
+    TileScaling(int[] threadCounts, long[] nanos) {
+        if (threadCounts.length == 0 || threadCounts.length != nanos.length) {
+            throw new IllegalArgumentException("Expected a time for each thread count");
+        }
+        this.threadCounts = threadCounts;
+        this.nanos = nanos;
+    }
+
+    /**
+     * @return 1, 2, 4 ... threads up to the given maximum, which is always included
+     */
+    static int[] getThreadCounts(int maxThreadCount) {
+        final List<Integer> threadCounts = new ArrayList<>();
+        for (int threadCount = 1; threadCount < maxThreadCount; threadCount *= 2) {
+            threadCounts.add(threadCount);
+        }
+        threadCounts.add(Math.max(1, maxThreadCount));
+        return threadCounts.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    /**
+     * Fetches all tiles of the image with the given number of threads, which take the next tile not fetched yet.
+     *
+     * @return the elapsed time in nanoseconds
+     */
+    static long readTiles(RenderedImage image, int threadCount) throws InterruptedException, ExecutionException {
+        final int numXTiles = image.getNumXTiles();
+        final int tileCount = numXTiles * image.getNumYTiles();
+        final AtomicInteger nextTile = new AtomicInteger();
+        final AtomicInteger threadIndex = new AtomicInteger();
+        final ExecutorService executorService = Executors.newFixedThreadPool(threadCount, runnable -> {
+            final Thread thread = new Thread(runnable, "tile-scaling-" + threadIndex.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            final long startNanos = System.nanoTime();
+            final List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < threadCount; i++) {
+                futures.add(executorService.submit(() -> {
+                    int tile;
+                    while ((tile = nextTile.getAndIncrement()) < tileCount) {
+                        image.getTile(image.getMinTileX() + tile % numXTiles, image.getMinTileY() + tile / numXTiles);
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+            return System.nanoTime() - startNanos;
+        } finally {
+            executorService.shutdownNow();
+        }
+    }
+
+    /**
+     * Parses the thread counts and times set as attributes of a result, e.g. by a worker JVM.
+     *
+     * @return the scaling or {@code null} if the attributes are not set
+     */
+    static TileScaling fromAttributes(ProductTestResult result) {
+        final Object threadCounts = result.getAttribute(ProductTestResult.ATTRIBUTE_TILE_SCALING_THREADS);
+        final Object times = result.getAttribute(ProductTestResult.ATTRIBUTE_TILE_SCALING_TIMES);
+        if (threadCounts == null || times == null) {
+            return null;
+        }
+        return new TileScaling(Arrays.stream(threadCounts.toString().split(",")).mapToInt(Integer::parseInt).toArray(),
+                               Arrays.stream(times.toString().split(",")).mapToLong(time -> Math.round(Double.parseDouble(time) * 1.0e6)).toArray());
+    }
+
+    /**
+     * Sets the thread counts and the times in milliseconds as comma separated lists, together with the efficiency
+     * of the largest thread count.
+     */
+    void setAttributes(ProductTestResult result) {
+        final List<String> times = new ArrayList<>();
+        for (long time : nanos) {
+            times.add(String.format(Locale.ENGLISH, "%.3f", time / 1.0e6));
+        }
+        result.setAttribute(ProductTestResult.ATTRIBUTE_TILE_SCALING_THREADS,
+                            String.join(",", Arrays.stream(threadCounts).mapToObj(String::valueOf).toArray(String[]::new)));
+        result.setAttribute(ProductTestResult.ATTRIBUTE_TILE_SCALING_TIMES, String.join(",", times));
+        result.setAttribute(ProductTestResult.ATTRIBUTE_TILE_SCALING_EFFICIENCY, getEfficiency(threadCounts.length - 1));
+    }
+
+    /**
+     * Adds the times of another measurement with the same thread counts, e.g. of another product of the same reader.
+     */
+    TileScaling plus(TileScaling other) {
+        if (!Arrays.equals(threadCounts, other.threadCounts)) {
+            throw new IllegalArgumentException("Thread counts differ");
+        }
+        final long[] summedNanos = new long[nanos.length];
+        for (int i = 0; i < nanos.length; i++) {
+            summedNanos[i] = nanos[i] + other.nanos[i];
+        }
+        return new TileScaling(threadCounts, summedNanos);
+    }
+
+    int getSize() {
+        return threadCounts.length;
+    }
+
+    int getThreadCount(int index) {
+        return threadCounts[index];
+    }
+
+    /**
+     * @return the time with a single thread divided by the time with the thread count of the given index
+     */
+    double getSpeedup(int index) {
+        return nanos[index] > 0 ? (double) nanos[0] / nanos[index] : 0;
+    }
+
+    /**
+     * @return the speedup divided by the thread count, 1 for perfect scaling
+     */
+    double getEfficiency(int index) {
+        return getSpeedup(index) / threadCounts[index] * threadCounts[0];
+    }
+}
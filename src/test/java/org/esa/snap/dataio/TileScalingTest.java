@@ -0,0 +1,62 @@
+package org.esa.snap.dataio;
+
+import org.junit.Test;
+
+import java.awt.image.BufferedImage;
+import java.util.concurrent.ExecutionException;
+
+import static org.junit.Assert.*;
+
+public class TileScalingTest {
+
+    @Test
+    public void testGetThreadCounts() {
+        assertArrayEquals(new int[]{1}, TileScaling.getThreadCounts(1));
+        assertArrayEquals(new int[]{1, 2, 4, 8}, TileScaling.getThreadCounts(8));
+        assertArrayEquals(new int[]{1, 2, 4, 8, 12}, TileScaling.getThreadCounts(12));
+    }
+
+    @Test
+    public void testSpeedupAndEfficiency() {
+        final TileScaling tileScaling = new TileScaling(new int[]{1, 2, 4}, new long[]{800, 400, 400});
+
+        assertEquals(1.0, tileScaling.getSpeedup(0), 1e-9);
+        assertEquals(2.0, tileScaling.getSpeedup(1), 1e-9);
+        assertEquals(1.0, tileScaling.getEfficiency(1), 1e-9);
+        assertEquals(2.0, tileScaling.getSpeedup(2), 1e-9);
+        assertEquals(0.5, tileScaling.getEfficiency(2), 1e-9);
+    }
+
+    @Test
+    public void testPlus() {
+        final TileScaling tileScaling = new TileScaling(new int[]{1, 2}, new long[]{300, 200})
+                .plus(new TileScaling(new int[]{1, 2}, new long[]{100, 0}));
+
+        assertEquals(2.0, tileScaling.getSpeedup(1), 1e-9);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testPlus_differentThreadCounts() {
+        new TileScaling(new int[]{1, 2}, new long[]{300, 200}).plus(new TileScaling(new int[]{1, 4}, new long[]{100, 50}));
+    }
+
+    @Test
+    public void testAttributes() {
+        final ProductTestResult result = new ProductTestResult("PROD_1");
+        new TileScaling(new int[]{1, 2, 4}, new long[]{8_000_000L, 5_000_000L, 4_000_000L}).setAttributes(result);
+
+        assertEquals("1,2,4", result.getAttribute(ProductTestResult.ATTRIBUTE_TILE_SCALING_THREADS));
+        assertEquals("8.000,5.000,4.000", result.getAttribute(ProductTestResult.ATTRIBUTE_TILE_SCALING_TIMES));
+        assertEquals(0.5, (Double) result.getAttribute(ProductTestResult.ATTRIBUTE_TILE_SCALING_EFFICIENCY), 1e-9);
+
+        final TileScaling tileScaling = TileScaling.fromAttributes(result);
+        assertNotNull(tileScaling);
+        assertEquals(3, tileScaling.getSize());
+        assertEquals(1.6, tileScaling.getSpeedup(1), 1e-9);
+    }
+
+    @Test
+    public void testReadTiles() throws InterruptedException, ExecutionException {
+        assertTrue(TileScaling.readTiles(new BufferedImage(100, 100, BufferedImage.TYPE_BYTE_GRAY), 4) > 0);
+    }
+}
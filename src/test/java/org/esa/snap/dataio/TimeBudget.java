@@ -0,0 +1,238 @@
+/*
+ * Copyright (C) 2026 Brockmann Consult GmbH (info@brockmann-consult.de)
+ *
+ * This program is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option)
+ * any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License for
+ * more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, see http://www.gnu.org/licenses/
+ */
+package org.esa.snap.dataio;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.ToLongFunction;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Chooses the products to test within a wall clock budget, using the product costs and outcomes recorded in
+ * previous runs. The products are taken in this order, as long as their cost fits into the remaining budget:
+ * <ol>
+ *     <li>products which failed recently, most failures first</li>
+ *     <li>the cheapest product of each reader plugin not covered yet</li>
+ *     <li>products without recorded cost</li>
+ *     <li>all others, cheapest first</li>
+ * </ol>
+ * The budget is wall clock time, so the recorded cost of a product, its time summed over all checks, is converted to
+ * its share in the wall time of the run: the sequential cost, e.g. of measuring read times one product at a time,
+ * counts in full, the rest is divided by the number of products tested in parallel. Products without recorded cost
+ * are estimated with the mean wall time of the known products. If no product has a recorded cost, e.g. in the first
+ * run, each product is estimated with a conservative default wall time instead, {@value #DEFAULT_UNKNOWN_WALL_TIME} ms
+ * unless given otherwise. A reserve of the budget is kept for the fixed costs of a run, like initialising the readers
+ * and native libraries.
+ */
+class TimeBudget {
+
+    static final long DEFAULT_UNKNOWN_WALL_TIME = 300000;
+
+    private static final Pattern DURATION_PART = Pattern.compile("(\\d+)(ms|s|m|h)");
+
+    private final long budget;
+    private final long reserve;
+    private final int parallelism;
+    private final long unknownWallTime;
+
+    /**
+     * @param budget      the wall clock time of the run in milliseconds
+     * @param reserve     the part of the budget kept for the fixed costs of the run in milliseconds
+     * @param parallelism the number of products tested in parallel
+     */
+    TimeBudget(long budget, long reserve, int parallelism) {
+        this(budget, reserve, parallelism, DEFAULT_UNKNOWN_WALL_TIME);
+    }
+
+    /**
+     * @param budget          the wall clock time of the run in milliseconds
+     * @param reserve         the part of the budget kept for the fixed costs of the run in milliseconds
+     * @param parallelism     the number of products tested in parallel
+     * @param unknownWallTime the wall time in milliseconds estimated for each product if no product cost is recorded
+     */
+    TimeBudget(long budget, long reserve, int parallelism, long unknownWallTime) {
+        this.budget = budget;
+        this.reserve = reserve;
+        this.parallelism = Math.max(1, parallelism);
+        this.unknownWallTime = unknownWallTime;
+    }
+
+    /**
+     * Parses durations like {@code 30m}, {@code 1h30m}, {@code 90s} or {@code 500ms}.
+     *
+     * @return the duration in milliseconds
+     */
+    static long parseDuration(String duration) {
+        final String text = duration.trim().toLowerCase();
+        final Matcher matcher = DURATION_PART.matcher(text);
+        long millis = 0;
+        int end = 0;
+        while (matcher.find() && matcher.start() == end) {
+            final long value = Long.parseLong(matcher.group(1));
+            switch (matcher.group(2)) {
+                case "h":
+                    millis += value * 3600000L;
+                    break;
+                case "m":
+                    millis += value * 60000L;
+                    break;
+                case "s":
+                    millis += value * 1000L;
+                    break;
+                default:
+                    millis += value;
+            }
+            end = matcher.end();
+        }
+        if (end == 0 || end != text.length()) {
+            throw new IllegalArgumentException("Duration must be given like 30m, 1h30m or 90s but is '" + duration + "'");
+        }
+        return millis;
+    }
+
+    long getBudget() {
+        return budget;
+    }
+
+    long getReserve() {
+        return reserve;
+    }
+
+    int getParallelism() {
+        return parallelism;
+    }
+
+    long getUnknownWallTime() {
+        return unknownWallTime;
+    }
+
+    /**
+     * Marks the chosen products as selected and all other candidates as not selected. Products which are already
+     * not selected, do not exist or are disabled are no candidates and left unchanged.
+     *
+     * @return the ids of the products skipped to stay within the budget
+     */
+    List<String> select(ProductList productList, TestDefinitionList testDefinitionList, ProductCostStore productCostStore) {
+        final List<TestProduct> candidates = new ArrayList<>();
+        for (TestProduct testProduct : productList) {
+            if (testProduct.isSelected() && testProduct.exists() && testProduct.isEnabled()) {
+                candidates.add(testProduct);
+            }
+        }
+        final long meanWallTime = getMeanWallTime(candidates, productCostStore);
+        final ToLongFunction<TestProduct> wallTime = testProduct -> {
+            final long estimate = estimateWallTime(testProduct.getId(), productCostStore);
+            return estimate != ProductCostStore.UNKNOWN_COST ? estimate : meanWallTime;
+        };
+        final Set<TestProduct> chosen = new LinkedHashSet<>();
+        final long[] remaining = {Math.max(0, budget - reserve)};
+
+        final List<TestProduct> failed = new ArrayList<>();
+        for (TestProduct candidate : candidates) {
+            if (productCostStore.getRecentFailures(candidate.getId()) > 0) {
+                failed.add(candidate);
+            }
+        }
+        failed.sort(Comparator.comparingInt((TestProduct testProduct) -> productCostStore.getRecentFailures(testProduct.getId())).reversed()
+                            .thenComparingLong(wallTime));
+        for (TestProduct testProduct : failed) {
+            choose(testProduct, chosen, remaining, wallTime);
+        }
+
+        for (TestDefinition testDefinition : testDefinitionList) {
+            final List<TestProduct> pluginProducts = new ArrayList<>();
+            for (String productId : testDefinition.getDecodableProductIds()) {
+                final TestProduct testProduct = productList.getById(productId);
+                if (testProduct != null && candidates.contains(testProduct)) {
+                    pluginProducts.add(testProduct);
+                }
+            }
+            if (pluginProducts.isEmpty() || pluginProducts.stream().anyMatch(chosen::contains)) {
+                continue;
+            }
+            pluginProducts.sort(Comparator.comparingLong(wallTime));
+            for (TestProduct testProduct : pluginProducts) {
+                if (choose(testProduct, chosen, remaining, wallTime)) {
+                    break;
+                }
+            }
+        }
+
+        for (TestProduct candidate : candidates) {
+            if (productCostStore.getCost(candidate.getId()) == ProductCostStore.UNKNOWN_COST) {
+                choose(candidate, chosen, remaining, wallTime);
+            }
+        }
+
+        final List<TestProduct> others = new ArrayList<>(candidates);
+        others.sort(Comparator.comparingLong(wallTime));
+        for (TestProduct testProduct : others) {
+            choose(testProduct, chosen, remaining, wallTime);
+        }
+
+        final List<String> skippedIds = new ArrayList<>();
+        for (TestProduct candidate : candidates) {
+            final boolean selected = chosen.contains(candidate);
+            candidate.setSelected(selected);
+            if (!selected) {
+                skippedIds.add(candidate.getId());
+            }
+        }
+        return skippedIds;
+    }
+
+    /**
+     * @return the estimated share of the product in the wall time of the run or {@link ProductCostStore#UNKNOWN_COST}
+     */
+    long estimateWallTime(String productId, ProductCostStore productCostStore) {
+        final long cost = productCostStore.getCost(productId);
+        if (cost == ProductCostStore.UNKNOWN_COST) {
+            return ProductCostStore.UNKNOWN_COST;
+        }
+        final long sequentialCost = Math.min(cost, productCostStore.getSequentialCost(productId));
+        return sequentialCost + (cost - sequentialCost + parallelism - 1) / parallelism;
+    }
+
+    private long getMeanWallTime(List<TestProduct> testProducts, ProductCostStore productCostStore) {
+        long sum = 0;
+        int knownCount = 0;
+        for (TestProduct testProduct : testProducts) {
+            final long wallTime = estimateWallTime(testProduct.getId(), productCostStore);
+            if (wallTime != ProductCostStore.UNKNOWN_COST) {
+                sum += wallTime;
+                knownCount++;
+            }
+        }
+        return knownCount > 0 ? sum / knownCount : unknownWallTime;
+    }
+
+    private static boolean choose(TestProduct testProduct, Set<TestProduct> chosen, long[] remaining, ToLongFunction<TestProduct> wallTime) {
+        if (chosen.contains(testProduct)) {
+            return true;
+        }
+        final long time = wallTime.applyAsLong(testProduct);
+        if (time > remaining[0]) {
+            return false;
+        }
+        remaining[0] -= time;
+        chosen.add(testProduct);
+        return true;
+    }
+}
@@ -0,0 +1,193 @@
+package org.esa.snap.dataio;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class TimeBudgetTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private File storeFile;
+    private ProductList productList;
+    private TestDefinitionList testDefinitionList;
+
+    @Before
+    public void setUp() {
+        storeFile = new File(temporaryFolder.getRoot(), "product-costs.json");
+        productList = new ProductList();
+        testDefinitionList = new TestDefinitionList();
+    }
+
+    @Test
+    public void testParseDuration() {
+        assertEquals(30 * 60000L, TimeBudget.parseDuration("30m"));
+        assertEquals(90 * 60000L, TimeBudget.parseDuration("1h30m"));
+        assertEquals(90000L, TimeBudget.parseDuration(" 90S "));
+        assertEquals(500L, TimeBudget.parseDuration("500ms"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testParseDuration_noUnit() {
+        TimeBudget.parseDuration("30");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testParseDuration_trailingText() {
+        TimeBudget.parseDuration("30m later");
+    }
+
+    @Test
+    public void testSelect_cheapestFirstWithinBudget() throws IOException {
+        addProducts("A_1", "A_2", "A_3");
+        final ProductCostStore productCostStore = createCostStore(Arrays.asList("A_1", "A_2", "A_3"), new long[]{500, 100, 300},
+                                                                  Collections.emptyList());
+
+        final List<String> skipped = new TimeBudget(450, 0, 1).select(productList, testDefinitionList, productCostStore);
+
+        assertEquals(Collections.singletonList("A_1"), skipped);
+        assertFalse(productList.getById("A_1").isSelected());
+        assertTrue(productList.getById("A_2").isSelected());
+        assertTrue(productList.getById("A_3").isSelected());
+    }
+
+    @Test
+    public void testSelect_failedProductsFirst() throws IOException {
+        addProducts("A_1", "A_2", "A_3");
+        final ProductCostStore productCostStore = createCostStore(Arrays.asList("A_1", "A_2", "A_3"), new long[]{400, 100, 300},
+                                                                  Collections.singletonList("A_1"));
+
+        final List<String> skipped = new TimeBudget(500, 0, 1).select(productList, testDefinitionList, productCostStore);
+
+        assertEquals(Collections.singletonList("A_3"), skipped);
+    }
+
+    @Test
+    public void testSelect_onePerPlugin() throws IOException {
+        addProducts("A_1", "A_2");
+        addProducts("B_1");
+        final ProductCostStore productCostStore = createCostStore(Arrays.asList("A_1", "A_2", "B_1"), new long[]{100, 100, 300},
+                                                                  Collections.emptyList());
+
+        final List<String> skipped = new TimeBudget(400, 0, 1).select(productList, testDefinitionList, productCostStore);
+
+        assertEquals(Collections.singletonList("A_2"), skipped);
+    }
+
+    @Test
+    public void testSelect_keepsUnselectedProducts() throws IOException {
+        addProducts("A_1", "A_2");
+        productList.getById("A_2").setSelected(false);
+        final ProductCostStore productCostStore = createCostStore(Arrays.asList("A_1", "A_2"), new long[]{100, 100},
+                                                                  Collections.emptyList());
+
+        final List<String> skipped = new TimeBudget(1000, 0, 1).select(productList, testDefinitionList, productCostStore);
+
+        assertEquals(0, skipped.size());
+        assertTrue(productList.getById("A_1").isSelected());
+        assertFalse(productList.getById("A_2").isSelected());
+    }
+
+    @Test
+    public void testSelect_budgetBoundary() throws IOException {
+        addProducts("A_1", "A_2");
+        final ProductCostStore productCostStore = createCostStore(Arrays.asList("A_1", "A_2"), new long[]{100, 200},
+                                                                  Collections.emptyList());
+
+        assertEquals(0, new TimeBudget(300, 0, 1).select(productList, testDefinitionList, productCostStore).size());
+
+        final List<String> skipped = new TimeBudget(299, 0, 1).select(productList, testDefinitionList, productCostStore);
+
+        assertEquals(Collections.singletonList("A_2"), skipped);
+    }
+
+    @Test
+    public void testSelect_reserveForFixedCosts() throws IOException {
+        addProducts("A_1", "A_2");
+        final ProductCostStore productCostStore = createCostStore(Arrays.asList("A_1", "A_2"), new long[]{100, 200},
+                                                                  Collections.emptyList());
+
+        assertEquals(0, new TimeBudget(400, 100, 1).select(productList, testDefinitionList, productCostStore).size());
+
+        final List<String> skipped = new TimeBudget(400, 101, 1).select(productList, testDefinitionList, productCostStore);
+
+        assertEquals(Collections.singletonList("A_2"), skipped);
+    }
+
+    @Test
+    public void testSelect_parallelism() throws IOException {
+        addProducts("A_1", "A_2");
+        final ProductCostStore productCostStore = createCostStore(Arrays.asList("A_1", "A_2"), new long[]{400, 400},
+                                                                  Collections.emptyList());
+
+        assertEquals(Collections.singletonList("A_2"), new TimeBudget(400, 0, 1).select(productList, testDefinitionList, productCostStore));
+
+        productList.getById("A_2").setSelected(true);
+        assertEquals(0, new TimeBudget(400, 0, 2).select(productList, testDefinitionList, productCostStore).size());
+    }
+
+    @Test
+    public void testEstimateWallTime() throws IOException {
+        final ProductCostStore recorded = new ProductCostStore(storeFile);
+        recorded.addCost("A_1", ProductCostStore.Phase.CONTENT, 100);
+        recorded.addCost("A_1", ProductCostStore.Phase.READ_TIMES, 300);
+        recorded.save();
+        final ProductCostStore productCostStore = new ProductCostStore(storeFile);
+        productCostStore.load();
+
+        assertEquals(400, new TimeBudget(1000, 0, 1).estimateWallTime("A_1", productCostStore));
+        // only the part not measured sequentially is shared with the other products
+        assertEquals(325, new TimeBudget(1000, 0, 4).estimateWallTime("A_1", productCostStore));
+        assertEquals(ProductCostStore.UNKNOWN_COST, new TimeBudget(1000, 0, 4).estimateWallTime("B_1", productCostStore));
+    }
+
+    private void addProducts(String... productIds) {
+        final TestDefinition testDefinition = new TestDefinition();
+        for (String productId : productIds) {
+            final TestProduct testProduct = new TestProduct();
+            testProduct.setId(productId);
+            productList.add(testProduct);
+            testDefinition.addTestProducts(Collections.singletonList(testProduct));
+            final ExpectedDataset expectedDataset = new ExpectedDataset();
+            expectedDataset.setId(productId);
+            expectedDataset.setDecodeQualification("intended");
+            testDefinition.addExpectedDataset(expectedDataset);
+        }
+        testDefinitionList.add(testDefinition);
+    }
+
+    @Test
+    public void testSelect_noRecordedCosts() throws IOException {
+        addProducts("A_1", "A_2", "A_3");
+        final ProductCostStore productCostStore = new ProductCostStore(storeFile);
+        productCostStore.load();
+
+        final List<String> skipped = new TimeBudget(250, 0, 1, 100).select(productList, testDefinitionList, productCostStore);
+
+        assertEquals(Collections.singletonList("A_3"), skipped);
+    }
+
+    private ProductCostStore createCostStore(List<String> productIds, long[] costs, List<String> failedIds) throws IOException {
+        final ProductCostStore recorded = new ProductCostStore(storeFile);
+        for (int i = 0; i < productIds.size(); i++) {
+            recorded.addCost(productIds.get(i), ProductCostStore.Phase.CONTENT, costs[i]);
+        }
+        for (String failedId : failedIds) {
+            recorded.addFailure(failedId);
+        }
+        recorded.save();
+        final ProductCostStore productCostStore = new ProductCostStore(storeFile);
+        productCostStore.load();
+        return productCostStore;
+    }
+}
@@ -0,0 +1,307 @@
+/*
+ * Copyright (C) 2026 Brockmann Consult GmbH (info@brockmann-consult.de)
+ *
+ * This program is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option)
+ * any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License for
+ * more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, see http://www.gnu.org/licenses/
+ */
+package org.esa.snap.dataio;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.lang.management.ManagementFactory;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Tests products in a pool of long-lived worker JVMs running {@link ProductTestWorker}. Each worker initialises the
+ * reader tests and the native libraries once and is reused for further products. A worker is replaced after a
+ * number of products or when its resident set size exceeds a limit. If a worker crashes or exceeds the time limit
+ * for a product, the product is reported as failed and the next product gets a fresh worker.
+ */
+class WorkerPool implements AutoCloseable {
+
+    private static final int EXIT_TIMEOUT_SECONDS = 30;
+
+    private final int size;
+    private final List<String> workerCommand;
+    private final int maxProductsPerWorker;
+    private final long maxResidentSetSize;
+    private final long productTimeout;
+    private final Logger logger;
+    private final BlockingQueue<Worker> workers;
+
+    /**
+     * @param maxProductsPerWorker number of products after which a worker is replaced, 0 for no limit
+     * @param maxResidentSetSize   resident set size in bytes above which a worker is replaced, 0 for no limit
+     * @param productTimeout       time in milliseconds a worker may spend on one product, 0 for no limit
+     */
+    WorkerPool(int size, List<String> workerCommand, int maxProductsPerWorker, long maxResidentSetSize,
+               long productTimeout, Logger logger) {
+        this.size = size;
+        this.workerCommand = workerCommand;
+        this.maxProductsPerWorker = maxProductsPerWorker;
+        this.maxResidentSetSize = maxResidentSetSize;
+        this.productTimeout = productTimeout;
+        this.logger = logger;
+        this.workers = new ArrayBlockingQueue<>(size);
+        for (int i = 0; i < size; i++) {
+            workers.add(new Worker(i + 1));
+        }
+    }
+
+    int getSize() {
+        return size;
+    }
+
+    /**
+     * Creates the command line of a worker JVM. The JVM options of this JVM are reused unless options are given,
+     * debugger and agent options are always left out. System properties starting with {@code snap.} are passed on,
+     * except the excluded ones. When running in surefire, the test class path is taken instead of the class path of
+     * the booter jar.
+     */
+    static List<String> createWorkerCommand(List<String> jvmOptions, Set<String> excludedProperties) {
+        final List<String> command = new ArrayList<>();
+        command.add(new File(System.getProperty("java.home"), "bin/java").getPath());
+        if (jvmOptions != null) {
+            command.addAll(jvmOptions);
+        } else {
+            for (String inputArgument : ManagementFactory.getRuntimeMXBean().getInputArguments()) {
+                if (!inputArgument.startsWith("-agentlib:") && !inputArgument.startsWith("-javaagent:") &&
+                    !inputArgument.startsWith("-Xrunjdwp")) {
+                    command.add(inputArgument);
+                }
+            }
+        }
+        for (String propertyName : System.getProperties().stringPropertyNames()) {
+            if ((propertyName.startsWith("snap.") || propertyName.equals("java.library.path")) &&
+                !excludedProperties.contains(propertyName)) {
+                command.add("-D" + propertyName + "=" + System.getProperty(propertyName));
+            }
+        }
+        command.add("-cp");
+        command.add(System.getProperty("surefire.test.class.path", System.getProperty("java.class.path")));
+        command.add(ProductTestWorker.class.getName());
+        return command;
+    }
+
+    /**
+     * Parses sizes like {@code 4g}, {@code 512m} or {@code 1024k}, a plain number is taken as bytes.
+     */
+    static long parseSize(String size) {
+        final String text = size.trim().toLowerCase(Locale.ENGLISH);
+        final long factor;
+        switch (text.isEmpty() ? ' ' : text.charAt(text.length() - 1)) {
+            case 'g':
+                factor = 1024L * 1024L * 1024L;
+                break;
+            case 'm':
+                factor = 1024L * 1024L;
+                break;
+            case 'k':
+                factor = 1024L;
+                break;
+            default:
+                factor = 1;
+        }
+        final String number = factor == 1 ? text : text.substring(0, text.length() - 1);
+        try {
+            return Long.parseLong(number.trim()) * factor;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Size must be given like 4g, 512m or 1024k but is '" + size + "'", e);
+        }
+    }
+
+    /**
+     * Tests the product in the next free worker. Blocks until a worker is available.
+     *
+     * @param readTimes          whether the read times are measured only, otherwise the ProductIO and content checks are done
+     * @param contentDefinitions the definitions whose content is checked, used to report a crash of the worker
+     */
+    ProductSession openProductSession(TestProduct testProduct, boolean readTimes, List<TestDefinition> contentDefinitions) {
+        final Worker worker;
+        try {
+            worker = workers.take();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a worker JVM", e);
+        }
+        try {
+            return worker.testProduct(testProduct, readTimes, contentDefinitions);
+        } finally {
+            workers.add(worker);
+        }
+    }
+
+    @Override
+    public void close() {
+        final List<Worker> idleWorkers = new ArrayList<>();
+        workers.drainTo(idleWorkers);
+        for (Worker worker : idleWorkers) {
+            worker.stop();
+        }
+    }
+
+    private class Worker {
+
+        private final int index;
+        private Process process;
+        private Socket socket;
+        private BufferedReader reader;
+        private Writer writer;
+        private int productCount;
+
+        private Worker(int index) {
+            this.index = index;
+        }
+
+        private ProductSession testProduct(TestProduct testProduct, boolean readTimes, List<TestDefinition> contentDefinitions) {
+            final String productId = testProduct.getId();
+            try {
+                if (process == null) {
+                    start();
+                }
+                WorkerProtocol.write(writer, WorkerProtocol.Request.test(productId, readTimes));
+                socket.setSoTimeout((int) Math.min(productTimeout, Integer.MAX_VALUE));
+                final WorkerProtocol.Response response = WorkerProtocol.read(reader, WorkerProtocol.Response.class);
+                if (response == null || response.session == null) {
+                    final String message = "Worker JVM " + index + " crashed while testing " + productId + getExitCodeMessage();
+                    kill();
+                    return createFailedSession(productId, contentDefinitions, message);
+                }
+                productCount++;
+                if (maxProductsPerWorker > 0 && productCount >= maxProductsPerWorker) {
+                    logger.info("Recycling worker JVM " + index + " after " + productCount + " products");
+                    stop();
+                } else if (maxResidentSetSize > 0 && response.rss > maxResidentSetSize) {
+                    logger.info("Recycling worker JVM " + index + " with resident set size of " + (response.rss / (1024 * 1024)) + " MB");
+                    stop();
+                }
+                return response.session.toProductSession();
+            } catch (SocketTimeoutException e) {
+                kill();
+                return createFailedSession(productId, contentDefinitions,
+                                           "Worker JVM " + index + " did not finish testing " + productId + " within " + productTimeout + " ms");
+            } catch (IOException e) {
+                final String message = "Worker JVM " + index + " failed while testing " + productId + getExitCodeMessage();
+                logger.log(Level.SEVERE, message, e);
+                kill();
+                return createFailedSession(productId, contentDefinitions, message + ": " + e.getMessage());
+            }
+        }
+
+        private void start() throws IOException {
+            try (ServerSocket serverSocket = new ServerSocket(0, 1, InetAddress.getLoopbackAddress())) {
+                final List<String> command = new ArrayList<>(workerCommand);
+                command.add(String.valueOf(serverSocket.getLocalPort()));
+                process = new ProcessBuilder(command).inheritIO().start();
+                serverSocket.setSoTimeout(1000);
+                while (socket == null) {
+                    try {
+                        socket = serverSocket.accept();
+                    } catch (SocketTimeoutException e) {
+                        if (!process.isAlive()) {
+                            throw new IOException("Worker JVM " + index + " exited during initialisation" + getExitCodeMessage());
+                        }
+                    }
+                }
+            }
+            reader = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+            writer = new BufferedWriter(new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8));
+            final WorkerProtocol.Response hello = WorkerProtocol.read(reader, WorkerProtocol.Response.class);
+            if (hello == null) {
+                throw new IOException("Worker JVM " + index + " exited during initialisation" + getExitCodeMessage());
+            }
+            productCount = 0;
+            logger.info("Started worker JVM " + index + " (pid " + hello.pid + ")");
+        }
+
+        private void stop() {
+            if (process == null) {
+                return;
+            }
+            try {
+                WorkerProtocol.write(writer, WorkerProtocol.Request.exit());
+                if (!process.waitFor(EXIT_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                    logger.warning("Worker JVM " + index + " did not exit, killing it");
+                }
+            } catch (IOException e) {
+                logger.log(Level.WARNING, "Could not stop worker JVM " + index, e);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            kill();
+        }
+
+        private void kill() {
+            if (process != null) {
+                process.destroyForcibly();
+                try {
+                    process.waitFor(EXIT_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            if (socket != null) {
+                try {
+                    socket.close();
+                } catch (IOException e) {
+                    // the worker is gone anyway
+                }
+            }
+            process = null;
+            socket = null;
+            reader = null;
+            writer = null;
+        }
+
+        private String getExitCodeMessage() {
+            if (process == null) {
+                return "";
+            }
+            try {
+                if (process.waitFor(5, TimeUnit.SECONDS)) {
+                    return " (exit code " + process.exitValue() + ")";
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return "";
+        }
+    }
+
+    private static ProductSession createFailedSession(String productId, List<TestDefinition> contentDefinitions, String message) {
+        final ProductSession session = new ProductSession(productId);
+        session.getProductIOResult().addError(new Exception(message));
+        session.getReadTimesResult().addError(new Exception(message));
+        for (TestDefinition contentDefinition : contentDefinitions) {
+            session.getContentResult(contentDefinition.getProductReaderPlugin()).addError(new Exception(message));
+        }
+        return session;
+    }
+}
@@ -0,0 +1,94 @@
+package org.esa.snap.dataio;
+
+import org.junit.After;
+import org.junit.Test;
+
+import java.io.File;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class WorkerPoolTest {
+
+    private static final String FORWARDED_PROPERTY = "snap.reader.tests.workerPoolTest.forwarded";
+    private static final String EXCLUDED_PROPERTY = "snap.reader.tests.workerPoolTest.excluded";
+    private static final String OTHER_PROPERTY = "workerPoolTest.other";
+
+    @After
+    public void tearDown() {
+        System.clearProperty(FORWARDED_PROPERTY);
+        System.clearProperty(EXCLUDED_PROPERTY);
+        System.clearProperty(OTHER_PROPERTY);
+    }
+
+    @Test
+    public void testParseSize() {
+        assertEquals(4L * 1024 * 1024 * 1024, WorkerPool.parseSize("4g"));
+        assertEquals(512L * 1024 * 1024, WorkerPool.parseSize("512M"));
+        assertEquals(1024L * 1024, WorkerPool.parseSize("1024k"));
+        assertEquals(2000, WorkerPool.parseSize("2000"));
+        assertEquals(3L * 1024 * 1024, WorkerPool.parseSize(" 3 m "));
+    }
+
+    @Test
+    public void testParseSize_invalid() {
+        for (String size : new String[]{"", "m", "4x", "four gigabytes", "1.5g"}) {
+            try {
+                WorkerPool.parseSize(size);
+                fail("IllegalArgumentException expected for '" + size + "'");
+            } catch (IllegalArgumentException expected) {
+                assertTrue(expected.getMessage().contains("'" + size + "'"));
+            }
+        }
+    }
+
+    @Test
+    public void testCreateWorkerCommand() {
+        System.setProperty(FORWARDED_PROPERTY, "forwarded value");
+        System.setProperty(EXCLUDED_PROPERTY, "excluded value");
+        System.setProperty(OTHER_PROPERTY, "other value");
+
+        final List<String> command = WorkerPool.createWorkerCommand(Arrays.asList("-Xmx2g", "-XX:+UseG1GC"),
+                                                                    Collections.singleton(EXCLUDED_PROPERTY));
+
+        assertEquals(new File(System.getProperty("java.home"), "bin/java").getPath(), command.get(0));
+        assertEquals(Arrays.asList("-Xmx2g", "-XX:+UseG1GC"), command.subList(1, 3));
+        assertTrue(command.contains("-D" + FORWARDED_PROPERTY + "=forwarded value"));
+        assertFalse(command.contains("-D" + EXCLUDED_PROPERTY + "=excluded value"));
+        assertFalse(command.contains("-D" + OTHER_PROPERTY + "=other value"));
+        final int size = command.size();
+        final String classPath = System.getProperty("surefire.test.class.path", System.getProperty("java.class.path"));
+        assertEquals(Arrays.asList("-cp", classPath, ProductTestWorker.class.getName()), command.subList(size - 3, size));
+    }
+
+    @Test
+    public void testCreateWorkerCommand_surefireClassPath() {
+        final String surefireClassPath = System.getProperty("surefire.test.class.path");
+        System.setProperty("surefire.test.class.path", "target/test-classes" + File.pathSeparator + "target/classes");
+        try {
+            final List<String> command = WorkerPool.createWorkerCommand(null, Collections.emptySet());
+
+            final int size = command.size();
+            assertEquals("target/test-classes" + File.pathSeparator + "target/classes", command.get(size - 2));
+        } finally {
+            if (surefireClassPath != null) {
+                System.setProperty("surefire.test.class.path", surefireClassPath);
+            } else {
+                System.clearProperty("surefire.test.class.path");
+            }
+        }
+    }
+
+    @Test
+    public void testCreateWorkerCommand_withJvmArgumentsOfThisJvm() {
+        final List<String> command = WorkerPool.createWorkerCommand(null, Collections.emptySet());
+
+        for (String argument : command) {
+            assertFalse(argument, argument.startsWith("-agentlib:") || argument.startsWith("-javaagent:") ||
+                                  argument.startsWith("-Xrunjdwp"));
+        }
+        assertEquals(ProductTestWorker.class.getName(), command.get(command.size() - 1));
+    }
+}
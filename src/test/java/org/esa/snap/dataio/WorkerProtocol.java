@@ -0,0 +1,220 @@
+/*
+ * Copyright (C) 2026 Brockmann Consult GmbH (info@brockmann-consult.de)
+ *
+ * This program is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option)
+ * any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License for
+ * more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, see http://www.gnu.org/licenses/
+ */
+package org.esa.snap.dataio;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Messages exchanged between {@link WorkerPool} and {@link ProductTestWorker}, one JSON object per line. The
+ * coordinator sends {@link Request requests}, the worker answers each with a {@link Response}. After starting the
+ * worker sends one response without session to announce it is initialised.
+ */
+class WorkerProtocol {
+
+    static final String COMMAND_TEST = "test";
+    static final String COMMAND_EXIT = "exit";
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private WorkerProtocol() {
+    }
+
+    static void write(Writer writer, Object message) throws IOException {
+        writer.write(MAPPER.writeValueAsString(message));
+        writer.write('\n');
+        writer.flush();
+    }
+
+    /**
+     * @return the next message or {@code null} if the other side closed the channel
+     */
+    static <T> T read(BufferedReader reader, Class<T> messageType) throws IOException {
+        final String line = reader.readLine();
+        if (line == null) {
+            return null;
+        }
+        return MAPPER.readValue(line, messageType);
+    }
+
+    static class Request {
+
+        @JsonProperty
+        String command;
+        @JsonProperty
+        String productId;
+        @JsonProperty
+        boolean readTimes;
+
+        /**
+         * @param readTimes whether the read times are measured only, otherwise the ProductIO and content checks are done
+         */
+        static Request test(String productId, boolean readTimes) {
+            final Request request = new Request();
+            request.command = COMMAND_TEST;
+            request.productId = productId;
+            request.readTimes = readTimes;
+            return request;
+        }
+
+        static Request exit() {
+            final Request request = new Request();
+            request.command = COMMAND_EXIT;
+            return request;
+        }
+    }
+
+    static class Response {
+
+        @JsonProperty
+        long pid;
+        @JsonProperty
+        long rss;
+        @JsonProperty
+        Session session;
+    }
+
+    static class Session {
+
+        @JsonProperty
+        String productId;
+        @JsonProperty
+        Result productIOResult;
+        @JsonProperty
+        Result readTimesResult;
+        @JsonProperty
+        Map<String, Result> contentResults = new TreeMap<>();
+
+        static Session of(ProductSession productSession) {
+            final Session session = new Session();
+            session.productId = productSession.getProductId();
+            session.productIOResult = Result.of(productSession.getProductIOResult());
+            session.readTimesResult = Result.of(productSession.getReadTimesResult());
+            for (Map.Entry<String, ProductTestResult> entry : productSession.getContentResults().entrySet()) {
+                session.contentResults.put(entry.getKey(), Result.of(entry.getValue()));
+            }
+            return session;
+        }
+
+        ProductSession toProductSession() {
+            final ProductSession productSession = new ProductSession(productId);
+            productIOResult.copyTo(productSession.getProductIOResult());
+            readTimesResult.copyTo(productSession.getReadTimesResult());
+            for (Map.Entry<String, Result> entry : contentResults.entrySet()) {
+                entry.getValue().copyTo(productSession.getContentResult(entry.getKey()));
+            }
+            return productSession;
+        }
+    }
+
+    static class Result {
+
+        @JsonProperty
+        Long timeDiff;
+        @JsonProperty
+        Map<String, Long> phaseTimes = new TreeMap<>();
+        @JsonProperty
+        Map<String, Object> attributes = new LinkedHashMap<>();
+        @JsonProperty
+        List<RemoteError> errors = new ArrayList<>();
+
+        static Result of(ProductTestResult productTestResult) {
+            final Result result = new Result();
+            result.timeDiff = productTestResult.hasTime() ? productTestResult.getTimeDiff() : null;
+            result.phaseTimes.putAll(productTestResult.getPhaseTimes());
+            result.attributes.putAll(productTestResult.getAttributes());
+            for (Throwable error : productTestResult.getErrors()) {
+                result.errors.add(RemoteError.of(error));
+            }
+            return result;
+        }
+
+        void copyTo(ProductTestResult productTestResult) {
+            if (timeDiff != null) {
+                productTestResult.setTime(timeDiff);
+            }
+            for (Map.Entry<String, Long> phaseTime : phaseTimes.entrySet()) {
+                productTestResult.setPhaseTime(phaseTime.getKey(), phaseTime.getValue());
+            }
+            for (Map.Entry<String, Object> attribute : attributes.entrySet()) {
+                productTestResult.setAttribute(attribute.getKey(), attribute.getValue());
+            }
+            for (RemoteError error : errors) {
+                productTestResult.addError(error.toThrowable());
+            }
+        }
+    }
+
+    /**
+     * A throwable of the worker. It is recreated on the coordinator side with message, stack trace and causes, the
+     * original type is kept in the message unless it is an assertion error or a plain throwable.
+     */
+    static class RemoteError {
+
+        @JsonProperty
+        String type;
+        @JsonProperty
+        String message;
+        @JsonProperty
+        List<String[]> stackTrace = new ArrayList<>();
+        @JsonProperty
+        RemoteError cause;
+
+        static RemoteError of(Throwable throwable) {
+            final RemoteError error = new RemoteError();
+            error.type = throwable.getClass().getName();
+            error.message = throwable.getMessage();
+            for (StackTraceElement element : throwable.getStackTrace()) {
+                error.stackTrace.add(new String[]{element.getClassName(), element.getMethodName(),
+                        element.getFileName(), String.valueOf(element.getLineNumber())});
+            }
+            if (throwable.getCause() != null && throwable.getCause() != throwable) {
+                error.cause = of(throwable.getCause());
+            }
+            return error;
+        }
+
+        Throwable toThrowable() {
+            final Throwable throwable;
+            if (AssertionError.class.getName().equals(type)) {
+                throwable = new AssertionError(message);
+            } else if (Throwable.class.getName().equals(type)) {
+                throwable = new Throwable(message);
+            } else {
+                throwable = new Throwable(message == null ? type : type + ": " + message);
+            }
+            final StackTraceElement[] elements = new StackTraceElement[stackTrace.size()];
+            for (int i = 0; i < elements.length; i++) {
+                final String[] element = stackTrace.get(i);
+                elements[i] = new StackTraceElement(element[0], element[1], element[2], Integer.parseInt(element[3]));
+            }
+            throwable.setStackTrace(elements);
+            if (cause != null) {
+                throwable.initCause(cause.toThrowable());
+            }
+            return throwable;
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package org.esa.snap.dataio;
+
+import org.junit.Test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+
+import static org.junit.Assert.*;
+
+public class WorkerProtocolTest {
+
+    @Test
+    public void testSessionRoundTrip() throws IOException {
+        final ProductSession productSession = new ProductSession("PROD_1");
+        productSession.getProductIOResult().setTime(1200);
+        productSession.getReadTimesResult().setPhaseTime(ProductTestResult.PHASE_READ_NODES, 800);
+        productSession.getContentResult("org.esa.SomePlugIn").addError(new AssertionError("wrong band count"));
+        productSession.getContentResult("org.esa.OtherPlugIn")
+                .addError(new Throwable("[PROD_1] read failed", new IllegalStateException("no data")));
+
+        final WorkerProtocol.Response response = new WorkerProtocol.Response();
+        response.rss = 1024;
+        response.session = WorkerProtocol.Session.of(productSession);
+        final StringWriter writer = new StringWriter();
+        WorkerProtocol.write(writer, response);
+        final BufferedReader reader = new BufferedReader(new StringReader(writer.toString()));
+        final WorkerProtocol.Response readResponse = WorkerProtocol.read(reader, WorkerProtocol.Response.class);
+        final ProductSession readSession = readResponse.session.toProductSession();
+
+        assertNull(WorkerProtocol.read(reader, WorkerProtocol.Response.class));
+        assertEquals(1024, readResponse.rss);
+        assertEquals("PROD_1", readSession.getProductId());
+        assertTrue(readSession.getProductIOResult().hasTime());
+        assertEquals(1200, readSession.getProductIOResult().getTimeDiff());
+        assertFalse(readSession.getReadTimesResult().hasTime());
+        assertEquals(800, readSession.getReadTimesResult().getPhaseTime(ProductTestResult.PHASE_READ_NODES));
+        assertEquals(2, readSession.getContentResults().size());
+
+        final Throwable assertionError = readSession.getContentResult("org.esa.SomePlugIn").getErrors().get(0);
+        assertTrue(assertionError instanceof AssertionError);
+        assertEquals("wrong band count", assertionError.getMessage());
+
+        final Throwable error = readSession.getContentResult("org.esa.OtherPlugIn").getErrors().get(0);
+        assertEquals("[PROD_1] read failed", error.getMessage());
+        assertEquals("java.lang.IllegalStateException: no data", error.getCause().getMessage());
+        assertTrue(error.getStackTrace().length > 0);
+    }
+
+    @Test
+    public void testRequest() throws IOException {
+        final StringWriter writer = new StringWriter();
+        WorkerProtocol.write(writer, WorkerProtocol.Request.test("PROD_1", true));
+        WorkerProtocol.write(writer, WorkerProtocol.Request.exit());
+        final BufferedReader reader = new BufferedReader(new StringReader(writer.toString()));
+
+        final WorkerProtocol.Request test = WorkerProtocol.read(reader, WorkerProtocol.Request.class);
+        assertEquals(WorkerProtocol.COMMAND_TEST, test.command);
+        assertEquals("PROD_1", test.productId);
+        assertTrue(test.readTimes);
+        final WorkerProtocol.Request exit = WorkerProtocol.read(reader, WorkerProtocol.Request.class);
+        assertEquals(WorkerProtocol.COMMAND_EXIT, exit.command);
+    }
+}
@@ -10,6 +10,7 @@ import org.esa.snap.dataio.ContentAssert;
 import org.esa.snap.dataio.ExpectedContent;
 import org.esa.snap.dataio.ExpectedDataset;
 import org.esa.snap.dataio.ProductReaderAcceptanceTest;
+import org.esa.snap.dataio.ReaderTestEvent;
 import org.esa.snap.lib.openjpeg.activator.OpenJPEGInstaller;
 import org.junit.BeforeClass;
 import org.junit.Test;
@@ -276,7 +277,7 @@ public class RunGPTProductReaderTest {
             File graphFile = new File(resourcesGraphsFolder, inputGraphData[i].getGraphPath());
             validateFileOnDisk(graphFile);
 
-            runGPT(graphFile, gptGraphParameters);
+            runGPT(inputGraphData[i].getId(), graphFile, gptGraphParameters);
 
             File productFile = new File(outputFolder, outputNameValue + ".dim");
             Product product = ProductIO.readProduct(productFile);
@@ -304,7 +305,7 @@ public class RunGPTProductReaderTest {
         }
     }
 
-    private static void runGPT(File graphFile, Map<String, String> gptGraphParameters) throws Exception {
+    private static void runGPT(String id, File graphFile, Map<String, String> gptGraphParameters) throws Exception {
         String[] args = new String[gptGraphParameters.size() + 1];
         args[0] = graphFile.getAbsolutePath();
         int index = 1;
@@ -320,9 +321,11 @@ public class RunGPTProductReaderTest {
             }
         });
         System.setOut(emptyOutputPrintStream);
+        final ReaderTestEvent event = ReaderTestEvent.start(id, null, "gpt.run");
         try {
             GPT.run(args);
         } finally {
+            event.commit();
             System.setOut(original);
         }
     }